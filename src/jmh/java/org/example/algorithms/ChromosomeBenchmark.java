@@ -0,0 +1,67 @@
+package org.example.algorithms;
+
+import org.example.interfaces.OnResultListener;
+import org.example.pojo.ScheduleSolution;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks reading a chromosome, on its own and into a {@link ScheduleSolution}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChromosomeBenchmark {
+    @Param({"2"})
+    public int sections;
+    @Param({"6"})
+    public int subjectsPerSemester;
+    //0 = as many teachers as the dataset needs
+    @Param({"0"})
+    public int teachers;
+
+    private Generator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SyntheticDataset.load(new SyntheticDataset.Options().sections(sections).theoryPerSemester(subjectsPerSemester).teachers(teachers));
+        generator = new Generator(new OnResultListener() {
+            @Override
+            public void onResult() {
+            }
+
+            @Override
+            public void onError(String msg) {
+                throw new IllegalStateException(msg);
+            }
+        }, 1);
+        generator.updateVariables();
+        generator.generateInitialPopulation();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        generator.stop();
+    }
+
+    @Benchmark
+    public void readAll(Blackhole blackhole) throws IOException {
+        generator.getChromosomeReader(0).readAll((sem, sec, day, period, subjectIndex, teacherIndex, roomCode, lectureIndex) -> {
+            blackhole.consume(day + period + subjectIndex + teacherIndex);
+            blackhole.consume(roomCode);
+        });
+    }
+
+    @Benchmark
+    public ScheduleSolution parseChromo() {
+        ScheduleSolution scheduleSolution = ScheduleSolution.getInstance();
+        scheduleSolution.parseChromo(generator.getChromosomeReader(0));
+        return scheduleSolution;
+    }
+}
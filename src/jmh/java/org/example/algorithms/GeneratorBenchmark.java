@@ -0,0 +1,123 @@
+package org.example.algorithms;
+
+import org.example.interfaces.OnResultListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.ShortBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the single threaded hot paths of {@link Generator}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+    @Param({"2"})
+    public int sections;
+    @Param({"6"})
+    public int subjectsPerSemester;
+    //0 = as many teachers as the dataset needs
+    @Param({"0"})
+    public int teachers;
+
+    private Generator generator;
+    private FitnessEvaluator fitnessEvaluator;
+    private IncrementalFitnessEvaluator incrementalEvaluator;
+    private FitnessStateStorage fitnessStates;
+    private short[] parentGenes;
+    private short[] childGenes;
+    private short[] donorGenes;
+    private int index = 0;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SyntheticDataset.load(new SyntheticDataset.Options().sections(sections).theoryPerSemester(subjectsPerSemester).teachers(teachers));
+        generator = new Generator(new OnResultListener() {
+            @Override
+            public void onResult() {
+            }
+
+            @Override
+            public void onError(String msg) {
+                throw new IllegalStateException(msg);
+            }
+        }, 1);
+        generator.updateVariables();
+        generator.generateInitialPopulation();
+        generator.calculateFitness();
+        generator.selectParents();
+        fitnessEvaluator = generator.getFitnessEvaluator(0);
+
+        //index 0 holds the state of the parent, index 1 the state of the child
+        incrementalEvaluator = generator.getIncrementalFitnessEvaluator(0);
+        fitnessStates = new FitnessStateStorage(2, incrementalEvaluator.getStateLength());
+        parentGenes = new short[generator.getChromosomeLength()];
+        childGenes = new short[generator.getChromosomeLength()];
+        donorGenes = new short[generator.getChromosomeLength()];
+        generator.getGenes(0).get(parentGenes);
+        generator.getGenes(1).get(donorGenes);
+        incrementalEvaluator.evaluate(ShortBuffer.wrap(parentGenes), fitnessStates, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        generator.stop();
+    }
+
+    private int nextIndex() {
+        index = (index + 1) % generator.getPopulationSize();
+        return index;
+    }
+
+    @Benchmark
+    public int[] countConstraintViolation() throws IOException {
+        return generator.countConstraintViolation(nextIndex(), fitnessEvaluator);
+    }
+
+    /**
+     * A child differing from it's parent by a single block, evaluated from scratch
+     */
+    @Benchmark
+    public int evaluateSingleBlockChildFull() {
+        mutateChild();
+        incrementalEvaluator.evaluate(ShortBuffer.wrap(childGenes), fitnessStates, 1);
+        return fitnessStates.getHardViolationCount(1);
+    }
+
+    /**
+     * A child differing from it's parent by a single block, evaluated from the state of the parent
+     */
+    @Benchmark
+    public int evaluateSingleBlockChildIncremental() {
+        mutateChild();
+        incrementalEvaluator.evaluate(ShortBuffer.wrap(childGenes), fitnessStates, 1,
+                ShortBuffer.wrap(parentGenes), fitnessStates, 0);
+        return fitnessStates.getHardViolationCount(1);
+    }
+
+    private void mutateChild() {
+        ChromosomeLayout layout = incrementalEvaluator.getLayout();
+        int block = nextIndex() % layout.getBlockCount();
+        int offset = layout.getBlockOffset(block);
+        System.arraycopy(parentGenes, 0, childGenes, 0, childGenes.length);
+        System.arraycopy(donorGenes, offset, childGenes, offset, layout.getBlockLength(block));
+    }
+
+    @Benchmark
+    public void generateRandomChromosome() {
+        generator.generateRandomChromosome(nextIndex());
+    }
+
+    /**
+     * One whole generation of crossover and mutation
+     */
+    @Benchmark
+    public void generateNewPopulation() throws IOException {
+        generator.generateNewPopulation();
+    }
+}
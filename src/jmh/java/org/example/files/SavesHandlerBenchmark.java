@@ -0,0 +1,70 @@
+package org.example.files;
+
+import org.example.DefaultConfig;
+import org.example.algorithms.SyntheticDataset;
+import org.example.dao.ChangeTracker;
+import org.example.dao.TeacherDao;
+import org.example.files.db.SqliteProfile;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks saving and loading a save file with each {@link SqliteProfile}.<br>
+ * Save files are created under {@code sqlite/data} of the working directory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SavesHandlerBenchmark {
+    private static final String SAVE_NAME = "JMH-BENCHMARK";
+
+    //name of a SyntheticDataset.Preset, saves are only slow on institution sized datasets
+    @Param({"LARGE"})
+    public String dataset;
+    @Param({"DEFAULT", "SAFE", "FAST"})
+    public String profile;
+
+    private SavesHandler savesHandler;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException, IOException {
+        DefaultConfig.SQLITE_PROFILE = SqliteProfile.valueOf(profile);
+        savesHandler = SavesHandler.getInstance();
+        savesHandler.init();
+        SyntheticDataset.load(SyntheticDataset.Preset.valueOf(dataset).options());
+        SyntheticDataset.loadRandomSolution();
+        savesHandler.saveData(SAVE_NAME);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        savesHandler.deleteData(SAVE_NAME);
+        savesHandler.close();
+    }
+
+    @Benchmark
+    public void saveData() throws SQLException, IOException {
+        ChangeTracker.getInstance().markAllChanged();
+        savesHandler.saveData(SAVE_NAME);
+    }
+
+    //saves the change of a single teacher to the save it was loaded from
+    @Benchmark
+    public void saveTeacherChange() throws SQLException, IOException {
+        TeacherDao teacherDao = TeacherDao.getInstance();
+        String name = teacherDao.keySet().iterator().next();
+        teacherDao.put(name, teacherDao.get(name));
+        savesHandler.saveData(SAVE_NAME);
+    }
+
+    @Benchmark
+    public void loadData() throws SQLException, IOException {
+        savesHandler.loadData(SAVE_NAME);
+    }
+}
@@ -1,6 +1,37 @@
 package org.example;
 
+import org.example.files.db.SqliteProfile;
+
 public class DefaultConfig {
     public static boolean REQUIRE_TOKEN = true;
     public static boolean GENERATOR_LOG_SINGLE_LINE = true;
+    public static boolean GENERATOR_DUMP_POPULATION = false;
+    //dump the population as a single PopulationFile, see PopulationStorage.dumpBinary()
+    public static boolean GENERATOR_DUMP_POPULATION_BINARY = false;
+    //0 = one generator thread per available processor
+    public static int GENERATOR_THREAD_COUNT = 0;
+    //evaluate children from the fitness state of their parent instead of from scratch
+    public static boolean GENERATOR_INCREMENTAL_FITNESS = true;
+    //number of populations evolved in parallel with migration between them, 1 = a single population, see IslandModel
+    public static int GENERATOR_ISLAND_COUNT = 1;
+    //number of chromosomes of each island
+    public static int GENERATOR_POPULATION_SIZE = 200;
+    //generations the islands evolve on their own between two migrations
+    public static int GENERATOR_MIGRATION_INTERVAL = 10;
+    //number of the fittest chromosomes of an island sent to the next island on every migration
+    public static int GENERATOR_MIGRATION_SIZE = 2;
+    //serve requests on virtual threads when the runtime supports them (jdk 21+)
+    public static boolean SERVER_VIRTUAL_THREADS = true;
+    //size of the request thread pool used without virtual threads, 0 = two per available processor
+    public static int SERVER_THREAD_COUNT = 0;
+    //print the api routes on startup
+    public static boolean SERVER_LOG_ROUTES = false;
+    //pragmas of the config database and save files, see SqliteProfile
+    public static SqliteProfile SQLITE_PROFILE = SqliteProfile.SAFE;
+    //save changes to the open save file in the background, see AutosaveWriter
+    public static boolean AUTOSAVE = false;
+    //time between the first unsaved change and the autosave
+    public static long AUTOSAVE_INTERVAL_MS = 5000;
+    //autosave right away once this many changes are pending
+    public static int AUTOSAVE_MAX_PENDING_CHANGES = 50;
 }
@@ -1,5 +1,6 @@
 package org.example;
 
+import org.example.files.AutosaveWriter;
 import org.example.files.SavesHandler;
 import org.example.network.LocalServer;
 import org.example.network.TokenManager;
@@ -33,8 +34,9 @@ public class Main {
                 throw new RuntimeException(e);
             }
             ls.stop();
+            AutosaveWriter.getInstance().close();
             System.exit(0);
-        } catch (SQLException | IOException e) {
+        } catch (SQLException | IOException | InterruptedException e) {
             throw new RuntimeException(e);
         }
     }
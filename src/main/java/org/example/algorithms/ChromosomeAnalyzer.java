@@ -1,79 +1,100 @@
 package org.example.algorithms;
 
-import org.example.dao.SubjectDao;
-import org.example.dao.TeacherDao;
-import org.example.pojo.ScheduleStructure;
-import org.example.pojo.Subject;
-import org.example.pojo.Teacher;
-
 import java.util.*;
 
+/**
+ * Tracks the allocations of a chromosome while it's generated and suggests conflict free allocations.<br>
+ * Sections, teachers and practical rooms are small dense ranges, so their occupied day-periods are kept
+ * as bitsets of {@link #rowWords} longs per section, teacher or room, indexed by the compact day-period.
+ * Checking or marking an allocation is a single bit operation.
+ * Subjects, teachers and rooms are referred to by their index in the {@link ProblemModel}.
+ */
 public class ChromosomeAnalyzer {
-    private final String[] subjectCodeArray;
-    private final String[] teacherNameArray;
-    private final ArrayList<Integer>[] teachersForSubjects;
-    private boolean stopped;
+    private final ProblemModel model;
     private final Random random;
 
-    HashMap<SemesterSection, HashMap<DayPeriod, String>> sectionAllocationTable;//value = subject code
-    HashMap<SemesterSection, HashMap<DayPeriod, HashMap<String, Short>>> sectionConflictTable;//value = {subject code:count}
-    HashMap<TeacherTimeSlot, SemesterSection> teacherTimeAllocationTable;
-    HashMap<TeacherTimeSlot, HashMap<SemesterSection, Short>> teacherTimeConflictTable;//value = {semester-section:count}
-    HashMap<Short, TeacherSubjectsData> teacherSubjectAllocationTable;//key = teacher index
-    HashMap<String, HashSet<DayPeriod>> practicalLabAllocationTable;
-
-    public ChromosomeAnalyzer(String[] subjectCodeArray, String[] teacherNameArray, ArrayList<Integer>[] teachersForSubjects) {
-        this.subjectCodeArray = subjectCodeArray;
-        this.teacherNameArray = teacherNameArray;
-        this.teachersForSubjects = teachersForSubjects;
-
-        sectionAllocationTable = new HashMap<>();
-        sectionConflictTable = new HashMap<>();
-        teacherTimeAllocationTable = new HashMap<>();
-        teacherTimeConflictTable = new HashMap<>();
-        teacherSubjectAllocationTable = new HashMap<>();
-        practicalLabAllocationTable = new HashMap<>();
+    private final StructureGeometry geometry;
+    private final int maxSectionCount;
+    //longs per bitset row, a row has a bit for every compact day-period
+    private final int rowWords;
+
+    //row = (semester - 1) * maxSectionCount + section - 1, breaks are marked as allocated
+    final long[] sectionAllocationTable;
+    //row = teacher index
+    final long[] teacherTimeAllocationTable;
+    //row = room index
+    final long[] practicalLabAllocationTable;
+    final TeacherSubjectsData[] teacherSubjectAllocationTable;//key = teacher index
+
+    public ChromosomeAnalyzer(ProblemModel model) {
+        this.model = model;
+
+        geometry = model.getGeometry();
+        maxSectionCount = geometry.maxSectionCount;
+        rowWords = geometry.dayPeriodWords;
+
+        sectionAllocationTable = new long[geometry.semesterCount * maxSectionCount * rowWords];
+        teacherTimeAllocationTable = new long[model.getTeacherCount() * rowWords];
+        practicalLabAllocationTable = new long[model.getRoomCount() * rowWords];
+        teacherSubjectAllocationTable = new TeacherSubjectsData[model.getTeacherCount()];
+
+        for (int sem = 1; sem <= geometry.semesterCount; sem++) {
+            for (int sec = 1; sec <= geometry.getSectionCount(sem); sec++)
+                geometry.markBreaks(sem, sectionAllocationTable, sectionRow(sem, sec));
+        }
 
         this.random = new Random();
     }
 
+    private int sectionRow(int semester, int section) {
+        return (semester - 1) * maxSectionCount + section - 1;
+    }
+
+    private boolean isSet(long[] table, int row, int bit) {
+        return (table[row * rowWords + (bit >>> 6)] & (1L << bit)) != 0;
+    }
+
+    private void set(long[] table, int row, int bit) {
+        table[row * rowWords + (bit >>> 6)] |= 1L << bit;
+    }
+
+    private TeacherSubjectsData getTeacherSubjectsData(int teacherIndex) {
+        TeacherSubjectsData tsd = teacherSubjectAllocationTable[teacherIndex];
+        if (tsd == null) {
+            tsd = new TeacherSubjectsData();
+            teacherSubjectAllocationTable[teacherIndex] = tsd;
+        }
+        return tsd;
+    }
+
     public boolean isSectionAvailable(SemesterSection semesterSection, DayPeriod dayPeriod) {
-        byte[] breakLocations = ScheduleStructure.getInstance().getBreakLocations(semesterSection.semester);
-        for (byte brk : breakLocations) if (brk == dayPeriod.period + 1) return false;
-        HashMap<DayPeriod, String> hm = sectionAllocationTable.get(semesterSection);
-        if (hm == null) return true;
-        return hm.get(dayPeriod) == null;
+        return !isSet(sectionAllocationTable, sectionRow(semesterSection.semester, semesterSection.section), dayPeriod.getCompact());
     }
 
     public boolean isTeacherAvailable(DayPeriod dayPeriod, short teacherIndex) {
-        Teacher teacher = TeacherDao.getInstance().get(teacherNameArray[teacherIndex]);
-        if (!teacher.getFreeTime().isEmpty() && !teacher.getFreeTime().contains(Arrays.asList(dayPeriod.day, dayPeriod.period)))
-            return false;
-        return !teacherTimeAllocationTable.containsKey(new TeacherTimeSlot(dayPeriod, teacherIndex));
+        short compact = dayPeriod.getCompact();
+        return model.isTeacherAvailable(teacherIndex, compact) && !isSet(teacherTimeAllocationTable, teacherIndex, compact);
     }
 
-    public boolean isPracticalLabAvailable(DayPeriod dayPeriod, String roomCode) {
-        if (!practicalLabAllocationTable.containsKey(roomCode)) return true;
-        return !practicalLabAllocationTable.get(roomCode).contains(dayPeriod);
+    public boolean isPracticalLabAvailable(DayPeriod dayPeriod, short roomIndex) {
+        return !isSet(practicalLabAllocationTable, roomIndex, dayPeriod.getCompact());
     }
 
-    public void assignTheory(SemesterSection semesterSection, DayPeriod dayPeriod, short teacherIndex, String subject) {
-        Subject subjectObj = SubjectDao.getInstance().get(subject);
-        if (subjectObj.isPractical()) throw new IllegalArgumentException(subject + " is a practical subject");
-        if (subjectObj.isFree()) throw new IllegalArgumentException(subject + " is a free subject");
+    public void assignTheory(SemesterSection semesterSection, DayPeriod dayPeriod, short teacherIndex, int subject) {
+        if (model.isPractical(subject)) throw new IllegalArgumentException(model.getSubjectCode(subject) + " is a practical subject");
+        if (model.isFree(subject)) throw new IllegalArgumentException(model.getSubjectCode(subject) + " is a free subject");
 
         boolean sectionFree = isSectionAvailable(semesterSection, dayPeriod);
         boolean teacherFree = isTeacherAvailable(dayPeriod, teacherIndex);
 
         if (sectionFree) {
-            HashMap<DayPeriod, String> hm = sectionAllocationTable.computeIfAbsent(semesterSection, k -> new HashMap<>());
-            hm.put(dayPeriod, subject);
+            set(sectionAllocationTable, sectionRow(semesterSection.semester, semesterSection.section), dayPeriod.getCompact());
         }
         if (teacherFree) {
-            teacherTimeAllocationTable.put(new TeacherTimeSlot(dayPeriod, teacherIndex), semesterSection);
+            set(teacherTimeAllocationTable, teacherIndex, dayPeriod.getCompact());
         }
 
-        TeacherSubjectsData tsd = teacherSubjectAllocationTable.computeIfAbsent(teacherIndex, k -> new TeacherSubjectsData());
+        TeacherSubjectsData tsd = getTeacherSubjectsData(teacherIndex);
         HashSet<SemesterSection> subjects = tsd.subjects.computeIfAbsent(subject, k -> new HashSet<>());
         if (!subjects.contains(semesterSection)) {
             subjects.add(semesterSection);
@@ -81,52 +102,43 @@ public class ChromosomeAnalyzer {
         }
     }
 
-    public void assignFreeTheory(SemesterSection semesterSection, DayPeriod dayPeriod, String subject) {
-        Subject subjectObj = SubjectDao.getInstance().get(subject);
-        if (subjectObj.isPractical()) throw new IllegalArgumentException(subject + " is a practical subject");
-        if (!subjectObj.isFree()) throw new IllegalArgumentException(subject + " is not a free subject");
+    public void assignFreeTheory(SemesterSection semesterSection, DayPeriod dayPeriod, int subject) {
+        if (model.isPractical(subject)) throw new IllegalArgumentException(model.getSubjectCode(subject) + " is a practical subject");
+        if (!model.isFree(subject)) throw new IllegalArgumentException(model.getSubjectCode(subject) + " is not a free subject");
 
         boolean sectionFree = isSectionAvailable(semesterSection, dayPeriod);
 
         if (sectionFree) {
-            HashMap<DayPeriod, String> hm = sectionAllocationTable.computeIfAbsent(semesterSection, k -> new HashMap<>());
-            hm.put(dayPeriod, subject);
+            set(sectionAllocationTable, sectionRow(semesterSection.semester, semesterSection.section), dayPeriod.getCompact());
         }
     }
 
-    public void assignPractical(SemesterSection semesterSection, DayPeriod startDayPeriod, short[] teacherIndices, String subject, String roomCode) {
-        Subject subjectObj = SubjectDao.getInstance().get(subject);
-        if(!subjectObj.isPractical())  throw new IllegalArgumentException(subject + " is not a practical subject");
-        if (subjectObj.isFree()) throw new IllegalArgumentException(subject + " is a free subject");
+    public void assignPractical(SemesterSection semesterSection, DayPeriod startDayPeriod, short[] teacherIndices, int subject, short roomIndex) {
+        if(!model.isPractical(subject))  throw new IllegalArgumentException(model.getSubjectCode(subject) + " is not a practical subject");
+        if (model.isFree(subject)) throw new IllegalArgumentException(model.getSubjectCode(subject) + " is a free subject");
 
-        byte lectureCount = (byte) subjectObj.getLectureCount();
+        byte lectureCount = (byte) model.getLectureCount(subject);
         short compact = startDayPeriod.getCompact();
 
-        HashMap<DayPeriod, String> sectionSlots = sectionAllocationTable.computeIfAbsent(semesterSection, k -> new HashMap<>());
-        HashSet<DayPeriod> labAllocDayPeriods = practicalLabAllocationTable.computeIfAbsent(roomCode, k -> new HashSet<>());
+        int sectionRow = sectionRow(semesterSection.semester, semesterSection.section);
 
         //iterate through all day-period of practical class
         for (short com = compact; com < compact + lectureCount; com++) {
-            DayPeriod dayPeriod = new DayPeriod(com);
+            DayPeriod dayPeriod = geometry.dayPeriod(com);
 
             //check if section free during period
-            if (isSectionAvailable(semesterSection, dayPeriod))
-                sectionSlots.put(dayPeriod, subject);
-
-            //check if all teacher free during period
+            //marking an allocated day-period again leaves it allocated
+            set(sectionAllocationTable, sectionRow, com);
             for (short teacherIndex: teacherIndices) {
                 if(isTeacherAvailable(dayPeriod, teacherIndex)) {
-                    teacherTimeAllocationTable.put(new TeacherTimeSlot(dayPeriod, teacherIndex), semesterSection);
+                    set(teacherTimeAllocationTable, teacherIndex, com);
                 }
             }
-
-            //check if practical lab free during period
-            if(isPracticalLabAvailable(dayPeriod, roomCode))
-                labAllocDayPeriods.add(dayPeriod);
+            set(practicalLabAllocationTable, roomIndex, com);
         }
 
         for (short teacherIndex: teacherIndices) {
-            TeacherSubjectsData tsd = teacherSubjectAllocationTable.computeIfAbsent(teacherIndex, k -> new TeacherSubjectsData());
+            TeacherSubjectsData tsd = getTeacherSubjectsData(teacherIndex);
             HashSet<SemesterSection> subjects = tsd.subjects.computeIfAbsent(subject, k -> new HashSet<>());
             if (!subjects.contains(semesterSection)) {
                 subjects.add(semesterSection);
@@ -135,56 +147,48 @@ public class ChromosomeAnalyzer {
         }
     }
 
-    public void assignFreePractical(SemesterSection semesterSection, DayPeriod startDayPeriod, String subject) {
-        Subject subjectObj = SubjectDao.getInstance().get(subject);
-        if(!subjectObj.isPractical())  throw new IllegalArgumentException(subject + " is not a practical subject");
-        if (!subjectObj.isFree()) throw new IllegalArgumentException(subject + " is not a free subject");
+    public void assignFreePractical(SemesterSection semesterSection, DayPeriod startDayPeriod, int subject) {
+        if(!model.isPractical(subject))  throw new IllegalArgumentException(model.getSubjectCode(subject) + " is not a practical subject");
+        if (!model.isFree(subject)) throw new IllegalArgumentException(model.getSubjectCode(subject) + " is not a free subject");
 
-        byte lectureCount = (byte) subjectObj.getLectureCount();
+        byte lectureCount = (byte) model.getLectureCount(subject);
         short compact = startDayPeriod.getCompact();
 
-        HashMap<DayPeriod, String> sectionSlots = sectionAllocationTable.computeIfAbsent(semesterSection, k -> new HashMap<>());
+        int sectionRow = sectionRow(semesterSection.semester, semesterSection.section);
 
         //iterate through all day-period of practical class
         for (short com = compact; com < compact + lectureCount; com++) {
-            DayPeriod dayPeriod = new DayPeriod(com);
-
-            //check if section free during period
-            if (isSectionAvailable(semesterSection, dayPeriod))
-                sectionSlots.put(dayPeriod, subject);
+            set(sectionAllocationTable, sectionRow, com);
         }
     }
 
-    public boolean isAssignNonConflicting(SemesterSection semesterSection, DayPeriod dayPeriod, short teacherIndex, String subject, String roomCode) {
-        Subject subjectObj = SubjectDao.getInstance().get(subject);
+    public boolean isAssignNonConflicting(SemesterSection semesterSection, DayPeriod dayPeriod, short teacherIndex, int subject, short roomIndex) {
         boolean sectionFree = isSectionAvailable(semesterSection, dayPeriod);
         boolean teacherFree = isTeacherAvailable(dayPeriod, teacherIndex);
-        boolean practicalLabFree = !subjectObj.isPractical() ||
-                isPracticalLabAvailable(dayPeriod, roomCode);
+        boolean practicalLabFree = !model.isPractical(subject) ||
+                isPracticalLabAvailable(dayPeriod, roomIndex);
         return sectionFree && teacherFree && practicalLabFree;
     }
 
-    public PracticalTimeRoom suggestPracticalTimeRoom(SemesterSection semesterSection, short[] teacherIndices, String subject) {
-        Subject sub = SubjectDao.getInstance().get(subject);
-        if (!sub.isPractical()) throw new IllegalArgumentException(subject + " is not a practical subject");
+    public PracticalTimeRoom suggestPracticalTimeRoom(SemesterSection semesterSection, short[] teacherIndices, int subject) {
+        if (!model.isPractical(subject)) throw new IllegalArgumentException(model.getSubjectCode(subject) + " is not a practical subject");
 
         ArrayList<PracticalTimeRoom> choices = new ArrayList<>();
-
-        //Get available room codes
-        ArrayList<String> availableRoomCodes = sub.getRoomCodes();
-
-        ArrayList<Byte> allocationPeriods = Util.getAllPracticalPeriodLocations(subject);
+        int lectureCount = model.getLectureCount(subject);
 
         //iterate through each day and check if allocation conflict free
-        for (byte startPeriod: allocationPeriods) {
-            for (String roomCode : availableRoomCodes) {
+        for (int location = 0; location < model.getPracticalPeriodLocationCount(subject); location++) {
+            byte startPeriod = model.getPracticalPeriodLocation(subject, location);
+            //iterate through the available rooms
+            for (int room = 0; room < model.getSubjectRoomCount(subject); room++) {
+                short roomIndex = model.getSubjectRoom(subject, room);
                 for (byte day = 0; day < 5; day++) {
                     boolean valid = true;
                     PeriodCheckerLoop:
-                    for (byte period = startPeriod; period < startPeriod + sub.getLectureCount(); period++) {
-                        DayPeriod dayPeriod = new DayPeriod(day, period);
+                    for (byte period = startPeriod; period < startPeriod + lectureCount; period++) {
+                        DayPeriod dayPeriod = geometry.dayPeriod(day, period);
                         for (short teacherIndex : teacherIndices) {
-                            if (!isAssignNonConflicting(semesterSection, dayPeriod, teacherIndex, subject, roomCode)) {
+                            if (!isAssignNonConflicting(semesterSection, dayPeriod, teacherIndex, subject, roomIndex)) {
                                 valid = false;
                                 break PeriodCheckerLoop;
                             }
@@ -192,32 +196,31 @@ public class ChromosomeAnalyzer {
                     }
 
                     //if allocation possible, add the starting dayPeriod to choices
-                    if (valid) choices.add(new PracticalTimeRoom(roomCode, new DayPeriod(day, startPeriod)));
+                    if (valid) choices.add(new PracticalTimeRoom(roomIndex, geometry.dayPeriod(day, startPeriod)));
                 }
                 if (!choices.isEmpty()) break;
             }
             if (!choices.isEmpty()) break;
         }
 
-        if(choices.isEmpty()) return new PracticalTimeRoom(availableRoomCodes.get(0), new DayPeriod((byte) random.nextInt(5), allocationPeriods.get(0)));
+        if(choices.isEmpty()) return new PracticalTimeRoom(model.getSubjectRoom(subject, 0), geometry.dayPeriod((byte) random.nextInt(5), model.getPracticalPeriodLocation(subject, 0)));
         return choices.get(random.nextInt(choices.size()));
     }
 
-    public DayPeriod suggestFreePracticalDayPeriod(SemesterSection semesterSection, String subject) {
-        Subject sub = SubjectDao.getInstance().get(subject);
-        if (!sub.isPractical()) throw new IllegalArgumentException(subject + " is not a practical subject");
-        if (!sub.isFree()) throw new IllegalArgumentException(subject + " is not a free subject");
+    public DayPeriod suggestFreePracticalDayPeriod(SemesterSection semesterSection, int subject) {
+        if (!model.isPractical(subject)) throw new IllegalArgumentException(model.getSubjectCode(subject) + " is not a practical subject");
+        if (!model.isFree(subject)) throw new IllegalArgumentException(model.getSubjectCode(subject) + " is not a free subject");
 
         ArrayList<DayPeriod> choices = new ArrayList<>();
-
-        ArrayList<Byte> allocationPeriods = Util.getAllPracticalPeriodLocations(subject);
+        int lectureCount = model.getLectureCount(subject);
 
         //iterate through each day and check if allocation conflict free
-        for (byte startPeriod: allocationPeriods) {
+        for (int location = 0; location < model.getPracticalPeriodLocationCount(subject); location++) {
+            byte startPeriod = model.getPracticalPeriodLocation(subject, location);
             for (byte day = 0; day < 5; day++) {
                 boolean valid = true;
-                for (byte period = startPeriod; period < startPeriod + sub.getLectureCount(); period++) {
-                    DayPeriod dayPeriod = new DayPeriod(day, period);
+                for (byte period = startPeriod; period < startPeriod + lectureCount; period++) {
+                    DayPeriod dayPeriod = geometry.dayPeriod(day, period);
                     if (!isSectionAvailable(semesterSection, dayPeriod)) {
                         valid = false;
                         break;
@@ -225,76 +228,73 @@ public class ChromosomeAnalyzer {
                 }
 
                 //if allocation possible, add the starting dayPeriod to choices
-                if (valid) choices.add(new DayPeriod(day, startPeriod));
+                if (valid) choices.add(geometry.dayPeriod(day, startPeriod));
             }
             if (!choices.isEmpty()) break;
         }
 
-        if(choices.isEmpty()) return new DayPeriod((byte) random.nextInt(5), allocationPeriods.get(0));
+        if(choices.isEmpty()) return geometry.dayPeriod((byte) random.nextInt(5), model.getPracticalPeriodLocation(subject, 0));
         return choices.get(random.nextInt(choices.size()));
     }
 
-    public ArrayList<DayPeriod> suggestTheoryDayPeriod(SemesterSection semesterSection, short teacherIndex, String subject) {
-        Subject sub = SubjectDao.getInstance().get(subject);
-        if (sub.isPractical()) throw new IllegalArgumentException(subject + " is a practical subject");
+    public ArrayList<DayPeriod> suggestTheoryDayPeriod(SemesterSection semesterSection, short teacherIndex, int subject) {
+        if (model.isPractical(subject)) throw new IllegalArgumentException(model.getSubjectCode(subject) + " is a practical subject");
+        int lectureCount = model.getLectureCount(subject);
 
         ArrayList<DayPeriod> dayPeriods = new ArrayList<>();
-        int periodCount = ScheduleStructure.getInstance().getPeriodCount();
+        int periodCount = geometry.periodCount;
         //Here 5 is the day count
         int[] values = Util.shuffle(periodCount * 5);
 
         //if semesterSection isn't allocated
-        for (int i = 0; i < values.length && dayPeriods.size() < sub.getLectureCount(); i++) {
-            DayPeriod dayPeriod = new DayPeriod((short) values[i]);
-            if (isAssignNonConflicting(semesterSection, dayPeriod, teacherIndex, subject, null)) {
+        for (int i = 0; i < values.length && dayPeriods.size() < lectureCount; i++) {
+            DayPeriod dayPeriod = geometry.dayPeriod(values[i]);
+            if (isAssignNonConflicting(semesterSection, dayPeriod, teacherIndex, subject, (short) -1)) {
                 dayPeriods.add(dayPeriod);
             }
         }
-        while (dayPeriods.size() < sub.getLectureCount()) {
-            dayPeriods.add(new DayPeriod((short) random.nextInt(periodCount * 5)));
+        while (dayPeriods.size() < lectureCount) {
+            dayPeriods.add(geometry.dayPeriod(random.nextInt(periodCount * 5)));
         }
         return dayPeriods;
     }
 
-    public ArrayList<DayPeriod> suggestFreeTheoryDayPeriod(SemesterSection semesterSection, String subject) {
-        Subject sub = SubjectDao.getInstance().get(subject);
-        if (sub.isPractical()) throw new IllegalArgumentException(subject + " is a practical subject");
-        if (!sub.isFree()) throw new IllegalArgumentException(subject + " is not a free subject");
+    public ArrayList<DayPeriod> suggestFreeTheoryDayPeriod(SemesterSection semesterSection, int subject) {
+        if (model.isPractical(subject)) throw new IllegalArgumentException(model.getSubjectCode(subject) + " is a practical subject");
+        if (!model.isFree(subject)) throw new IllegalArgumentException(model.getSubjectCode(subject) + " is not a free subject");
+        int lectureCount = model.getLectureCount(subject);
 
         ArrayList<DayPeriod> dayPeriods = new ArrayList<>();
-        int periodCount = ScheduleStructure.getInstance().getPeriodCount();
+        int periodCount = geometry.periodCount;
         //Here 5 is the day count
         int[] values = Util.shuffle(periodCount * 5);
 
         //if semesterSection isn't allocated
-        for (int i = 0; i < values.length && dayPeriods.size() < sub.getLectureCount(); i++) {
-            DayPeriod dayPeriod = new DayPeriod((short) values[i]);
+        for (int i = 0; i < values.length && dayPeriods.size() < lectureCount; i++) {
+            DayPeriod dayPeriod = geometry.dayPeriod(values[i]);
             if (isSectionAvailable(semesterSection, dayPeriod)) {
                 dayPeriods.add(dayPeriod);
             }
         }
-        while (dayPeriods.size() < sub.getLectureCount()) {
-            dayPeriods.add(new DayPeriod((short) random.nextInt(periodCount * 5)));
+        while (dayPeriods.size() < lectureCount) {
+            dayPeriods.add(geometry.dayPeriod(random.nextInt(periodCount * 5)));
         }
         return dayPeriods;
     }
 
     public ArrayList<Short> suggestPracticalTeachers(SemesterSection semesterSection, short subjectIndex) {
-        String subject = subjectCodeArray[subjectIndex];
-        Subject sub = SubjectDao.getInstance().get(subject);
-        TeacherDao teacherDao = TeacherDao.getInstance();
+        if (!model.isPractical(subjectIndex)) throw new IllegalArgumentException(model.getSubjectCode(subjectIndex) + " is not a practical subject");
 
-        if (!sub.isPractical()) throw new IllegalArgumentException(subject + " is not a practical subject");
-
-        ArrayList<Integer> availableTeachers = teachersForSubjects[subjectIndex];
+        int lectureCount = model.getLectureCount(subjectIndex);
+        int availableTeacherCount = model.getTeacherCountForSubject(subjectIndex);
         HashSet<Short> res = new HashSet<>();
 
         //if practical subject doesn't have a theory
-        String theoryEquivalent = SubjectDao.getInstance().getTheoryOfPractical(subject);
-        if (theoryEquivalent == null) {
-            for (int selected: Util.shuffle(availableTeachers.size())) {
-                res.add(availableTeachers.get(selected).shortValue());
-                if(res.size() == sub.getLectureCount()) break;
+        int theoryEquivalent = model.getTheoryOfPractical(subjectIndex);
+        if (theoryEquivalent == -1) {
+            for (int selected: Util.shuffle(availableTeacherCount)) {
+                res.add((short) model.getTeacherForSubject(subjectIndex, selected));
+                if(res.size() == lectureCount) break;
             }
             return new ArrayList<>(res);
         }
@@ -307,13 +307,13 @@ public class ChromosomeAnalyzer {
 
         boolean theoryTeacherAdded = false;
 
-        int[] shuffledIndices = Util.shuffle(availableTeachers.size());
+        int[] shuffledIndices = Util.shuffle(availableTeacherCount);
         for(int randomIndex: shuffledIndices) {
-            int teacherIndex = availableTeachers.get(randomIndex);
-            TeacherSubjectsData tsd = teacherSubjectAllocationTable.computeIfAbsent((short) teacherIndex, k -> new TeacherSubjectsData());
-            if(teacherDao.get(teacherNameArray[teacherIndex]).getSubjects().contains(theoryEquivalent)) {
+            int teacherIndex = model.getTeacherForSubject(subjectIndex, randomIndex);
+            TeacherSubjectsData tsd = getTeacherSubjectsData(teacherIndex);
+            if(model.teaches(teacherIndex, theoryEquivalent)) {
                 practicalAndTheoryTeachers.add(teacherIndex);
-                if(tsd.practicalCount < 3 && !tsd.subjects.containsKey(subject) && !theoryTeacherAdded) {
+                if(tsd.practicalCount < 3 && !tsd.subjects.containsKey((int) subjectIndex) && !theoryTeacherAdded) {
                     availableTheoryTeachersCount++;
                     theoryTeacherAdded = true;
                     res.add((short) teacherIndex);
@@ -327,72 +327,50 @@ public class ChromosomeAnalyzer {
         }
 
         for (int randomIndex: shuffledIndices) {
-            int teacherIndex = availableTeachers.get(randomIndex);
+            int teacherIndex = model.getTeacherForSubject(subjectIndex, randomIndex);
             if (practicalAndTheoryTeachers.contains(teacherIndex) && !theoryTeacherAdded) {
                 theoryTeacherAdded = true;
                 res.add((short) teacherIndex);
             } else if (theoryTeacherAdded && practicalOnlyTeachers.contains(teacherIndex)) {
                 res.add((short) teacherIndex);
-            } else if (res.size() != sub.getLectureCount() - 1){
+            } else if (res.size() != lectureCount - 1){
                 res.add((short) teacherIndex);
             }
-            if (res.size() == sub.getLectureCount()) break;
+            if (res.size() == lectureCount) break;
         }
 
         return new ArrayList<>(res);
     }
 
     public Short suggestTheoryTeacher(SemesterSection semesterSection, short subjectIndex) {
-        ArrayList<Integer> availableTeachers = teachersForSubjects[subjectIndex];
-        int[] randomizedIndices = Util.shuffle(availableTeachers.size());
-        String practicalEquivalent = SubjectDao.getInstance().getPracticalOfTheory(subjectCodeArray[subjectIndex]);
-        if(practicalEquivalent == null) {
-            return availableTeachers.get(random.nextInt(availableTeachers.size())).shortValue();
+        int availableTeacherCount = model.getTeacherCountForSubject(subjectIndex);
+        int[] randomizedIndices = Util.shuffle(availableTeacherCount);
+        int practicalEquivalent = model.getPracticalOfTheory(subjectIndex);
+        if(practicalEquivalent == -1) {
+            return (short) model.getTeacherForSubject(subjectIndex, random.nextInt(availableTeacherCount));
         }
         for(int randomIndex: randomizedIndices) {
-            short teacherIndex = availableTeachers.get(randomIndex).shortValue();
-            TeacherSubjectsData tsd = teacherSubjectAllocationTable.computeIfAbsent(teacherIndex, k -> new TeacherSubjectsData());
+            short teacherIndex = (short) model.getTeacherForSubject(subjectIndex, randomIndex);
+            TeacherSubjectsData tsd = getTeacherSubjectsData(teacherIndex);
             if (tsd.subjects.computeIfAbsent(practicalEquivalent, k -> new HashSet<>()).contains(semesterSection)) {
                 return teacherIndex;
             }
         }
-        return availableTeachers.get(random.nextInt(availableTeachers.size())).shortValue();
-    }
-
-    public static class TeacherTimeSlot {
-        public final DayPeriod dayPeriod;
-        public final short teacherIndex;
-
-        public TeacherTimeSlot(DayPeriod dayPeriod, short teacherIndex) {
-            this.dayPeriod = dayPeriod;
-            this.teacherIndex = teacherIndex;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (!(o instanceof TeacherTimeSlot that)) return false;
-            return teacherIndex == that.teacherIndex && dayPeriod.equals(that.dayPeriod);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(dayPeriod, teacherIndex);
-        }
+        return (short) model.getTeacherForSubject(subjectIndex, random.nextInt(availableTeacherCount));
     }
 
     public static class TeacherSubjectsData {
-        public HashMap<String, HashSet<SemesterSection>> subjects = new HashMap<>();
+        public HashMap<Integer, HashSet<SemesterSection>> subjects = new HashMap<>();//key = subject index
         public short practicalCount = 0;
         public short theoryCount = 0;
     }
 
     public static class PracticalTimeRoom {
-        public String roomCode;
+        public short roomIndex;
         public DayPeriod time;
 
-        public PracticalTimeRoom(String roomCode, DayPeriod time) {
-            this.roomCode = roomCode;
+        public PracticalTimeRoom(short roomIndex, DayPeriod time) {
+            this.roomIndex = roomIndex;
             this.time = time;
         }
     }
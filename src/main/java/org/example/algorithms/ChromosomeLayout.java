@@ -0,0 +1,193 @@
+package org.example.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Describes where the genes of every (subject, section) pair are located in a chromosome.<br>
+ * A chromosome is a sequence of blocks, one per section of every subject in the order of the
+ * subject code array. The genes of a block are
+ * <ul>
+ *     <li>practical: start day-period, room index (if not free), one teacher index per lecture (if not free)</li>
+ *     <li>theory: teacher index (if not free), one day-period per lecture</li>
+ * </ul>
+ * A layout is immutable and can be shared between threads.
+ */
+public class ChromosomeLayout {
+    private final int chromosomeLength;
+    private final int periodCount;
+    private final int dayPeriodCount;
+    private final int maxSectionCount;
+    private final int yearCount;
+
+    //per subject data
+    private final boolean[] free;
+    private final boolean[] practical;
+    private final int[] lectureCount;
+    private final byte[] practicalStartingPeriod;
+
+    //per block data
+    private final int[] blockOffset;
+    private final int[] blockLength;
+    private final int[] blockSubject;
+    private final byte[] blockYear;
+    private final byte[] blockSection;
+    //true for a non-free practical block whose subject has a theory, it's theory teacher must teach the practical
+    private final boolean[] hasTheory;
+    //for a non-free practical block, the block holding the teacher of it's theory, -1 if there is no such block
+    private final int[] theoryBlock;
+    //for a theory block, the practical blocks of the same section whose theory it is
+    private final int[][] dependentPracticalBlocks;
+
+    public ChromosomeLayout(ProblemModel model) {
+        periodCount = model.getPeriodCount();
+        dayPeriodCount = model.getDayPeriodCount();
+        yearCount = model.getYearCount();
+        maxSectionCount = model.getMaxSectionCount();
+
+        int subjectCount = model.getSubjectCount();
+        free = new boolean[subjectCount];
+        practical = new boolean[subjectCount];
+        lectureCount = new int[subjectCount];
+        practicalStartingPeriod = new byte[subjectCount];
+        int[] firstBlock = new int[subjectCount];
+        int[] sectionCount = new int[subjectCount];
+        int blocks = 0;
+        for (int i = 0; i < subjectCount; i++) {
+            free[i] = model.isFree(i);
+            practical[i] = model.isPractical(i);
+            lectureCount[i] = model.getLectureCount(i);
+            if (practical[i] && !free[i])
+                practicalStartingPeriod[i] = model.getPracticalStartingPeriod(i);
+            firstBlock[i] = blocks;
+            sectionCount[i] = model.getSectionCount(i);
+            blocks += sectionCount[i];
+        }
+
+        blockOffset = new int[blocks];
+        blockLength = new int[blocks];
+        blockSubject = new int[blocks];
+        blockYear = new byte[blocks];
+        blockSection = new byte[blocks];
+        hasTheory = new boolean[blocks];
+        theoryBlock = new int[blocks];
+        dependentPracticalBlocks = new int[blocks][];
+        Arrays.fill(theoryBlock, -1);
+        Arrays.fill(dependentPracticalBlocks, new int[0]);
+
+        int offset = 0;
+        for (int i = 0; i < subjectCount; i++) {
+            byte year = model.getYear(i);
+            int length = model.getSectionLength(i);
+
+            //theory of a practical is the subject with the second last character of the code replaced by 0
+            boolean subjectHasTheory = false;
+            int theoryIndex = -1;
+            if (practical[i] && !free[i]) {
+                int index = model.getTheoryIndex(i);
+                subjectHasTheory = index != -1;
+                //only a non-free theory with lectures records a teacher
+                if (index != -1 && !practical[index] && !free[index] && lectureCount[index] > 0) theoryIndex = index;
+            }
+
+            for (int sec = 0; sec < sectionCount[i]; sec++) {
+                int block = firstBlock[i] + sec;
+                blockOffset[block] = offset;
+                blockLength[block] = length;
+                blockSubject[block] = i;
+                blockYear[block] = year;
+                blockSection[block] = (byte) sec;
+                hasTheory[block] = subjectHasTheory;
+                if (theoryIndex != -1 && sec < sectionCount[theoryIndex]) {
+                    theoryBlock[block] = firstBlock[theoryIndex] + sec;
+                    int[] dependents = dependentPracticalBlocks[firstBlock[theoryIndex] + sec];
+                    dependents = Arrays.copyOf(dependents, dependents.length + 1);
+                    dependents[dependents.length - 1] = block;
+                    dependentPracticalBlocks[firstBlock[theoryIndex] + sec] = dependents;
+                }
+                offset += length;
+            }
+        }
+        chromosomeLength = offset;
+    }
+
+    public int getChromosomeLength() {
+        return chromosomeLength;
+    }
+
+    public int getBlockCount() {
+        return blockOffset.length;
+    }
+
+    public int getBlockOffset(int block) {
+        return blockOffset[block];
+    }
+
+    public int getBlockLength(int block) {
+        return blockLength[block];
+    }
+
+    public int getBlockSubject(int block) {
+        return blockSubject[block];
+    }
+
+    public byte getBlockYear(int block) {
+        return blockYear[block];
+    }
+
+    public byte getBlockSection(int block) {
+        return blockSection[block];
+    }
+
+    /**
+     * Returns whether the subject of a non-free practical block has a theory whose teacher has to teach the practical
+     */
+    public boolean hasTheory(int block) {
+        return hasTheory[block];
+    }
+
+    /**
+     * Returns the block holding the theory teacher of a non-free practical block, -1 if there is none
+     */
+    public int getTheoryBlock(int block) {
+        return theoryBlock[block];
+    }
+
+    /**
+     * Returns the non-free practical blocks depending on the teacher of a theory block
+     */
+    public int[] getDependentPracticalBlocks(int block) {
+        return dependentPracticalBlocks[block];
+    }
+
+    public boolean isFree(int subjectIndex) {
+        return free[subjectIndex];
+    }
+
+    public boolean isPractical(int subjectIndex) {
+        return practical[subjectIndex];
+    }
+
+    public int getLectureCount(int subjectIndex) {
+        return lectureCount[subjectIndex];
+    }
+
+    public byte getPracticalStartingPeriod(int subjectIndex) {
+        return practicalStartingPeriod[subjectIndex];
+    }
+
+    public int getPeriodCount() {
+        return periodCount;
+    }
+
+    public int getDayPeriodCount() {
+        return dayPeriodCount;
+    }
+
+    public int getMaxSectionCount() {
+        return maxSectionCount;
+    }
+
+    public int getYearCount() {
+        return yearCount;
+    }
+}
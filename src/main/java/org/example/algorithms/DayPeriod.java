@@ -2,27 +2,43 @@ package org.example.algorithms;
 
 import org.example.pojo.ScheduleStructure;
 
-import java.util.Objects;
-
+/**
+ * A day and a period of the week, the canonical instances of the current structure
+ * are returned by {@link #of(short)} and {@link #of(byte, byte)}
+ */
 public class DayPeriod {
     public final byte day;
     public final byte period;
-    private final int hashCode;
+    private final short compact;
 
     public DayPeriod(byte day, byte period) {
+        this(day, period, getCompact(day, period));
+    }
+
+    public DayPeriod(short compact) {
+        this(
+                (byte) (compact / ScheduleStructure.getInstance().getPeriodCount()),
+                (byte) (compact % ScheduleStructure.getInstance().getPeriodCount()),
+                compact
+        );
+    }
+
+    DayPeriod(byte day, byte period, short compact) {
         this.day = day;
         this.period = period;
-        this.hashCode = Objects.hash(day, period);
+        this.compact = compact;
     }
 
-    public DayPeriod(short compact) {
-        this.day = (byte) (compact / ScheduleStructure.getInstance().getPeriodCount());
-        this.period = (byte) (compact % ScheduleStructure.getInstance().getPeriodCount());
-        this.hashCode = Objects.hash(day, period);
+    public static DayPeriod of(short compact) {
+        return StructureGeometry.get().dayPeriod(compact);
+    }
+
+    public static DayPeriod of(byte day, byte period) {
+        return StructureGeometry.get().dayPeriod(day, period);
     }
 
     public short getCompact() {
-        return (short) (day * ScheduleStructure.getInstance().getPeriodCount() + period);
+        return compact;
     }
 
     public static short getCompact(byte day, byte period) {
@@ -39,6 +55,6 @@ public class DayPeriod {
 
     @Override
     public int hashCode() {
-        return this.hashCode;
+        return day * 31 + period;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,239 @@
+package org.example.algorithms;
+
+import org.example.algorithms.io.ChromosomeReader;
+
+import java.io.IOException;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+
+/**
+ * Counts the hard and soft constraint violations of a chromosome.<br>
+ * Every (day, period, semester, section), (teacher, day, period) and (room, day, period)
+ * combination is mapped to a dense index into occupancy grids which are allocated once
+ * and reused for every chromosome, so evaluating a chromosome doesn't allocate per gene.
+ * An instance is not thread safe, each worker thread should use its own evaluator.
+ */
+public class FitnessEvaluator implements ChromosomeReader.IndexedReaderCallback {
+    private final ProblemModel model;
+
+    private final int periodCount;
+    private final int dayPeriodCount;
+    private final int maxSectionCount;
+
+    //per subject data
+    private final boolean[] free;
+    private final boolean[] practical;
+    private final int[] theoryIndex;//index of the theory of a practical subject, -1 if it has none
+    private final byte[] practicalStartingPeriod;
+
+    //occupancy grids, a cell is occupied if it's stamp equals the current stamp
+    private final int[] sectionStamps;
+    private final int[] teacherStamps;
+    private final int[] roomStamps;
+    private final int[] teacherUsedStamps;
+    private final int[] theoryTeacherStamps;
+    private final short[] theoryTeachers;//key = subject index * maxSectionCount + section
+    private int stamp = 0;
+
+    //practical slots of the current chromosome, grouped by section and subject
+    private final int[] groupStart;
+    private final int[] groupSubject;
+    private final byte[] groupSection;
+    private final byte[] slotDay;
+    private final byte[] slotPeriod;
+    private final short[] slotTeacher;
+    private int groupCount;
+    private int slotCount;
+
+    private int hardViolationCount;
+    private int softViolationCount;
+
+    public FitnessEvaluator(ProblemModel model) {
+        this.model = model;
+
+        periodCount = model.getPeriodCount();
+        dayPeriodCount = model.getDayPeriodCount();
+        maxSectionCount = model.getMaxSectionCount();
+
+        int subjectCount = model.getSubjectCount();
+        free = new boolean[subjectCount];
+        practical = new boolean[subjectCount];
+        theoryIndex = new int[subjectCount];
+        practicalStartingPeriod = new byte[subjectCount];
+        int groups = 0;
+        int slots = 0;
+        for (int i = 0; i < subjectCount; i++) {
+            free[i] = model.isFree(i);
+            practical[i] = model.isPractical(i);
+            theoryIndex[i] = -1;
+            if (!practical[i] || free[i]) continue;
+
+            theoryIndex[i] = model.getTheoryIndex(i);
+            practicalStartingPeriod[i] = model.getPracticalStartingPeriod(i);
+
+            int sectionCount = model.getSectionCount(i);
+            groups += sectionCount;
+            slots += sectionCount * model.getLectureCount(i);
+        }
+
+        sectionStamps = new int[model.getYearCount() * maxSectionCount * dayPeriodCount];
+        teacherStamps = new int[model.getTeacherCount() * dayPeriodCount];
+        roomStamps = new int[model.getRoomCount() * dayPeriodCount];
+        teacherUsedStamps = new int[model.getTeacherCount()];
+        theoryTeacherStamps = new int[subjectCount * maxSectionCount];
+        theoryTeachers = new short[subjectCount * maxSectionCount];
+
+        groupStart = new int[groups + 1];
+        groupSubject = new int[groups];
+        groupSection = new byte[groups];
+        slotDay = new byte[slots];
+        slotPeriod = new byte[slots];
+        slotTeacher = new short[slots];
+    }
+
+    /**
+     * Evaluates a chromosome, the result can be fetched using {@link #getHardViolationCount()}
+     * and {@link #getSoftViolationCount()}
+     *
+     * @param genes a buffer positioned at the first gene of the chromosome
+     * @throws IOException if the chromosome can't be read
+     */
+    public void evaluate(ShortBuffer genes) throws IOException {
+        nextStamp();
+        hardViolationCount = 0;
+        softViolationCount = 0;
+        groupCount = 0;
+        slotCount = 0;
+
+        try (ChromosomeReader chromosomeReader = new ChromosomeReader(genes, model)) {
+            chromosomeReader.readAll(this);
+        }
+        groupStart[groupCount] = slotCount;
+
+        //evaluating h8, h9, h12 and h13
+        for (int group = 0; group < groupCount; group++) {
+            int start = groupStart[group];
+            int end = groupStart[group + 1];
+            int subjectIndex = groupSubject[group];
+
+            int distinctTeachers = 0;
+            byte minPeriod = Byte.MAX_VALUE;
+            for (int slot = start; slot < end; slot++) {
+                if (isFirstOccurrence(slot, start)) distinctTeachers++;
+                if (slotPeriod[slot] < minPeriod) minPeriod = slotPeriod[slot];
+            }
+
+            //evaluating h12
+            if (theoryIndex[subjectIndex] != -1) {
+                int key = theoryIndex[subjectIndex] * maxSectionCount + groupSection[group];
+                boolean theoryTeacherPresent = false;
+                if (theoryTeacherStamps[key] == stamp) {
+                    for (int slot = start; slot < end && !theoryTeacherPresent; slot++)
+                        theoryTeacherPresent = slotTeacher[slot] == theoryTeachers[key];
+                }
+                if (!theoryTeacherPresent) hardViolationCount++;
+            }
+
+            //evaluating h9
+            for (int teacherSlot = start; teacherSlot < end; teacherSlot++) {
+                if (!isFirstOccurrence(teacherSlot, start)) continue;
+                short teacherIndex = slotTeacher[teacherSlot];
+                for (int slot = start; slot < end; slot++) {
+                    if (slotTeacher[slot] == teacherIndex) continue;
+                    if (teacherStamps[teacherIndex * dayPeriodCount + slotDay[slot] * periodCount + slotPeriod[slot]] == stamp)
+                        hardViolationCount++;
+                }
+            }
+
+            //evaluating h13
+            hardViolationCount += (end - start) - distinctTeachers;
+
+            //evaluating s1
+            if (minPeriod != practicalStartingPeriod[subjectIndex])
+                softViolationCount++;
+        }
+
+        //evaluating h10
+        for (int teacherUsedStamp : teacherUsedStamps)
+            if (teacherUsedStamp != stamp) hardViolationCount++;
+    }
+
+    @Override
+    public void process(byte sem, byte sec, byte day, byte period, int subjectIndex, int teacherIndex, String roomCode, int lectureIndex) {
+        int dayPeriod = day * periodCount + period;
+
+        //evaluating h6
+        int cell = (sem * maxSectionCount + sec) * dayPeriodCount + dayPeriod;
+        if (sectionStamps[cell] == stamp) hardViolationCount++;
+        else sectionStamps[cell] = stamp;
+
+        //none other constraints required if subject is free
+        if (free[subjectIndex]) return;
+
+        //evaluating h2
+        if (!model.isTeacherAvailable(teacherIndex, dayPeriod))
+            hardViolationCount++;
+
+        //evaluating h4
+        if (practical[subjectIndex]) {
+            cell = model.getRoomIndex(roomCode) * dayPeriodCount + dayPeriod;
+            if (roomStamps[cell] == stamp) hardViolationCount++;
+            else roomStamps[cell] = stamp;
+        }
+
+        //evaluating h5
+        else {
+            int key = subjectIndex * maxSectionCount + sec;
+            theoryTeacherStamps[key] = stamp;
+            theoryTeachers[key] = (short) teacherIndex;
+        }
+
+        //evaluating h7
+        cell = teacherIndex * dayPeriodCount + dayPeriod;
+        if (teacherStamps[cell] == stamp) hardViolationCount++;
+        else teacherStamps[cell] = stamp;
+
+        //processing h8, h9, h12, h13 and s1
+        if (practical[subjectIndex]) {
+            if (groupCount == 0 || groupSubject[groupCount - 1] != subjectIndex || groupSection[groupCount - 1] != sec) {
+                groupStart[groupCount] = slotCount;
+                groupSubject[groupCount] = subjectIndex;
+                groupSection[groupCount] = sec;
+                groupCount++;
+            }
+            slotDay[slotCount] = day;
+            slotPeriod[slotCount] = period;
+            slotTeacher[slotCount] = (short) teacherIndex;
+            slotCount++;
+        }
+
+        //processing h10
+        teacherUsedStamps[teacherIndex] = stamp;
+    }
+
+    public int getHardViolationCount() {
+        return hardViolationCount;
+    }
+
+    public int getSoftViolationCount() {
+        return softViolationCount;
+    }
+
+    private boolean isFirstOccurrence(int slot, int groupStart) {
+        for (int i = groupStart; i < slot; i++)
+            if (slotTeacher[i] == slotTeacher[slot]) return false;
+        return true;
+    }
+
+    private void nextStamp() {
+        stamp++;
+        if (stamp == Integer.MAX_VALUE) {
+            stamp = 1;
+            Arrays.fill(sectionStamps, 0);
+            Arrays.fill(teacherStamps, 0);
+            Arrays.fill(roomStamps, 0);
+            Arrays.fill(teacherUsedStamps, 0);
+            Arrays.fill(theoryTeacherStamps, 0);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Stores the fitness state of every chromosome of a population in a single contiguous {@code short[]}
+ * buffer along with it's violation counts, see {@link IncrementalFitnessEvaluator} for the content of a state.<br>
+ * Like {@link org.example.algorithms.io.PopulationStorage} a storage is reused across generations,
+ * the generator keeps two of them and swaps between them.
+ */
+public class FitnessStateStorage {
+    private final int populationSize;
+    private final int stateLength;
+    final short[] states;
+    final int[] hardViolationCounts;
+    final int[] softViolationCounts;
+
+    public FitnessStateStorage(int populationSize, int stateLength) {
+        this.populationSize = populationSize;
+        this.stateLength = stateLength;
+        this.states = new short[populationSize * stateLength];
+        this.hardViolationCounts = new int[populationSize];
+        this.softViolationCounts = new int[populationSize];
+    }
+
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    public int getStateLength() {
+        return stateLength;
+    }
+
+    public int getHardViolationCount(int index) {
+        return hardViolationCounts[index];
+    }
+
+    public int getSoftViolationCount(int index) {
+        return softViolationCounts[index];
+    }
+
+    int getStateOffset(int index) {
+        return index * stateLength;
+    }
+
+    /**
+     * Copies the state of a chromosome of another storage of the same state length into this storage
+     */
+    public void copyState(FitnessStateStorage source, int sourceIndex, int index) {
+        System.arraycopy(source.states, sourceIndex * stateLength, states, index * stateLength, stateLength);
+        hardViolationCounts[index] = source.hardViolationCounts[sourceIndex];
+        softViolationCounts[index] = source.softViolationCounts[sourceIndex];
+    }
+
+    void clearState(int index) {
+        Arrays.fill(states, index * stateLength, (index + 1) * stateLength, (short) 0);
+        hardViolationCounts[index] = 0;
+        softViolationCounts[index] = 0;
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.algorithms;
+
+/**
+ * Snapshot of the state of a running {@link Generator} after a generation has been evaluated
+ *
+ * @param generation     number of the generation
+ * @param stagnantCount  number of consecutive generations without any improvement of the max fitness
+ * @param averageFitness average fitness of the population
+ * @param maxFitness     fitness of the best chromosome, 1 or more once every hard constraint is satisfied
+ */
+public record GenerationProgress(int generation, int stagnantCount, float averageFitness, float maxFitness) {
+}
@@ -3,47 +3,71 @@ package org.example.algorithms;
 import org.example.DefaultConfig;
 import org.example.algorithms.io.ChromosomeReader;
 import org.example.algorithms.io.PopulationStorage;
-import org.example.dao.SubjectDao;
-import org.example.dao.TeacherDao;
+import org.example.dao.DataLock;
 import org.example.interfaces.OnResultListener;
 import org.example.pojo.ScheduleSolution;
-import org.example.pojo.ScheduleStructure;
-import org.example.pojo.Subject;
-import org.example.pojo.Teacher;
 
 import java.io.IOException;
-import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ShortBuffer;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class Generator {
-    private final int populationSize = 200;
+    private final int populationSize;
     private final int tournamentSize = 5;
     private final float crossoverRate = 0.98f;
     private final float mutationRate = 0.05f;
     private final int stagnantTerminationCount = 75;
-    private final int threadCount = 4;
-    private String[] subjectCodeArray = null;
-    private String[] teacherNameArray = null;
-    private String[] roomCodesArray = null;
-    private HashMap<String, Short> indexOfRoom = null;
-    private ArrayList<Integer>[] teachersForSubjects = null;
+    private final int threadCount;
+    //snapshot of the data the run works on, the daos aren't read after it's created
+    private ProblemModel model = null;
+    private int chromosomeLength = 0;
     private PopulationStorage populationStorage;
-    private ArrayList<GeneticThread> geneticThreads = new ArrayList<>();
+    private PopulationStorage nextPopulationStorage;
+    private GeneticWorkerPool workerPool = null;
+    private FitnessEvaluator[] fitnessEvaluators = null;
+    private IncrementalFitnessEvaluator[] incrementalEvaluators = null;
+    private FitnessStateStorage fitnessStates;
+    private FitnessStateStorage nextFitnessStates;
+    //index of the parent in the previous generation each chromosome is evaluated against, -1 to evaluate from scratch
+    private final int[] parentIndices;
     private final float[] fitness;
     private final Integer[] selectedIndices;
     private float averageFitness = 0;
     private float maxFitness = 0;
     private int maxFitnessIndex = 0;
     private int generation = 0;
+    //populations evolved in parallel instead of this one, null with a single island
+    private IslandModel islandModel = null;
+    private final int islandCount;
     private final OnResultListener onResultListener;
-    SubjectDao subjectDao = SubjectDao.getInstance();
-    TeacherDao teacherDao = TeacherDao.getInstance();
-    ScheduleStructure scheduleData = ScheduleStructure.getInstance();
     volatile boolean stopped = false;
 
     public Generator(OnResultListener onResultListener) {
-        fitness = new float[populationSize];
-        selectedIndices = new Integer[populationSize / tournamentSize];
+        this(onResultListener, DefaultConfig.GENERATOR_THREAD_COUNT);
+    }
+
+    /**
+     * @param threadCount number of worker threads, 0 or less to use one per available processor
+     */
+    public Generator(OnResultListener onResultListener, int threadCount) {
+        this(onResultListener, threadCount, DefaultConfig.GENERATOR_ISLAND_COUNT, DefaultConfig.GENERATOR_POPULATION_SIZE);
+    }
+
+    /**
+     * @param threadCount    number of worker threads shared by all islands, 0 or less to use one per available processor
+     * @param islandCount    number of populations evolved in parallel, see {@link IslandModel}
+     * @param populationSize number of chromosomes of each island
+     */
+    Generator(OnResultListener onResultListener, int threadCount, int islandCount, int populationSize) {
+        this.threadCount = threadCount > 0 ? threadCount : Runtime.getRuntime().availableProcessors();
+        this.islandCount = Math.max(1, islandCount);
+        //selection needs at least two tournaments
+        this.populationSize = Math.max(populationSize, 2 * tournamentSize);
+        fitness = new float[this.populationSize];
+        selectedIndices = new Integer[this.populationSize / tournamentSize];
+        parentIndices = new int[this.populationSize];
         this.onResultListener = onResultListener;
     }
 
@@ -52,35 +76,74 @@ public class Generator {
         new Thread(() -> {
             try {
                 long time = System.currentTimeMillis();
-                updateVariables();
-                if (stopped) return;
-                generateInitialPopulation();
+                //the data must not change while it's snapshot is taken
+                DataLock.getInstance().readLock().lock();
+                try {
+                    updateVariables();
+                } finally {
+                    DataLock.getInstance().readLock().unlock();
+                }
+                if (stopped) {
+                    stop();
+                    return;
+                }
+                if (islandModel != null) {
+                    islandModel.generateInitialPopulation();
+                    updateFromIslands();
+                } else {
+                    generateInitialPopulation();
+                    calculateFitness();
+                }
                 float prevMaxFitness = maxFitness;
                 int stagnantCount = 0;
-                calculateFitness();
+                //generations evolved by the last step of the loop
+                int step = 1;
                 String trailer = DefaultConfig.GENERATOR_LOG_SINGLE_LINE ? "\r" : "\n";
                 System.out.print("Generation:" + generation + " Stagnant count:" + stagnantCount + " Avg. fitness:" + averageFitness + " Max fitness:" + maxFitness + " Index: " + maxFitnessIndex);
+                onResultListener.onProgress(new GenerationProgress(generation, stagnantCount, averageFitness, maxFitness));
                 while (maxFitness < 1 && stagnantCount <= stagnantTerminationCount && !stopped) {
-                    if (maxFitness == prevMaxFitness) stagnantCount++;
+                    if (maxFitness == prevMaxFitness) stagnantCount += step;
                     else stagnantCount = 0;
                     prevMaxFitness = maxFitness;
-                    selectParents();
-                    generateNewPopulation();
-                    calculateFitness();
-                    generation++;
+                    if (islandModel != null) {
+                        //evolve the islands independently, then let their elites migrate
+                        int prevGeneration = generation;
+                        islandModel.evolve(Math.max(1, DefaultConfig.GENERATOR_MIGRATION_INTERVAL));
+                        if (!stopped) islandModel.migrate(DefaultConfig.GENERATOR_MIGRATION_SIZE);
+                        updateFromIslands();
+                        step = Math.max(1, generation - prevGeneration);
+                    } else {
+                        nextGeneration();
+                    }
                     System.out.print(trailer + "Generation:" + generation + " Stagnant count:" + stagnantCount + " Avg. fitness:" + averageFitness + " Max fitness:" + maxFitness + " Index: " + maxFitnessIndex);
+                    if (!stopped)
+                        onResultListener.onProgress(new GenerationProgress(generation, stagnantCount, averageFitness, maxFitness));
                 }
                 System.out.println("\nMax Fitness Index = " + maxFitnessIndex);
 
-                stop();
+                //stopped before the loop ended on it's own, the population is incomplete
+                boolean cancelled = stopped;
+                shutdownWorkers();
 
-                if (stagnantCount > stagnantTerminationCount && !stopped)
+                if (cancelled)
+                    onResultListener.onError("Generation cancelled");
+                else if (stagnantCount > stagnantTerminationCount)
                     onResultListener.onError("Couldn't find stable time table with given constraints");
                 else {
                     System.out.println("Time taken: " + (System.currentTimeMillis() - time) / 1000 + " sec");
-                    Scanner sc = populationStorage.getChromosomeReader(maxFitnessIndex);
-                    ScheduleSolution.getInstance().parseChromo(new ChromosomeReader(sc, teacherNameArray, subjectCodeArray, roomCodesArray));
-                    onResultListener.onResult();
+                    boolean stored = false;
+                    DataLock.getInstance().writeLock().lock();
+                    try {
+                        //a cancel arriving after the loop ended must not replace the schedule
+                        if (!stopped) {
+                            ScheduleSolution.getInstance().parseChromo(getBestChromosomeReader());
+                            stored = true;
+                        }
+                    } finally {
+                        DataLock.getInstance().writeLock().unlock();
+                    }
+                    if (stored) onResultListener.onResult();
+                    else onResultListener.onError("Generation cancelled");
                 }
             } catch (IOException e) {
                 System.out.println(e);
@@ -91,48 +154,41 @@ public class Generator {
         }).start();
     }
 
-    private void updateVariables() {
-
-        //start geneticThreads
-        geneticThreads = new ArrayList<>();
-        int populationPerThread = populationSize / threadCount;
-        for (int i = 0; i < threadCount; i++) {
-            GeneticThread gt = new GeneticThread(i * populationPerThread, populationPerThread);
-            geneticThreads.add(gt);
-            gt.start();
-        }
-
+    //package-private for benchmarks
+    void updateVariables() {
         PreComputation preComputation = new PreComputation();
         preComputation.compute();
 
-        this.subjectCodeArray = preComputation.getSubjectCodes();
-
-        this.teacherNameArray = preComputation.getTeacherNames();
-
-        this.teachersForSubjects = preComputation.getTeachersForSubjects();
-
-        this.roomCodesArray = preComputation.getRoomCodes();
-
-        this.indexOfRoom = preComputation.getIndexOfRoom();
+        ProblemModel model = preComputation.getProblemModel();
+        if (islandCount > 1) {
+            this.model = model;
+            this.chromosomeLength = model.getChromosomeLength();
+            islandModel = new IslandModel(model, islandCount, populationSize, threadCount, onResultListener);
+        } else {
+            setProblemModel(model);
+        }
 
-        System.out.println(Arrays.toString(subjectCodeArray));
-        System.out.println(Arrays.toString(teacherNameArray));
-        System.out.println(Arrays.toString(roomCodesArray));
+        System.out.println(Arrays.toString(model.getSubjectCodes()));
+        System.out.println(Arrays.toString(model.getTeacherNames()));
+        System.out.println(Arrays.toString(model.getRoomCodes()));
 
-        for (int i = 0; i < teachersForSubjects.length; i++)
-            if (teachersForSubjects[i].isEmpty() && !subjectDao.get(subjectCodeArray[i]).isFree()) {
-                onResultListener.onError("Subject: " + subjectCodeArray[i] + " is not free and has no teacher");
+        for (int i = 0; i < model.getSubjectCount(); i++)
+            if (model.getTeacherCountForSubject(i) == 0 && !model.isFree(i)) {
+                onResultListener.onError("Subject: " + model.getSubjectCode(i) + " is not free and has no teacher");
                 stop();
                 return;
             }
 
         HashMap<Integer, Short> totalPeriodCounts = new HashMap<>();
-        for (Subject subject : SubjectDao.getInstance().values()) {
-            short newLectureCount = (short) (totalPeriodCounts.getOrDefault(subject.getSem(), (short) 0) + subject.getLectureCount());
-            totalPeriodCounts.put(subject.getSem(), newLectureCount);
+        HashMap<Integer, Integer> breakCounts = new HashMap<>();
+        for (int i = 0; i < model.getSubjectCount(); i++) {
+            int sem = model.getSemester(i);
+            short newLectureCount = (short) (totalPeriodCounts.getOrDefault(sem, (short) 0) + model.getLectureCount(i));
+            totalPeriodCounts.put(sem, newLectureCount);
+            breakCounts.put(sem, model.getBreakCount(i));
         }
         for (Map.Entry<Integer, Short> entry : totalPeriodCounts.entrySet()) {
-            int numberOfPeriods = scheduleData.getPeriodCount() - scheduleData.getBreakLocations(entry.getKey()).length;
+            int numberOfPeriods = model.getPeriodCount() - breakCounts.get(entry.getKey());
             if (entry.getValue() > numberOfPeriods * 5) {
                 onResultListener.onError("Total lecture count in Semester: " + entry.getKey() + " exceeds total period count by " + (entry.getValue() - numberOfPeriods * 5));
                 stop();
@@ -141,38 +197,72 @@ public class Generator {
         }
     }
 
-    private void generateInitialPopulation() throws IOException {
-        populationStorage = new PopulationStorage(generation);
-        for (GeneticThread gt : geneticThreads) {
-            gt.perform((index, populationPerThread) -> {
-                for (int i = index; i < (index + populationPerThread) && !stopped; i++) {
-                    try {
-                        generateRandomChromosome(i);
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
-                }
-            });
+    /**
+     * Sets the snapshot the population is generated for, starting the worker pool and the evaluators
+     */
+    void setProblemModel(ProblemModel model) {
+        this.model = model;
+
+        this.chromosomeLength = model.getChromosomeLength();
+
+        //start worker pool
+        workerPool = new GeneticWorkerPool(threadCount);
+
+        //one evaluator per thread as evaluators reuse their internal buffers
+        this.fitnessEvaluators = new FitnessEvaluator[threadCount];
+        for (int i = 0; i < threadCount; i++)
+            fitnessEvaluators[i] = new FitnessEvaluator(model);
+        if (DefaultConfig.GENERATOR_INCREMENTAL_FITNESS) {
+            ChromosomeLayout layout = new ChromosomeLayout(model);
+            this.incrementalEvaluators = new IncrementalFitnessEvaluator[threadCount];
+            for (int i = 0; i < threadCount; i++)
+                incrementalEvaluators[i] = new IncrementalFitnessEvaluator(layout, model);
         }
-        waitForAllThreads();
+    }
+
+    private void updateFromIslands() {
+        Generator best = islandModel.getFittestIsland();
+        generation = islandModel.getGeneration();
+        averageFitness = islandModel.getAverageFitness();
+        maxFitness = best.getMaxFitness();
+        maxFitnessIndex = best.maxFitnessIndex;
+    }
+
+    void generateInitialPopulation() throws IOException {
+        populationStorage = new PopulationStorage(populationSize, chromosomeLength);
+        nextPopulationStorage = new PopulationStorage(populationSize, chromosomeLength);
+        populationStorage.setStorageId(generation);
+        if (incrementalEvaluators != null) {
+            int stateLength = incrementalEvaluators[0].getStateLength();
+            fitnessStates = new FitnessStateStorage(populationSize, stateLength);
+            nextFitnessStates = new FitnessStateStorage(populationSize, stateLength);
+        }
+        Arrays.fill(parentIndices, -1);
+        workerPool.perform(0, populationSize, (workerIndex, from, to) -> {
+            for (int i = from; i < to && !stopped; i++) {
+                generateRandomChromosome(i);
+            }
+        });
+        if (DefaultConfig.GENERATOR_DUMP_POPULATION) populationStorage.dump();
+        if (DefaultConfig.GENERATOR_DUMP_POPULATION_BINARY) populationStorage.dumpBinary();
         generation++;
     }
 
     //chromosome format: {day(0-4) period(0-periodCount-1), section(0-sectionCount), teacherIndex, subjectIndex}
     //New chromosome format: {sub1:{sec1{teachInd1,day period1, day period2}},{sec1{teachInd1,day period1, day period2}}}
     //Ex : {13,33,0,4}
-    private void generateRandomChromosome(int index) throws IOException {
-        PrintStream ps = populationStorage.getChromosomeWriter(index);
-
-        ChromosomeAnalyzer ca = new ChromosomeAnalyzer(subjectCodeArray, teacherNameArray, teachersForSubjects);
-
-        for (int i = 0; i < subjectCodeArray.length; i++) {
-            byte sem = (byte) subjectDao.get(subjectCodeArray[i]).getSem();
-            for (byte sec = 1; sec <= scheduleData.getSectionCount(sem); sec++) {
-                SemesterSection semesterSection = new SemesterSection(sem, sec);
-                int lectureCount = subjectDao.get(subjectCodeArray[i]).getLectureCount();
-                boolean practical = subjectDao.get(subjectCodeArray[i]).isPractical();
-                boolean free = subjectDao.get(subjectCodeArray[i]).isFree();
+    void generateRandomChromosome(int index) {
+        ShortBuffer ps = populationStorage.getChromosomeWriter(index);
+
+        ChromosomeAnalyzer ca = new ChromosomeAnalyzer(model);
+
+        for (int i = 0; i < model.getSubjectCount(); i++) {
+            byte sem = model.getSemester(i);
+            int lectureCount = model.getLectureCount(i);
+            boolean practical = model.isPractical(i);
+            boolean free = model.isFree(i);
+            for (byte sec = 1; sec <= model.getSectionCount(i); sec++) {
+                SemesterSection semesterSection = model.getGeometry().semesterSection(sem, sec);
                 if (practical) {
                     if (!free) {
                         //Select distinct random teachers
@@ -180,78 +270,70 @@ public class Generator {
                         short[] teachers = new short[teacherList.size()];
                         for (int ind = 0; ind < teachers.length; ind++) teachers[ind] = teacherList.get(ind);
 
-                        ChromosomeAnalyzer.PracticalTimeRoom ptr = ca.suggestPracticalTimeRoom(semesterSection, teachers, subjectCodeArray[i]);
+                        ChromosomeAnalyzer.PracticalTimeRoom ptr = ca.suggestPracticalTimeRoom(semesterSection, teachers, i);
 
                         DayPeriod dayPeriod = ptr.time;
-                        ps.println(dayPeriod.getCompact());
+                        ps.put(dayPeriod.getCompact());
 
-                        ps.println(indexOfRoom.get(ptr.roomCode));
+                        ps.put(ptr.roomIndex);
 
-                        ca.assignPractical(semesterSection, dayPeriod, teachers, subjectCodeArray[i], ptr.roomCode);
+                        ca.assignPractical(semesterSection, dayPeriod, teachers, i, ptr.roomIndex);
                         for (int k = 0; k < lectureCount; k++) {
-                            ps.println(teachers[k]);
+                            ps.put(teachers[k]);
                         }
                     } else {
-                        DayPeriod dayPeriod = ca.suggestFreePracticalDayPeriod(semesterSection, subjectCodeArray[i]);
-                        ca.assignFreePractical(semesterSection, dayPeriod, subjectCodeArray[i]);
-                        ps.println(dayPeriod.getCompact());
+                        DayPeriod dayPeriod = ca.suggestFreePracticalDayPeriod(semesterSection, i);
+                        ca.assignFreePractical(semesterSection, dayPeriod, i);
+                        ps.put(dayPeriod.getCompact());
                     }
                 } else {
                     if (!free) {
                         short teacher = ca.suggestTheoryTeacher(semesterSection, (short) i);
-                        ps.println(teacher);
+                        ps.put(teacher);
 
-                        ArrayList<DayPeriod> dayPeriods = ca.suggestTheoryDayPeriod(semesterSection, teacher, subjectCodeArray[i]);
+                        ArrayList<DayPeriod> dayPeriods = ca.suggestTheoryDayPeriod(semesterSection, teacher, i);
                         for (DayPeriod dayPeriod : dayPeriods) {
-                            ca.assignTheory(semesterSection, dayPeriod, teacher, subjectCodeArray[i]);
-                            ps.println(dayPeriod.getCompact());
+                            ca.assignTheory(semesterSection, dayPeriod, teacher, i);
+                            ps.put(dayPeriod.getCompact());
                         }
                     } else {
-                        ArrayList<DayPeriod> dayPeriods = ca.suggestFreeTheoryDayPeriod(semesterSection, subjectCodeArray[i]);
+                        ArrayList<DayPeriod> dayPeriods = ca.suggestFreeTheoryDayPeriod(semesterSection, i);
                         for (DayPeriod dayPeriod : dayPeriods) {
-                            ca.assignFreeTheory(semesterSection, dayPeriod, subjectCodeArray[i]);
-                            ps.println(dayPeriod.getCompact());
+                            ca.assignFreeTheory(semesterSection, dayPeriod, i);
+                            ps.put(dayPeriod.getCompact());
                         }
                     }
                 }
             }
         }
-        ps.close();
     }
 
-    private void calculateFitness() throws IOException {
+    void calculateFitness() throws IOException {
         float sum = 0f;
         maxFitness = 0;
-        final Integer[] localMaxFitnessIndex = new Integer[threadCount];
-        final Float[] localSum = new Float[threadCount];
-
-        Arrays.fill(localSum, 0f);
-
-        for (GeneticThread gt : geneticThreads) {
-            gt.perform((index, populationPerThread) -> {
-
-                int threadIndex = index / populationPerThread;
-                localMaxFitnessIndex[threadIndex] = index;
-
-                for (int i = index; i < (index + populationPerThread) && !stopped; i++) {
-                    try {
-                        int[] violationCount = countConstraintViolation(i);
-                        fitness[i] = 1f / (1f + violationCount[0]);
-                        if (fitness[i] >= 1f) fitness[i] += 1f / (1f + violationCount[1]);
-                    } catch (IOException e) {
-                        throw new RuntimeException(e);
-                    }
-                    localSum[threadIndex] += fitness[i];
-                    if (fitness[i] > fitness[localMaxFitnessIndex[threadIndex]]) {
-                        localMaxFitnessIndex[threadIndex] = i;
-                    }
+        //a worker may get no chunk at all, -1 marks it's max index as unset
+        final int[] localMaxFitnessIndex = new int[threadCount];
+        final float[] localSum = new float[threadCount];
+
+        Arrays.fill(localMaxFitnessIndex, -1);
+
+        workerPool.perform(0, populationSize, (threadIndex, from, to) -> {
+            for (int i = from; i < to && !stopped; i++) {
+                try {
+                    fitness[i] = evaluateFitness(i, threadIndex);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
-            });
-        }
-        waitForAllThreads();
+                localSum[threadIndex] += fitness[i];
+                if (localMaxFitnessIndex[threadIndex] == -1 || fitness[i] > fitness[localMaxFitnessIndex[threadIndex]]) {
+                    localMaxFitnessIndex[threadIndex] = i;
+                }
+            }
+        });
+        if (stopped) return;
         for (int i = 0; i < threadCount; i++) {
             sum += localSum[i];
-            if (fitness[localMaxFitnessIndex[i]] > maxFitness) {
+            if (localMaxFitnessIndex[i] != -1 && fitness[localMaxFitnessIndex[i]] > maxFitness) {
                 maxFitnessIndex = localMaxFitnessIndex[i];
                 maxFitness = fitness[maxFitnessIndex];
             }
@@ -260,119 +342,44 @@ public class Generator {
         averageFitness = sum / populationSize;
     }
 
-    private int[] countConstraintViolation(int index) throws IOException {
-        final int[] violationCount = {0, 0}; // { hard violation count, soft violation count }
-
-        HashSet<String> h4 = new HashSet<>();
-
-        HashMap<String, Short> h5 = new HashMap<>();
-
-        HashSet<String> h6 = new HashSet<>();
-
-        HashSet<String> h7 = new HashSet<>();
-
-        HashMap<String, List<short[]>> h89 = new HashMap<>();
-
-        boolean[] h10 = new boolean[teacherNameArray.length];
-
-        Scanner sc = populationStorage.getChromosomeReader(index);
-
-        try (ChromosomeReader chromosomeReader = new ChromosomeReader(sc, teacherNameArray, subjectCodeArray, roomCodesArray)) {
-
-            chromosomeReader.readAll((semester, section, day, period, subjectIndex, teacherIndex, roomCode, lectureIndex) -> {
-                String subject = subjectCodeArray[subjectIndex];
-                Subject sub = subjectDao.get(subject);
-
-                //evaluating h6
-                String key = String.format("%d,%d,%d,%d", day, period, semester, section);
-                if (h6.contains(key)) violationCount[0]++;
-                else h6.add(key);
-
-                //none other constraints required if subject is free
-                if (sub.isFree()) return;
-
-                Teacher teacher = teacherDao.get(teacherNameArray[teacherIndex]);
-
-                //evaluating h2
-                if (!teacher.getFreeTime().contains(Arrays.asList(day, period)) && !teacher.getFreeTime().isEmpty())
-                    violationCount[0]++;
-
-                //evaluating h4
-                if (subjectDao.get(subject).isPractical()) {
-                    key = String.format("%d,%d,%s", day, period, roomCode);
-                    if (h4.contains(key)) violationCount[0]++;
-                    else h4.add(key);
-                }
-
-                //evaluating h5
-                else {
-                    key = String.format("%d,%s", section, subject);
-                    /*if (!h5.containsKey(key)) */
-                    h5.put(key, (short) teacherIndex);
-                    //else if (h5.get(key) != teacherIndex) count++;
-                }
-
-                //evaluating h7
-                key = String.format("%d,%d,%d", teacherIndex, day, period);
-                if (h7.contains(key)) violationCount[0]++;
-                else h7.add(key);
-
-                //processing h8, h9, h12, h13 and s1
-                if (subjectDao.get(subject).isPractical()) {
-                    key = String.format("%d,%s", section, subject);
-                    if (!h89.containsKey(key))
-                        h89.put(key, new ArrayList<>());
-                    h89.get(key).add(new short[]{day, period, (short) teacherIndex});
-                }
-
-                //processing h10
-                h10[teacherIndex] = true;
-            });
-
-        }
-
-        //evaluating h8, h9, h12 and h13
-        for (var entries : h89.entrySet()) {
-            String key = entries.getKey();
-            if (stopped) break;
-            List<short[]> slots = entries.getValue();
-            HashSet<Short> teachers = new HashSet<>();
-            StringBuilder sb = new StringBuilder(key.substring(key.indexOf(",") + 1));
-            sb.setCharAt(sb.length() - 2, '0');
-            boolean hasTheory = SubjectDao.getInstance().containsKey(sb.toString());
-
-            slots.sort(Comparator.comparingInt(a -> a[1]));
-
-            for (short[] slot : slots) teachers.add(slot[2]);
-
-            //evaluating h12
-            if (hasTheory && !teachers.contains(h5.get(key.substring(0, key.indexOf(',')) + "," + sb)))
-                violationCount[0]++;
-
-            //evaluating h9
-            for (Short teacherIndex : teachers) {
-                for (short[] slot : slots) {
-                    if (slot[2] == teacherIndex) continue;
-                    if (h7.contains(String.format("%d,%d,%d", teacherIndex, slot[0], slot[1]))) violationCount[0]++;
-                }
-            }
+    //fitness of a chromosome of the current population using the evaluators of a worker
+    private float evaluateFitness(int index, int workerIndex) throws IOException {
+        int[] violationCount = incrementalEvaluators != null
+                ? countConstraintViolation(index, incrementalEvaluators[workerIndex])
+                : countConstraintViolation(index, fitnessEvaluators[workerIndex]);
+        float fitness = 1f / (1f + violationCount[0]);
+        if (fitness >= 1f) fitness += 1f / (1f + violationCount[1]);
+        return fitness;
+    }
 
-            //evaluating h13
-            violationCount[0] += Math.abs(slots.size() - teachers.size());
+    int[] countConstraintViolation(int index, FitnessEvaluator fitnessEvaluator) throws IOException {
+        fitnessEvaluator.evaluate(populationStorage.getChromosomeReader(index));
+        // { hard violation count, soft violation count }
+        return new int[]{fitnessEvaluator.getHardViolationCount(), fitnessEvaluator.getSoftViolationCount()};
+    }
 
-            //evaluating s1
-            if (slots.get(0)[1] != Util.getPracticalStartingPeriodLocation(key.substring(key.indexOf(',') + 1)))
-                violationCount[1]++;
+    int[] countConstraintViolation(int index, IncrementalFitnessEvaluator fitnessEvaluator) throws IOException {
+        int parentIndex = parentIndices[index];
+        if (parentIndex == -1) {
+            fitnessEvaluator.evaluate(populationStorage.getChromosomeReader(index), fitnessStates, index);
+        } else {
+            fitnessEvaluator.evaluate(populationStorage.getChromosomeReader(index), fitnessStates, index,
+                    nextPopulationStorage.getChromosomeReader(parentIndex), nextFitnessStates, parentIndex);
         }
+        return new int[]{fitnessStates.getHardViolationCount(index), fitnessStates.getSoftViolationCount(index)};
+    }
 
-        //evaluating h10
-        for (boolean b : h10)
-            if (!b) violationCount[0]++;
-
-        return violationCount;
+    /**
+     * Evolves the population by a single generation
+     */
+    void nextGeneration() throws IOException {
+        selectParents();
+        generateNewPopulation();
+        calculateFitness();
+        generation++;
     }
 
-    private void selectParents() {
+    void selectParents() {
         for (int i = 0; i < selectedIndices.length && !stopped; i++) {
             int max = i * tournamentSize;
             for (int j = 1; j < tournamentSize; j++) {
@@ -384,198 +391,217 @@ public class Generator {
             Arrays.sort(selectedIndices, (a, b) -> (fitness[b] - fitness[a]) < 0 ? -1 : (fitness[b] - fitness[a] > 0 ? 1 : 0));
     }
 
-    private void generateNewPopulation() throws IOException {
+    void generateNewPopulation() throws IOException {
+        //swap the population buffers, the previous generation is overwritten by the new one
         PopulationStorage prevPopulationStorage = populationStorage;
-        populationStorage = new PopulationStorage(generation);
+        populationStorage = nextPopulationStorage;
+        nextPopulationStorage = prevPopulationStorage;
+        populationStorage.setStorageId(generation);
+        //the fitness states follow their chromosomes
+        FitnessStateStorage prevFitnessStates = fitnessStates;
+        fitnessStates = nextFitnessStates;
+        nextFitnessStates = prevFitnessStates;
         final int noCrossLength = 2;//Math.round(populationSize * (1 - crossoverRate));
 
         //copy the top individuals of previous generation as non-crossed individuals
         for (int ii = 0; ii < noCrossLength && !stopped; ii++) {
-            PrintStream ps = populationStorage.getChromosomeWriter(ii);
-            Scanner sc = prevPopulationStorage.getChromosomeReader(selectedIndices[ii]);
-            while (sc.hasNextShort()) ps.println(sc.nextShort());
-            ps.close();
-            sc.close();
+            populationStorage.copyChromosome(prevPopulationStorage, selectedIndices[ii], ii);
+            parentIndices[ii] = selectedIndices[ii];
         }
 
-        Random random = new Random();
         //add the crossed individuals from any two selected parents with mutation
-        for (GeneticThread gt : geneticThreads) {
-            gt.perform((index, populationPerThread) -> {
-                for (int ind = noCrossLength + index / populationPerThread; ind < populationSize && !stopped; ind += threadCount) {
-                    //select two random indices to cross
-                    int ind1 = selectedIndices[random.nextInt(selectedIndices.length)];
-                    int ind2 = selectedIndices[random.nextInt(selectedIndices.length)];
-                    Scanner sc1;
-                    Scanner sc2;
-                    PrintStream ps;
-                    try {
-                        sc1 = prevPopulationStorage.getChromosomeReader(ind1);
-                        sc2 = prevPopulationStorage.getChromosomeReader(ind2);
-                        ps = populationStorage.getChromosomeWriter(ind);
-                    } catch (IOException e) {
-                        System.out.println(e);
-                        throw new RuntimeException(e);
-                    }
-                    for (int i = 0; i < subjectCodeArray.length && !stopped; i++) {
-                        Subject sub = subjectDao.get(subjectCodeArray[i]);
-                        byte secCount = scheduleData.getSectionCount(sub.getSem());
-                        boolean practical = sub.isPractical();
-
-                        for (byte sec = 1; sec <= secCount && !stopped; sec++) {
-                            short teacher1;
-                            short teacher2;
-                            short val1;
-                            short val2;
-                            boolean mutate = Math.random() <= mutationRate;
-                            int lectureCount = sub.getLectureCount();
-                            if (practical) {
-                                val1 = sc1.nextShort();
-                                val2 = sc2.nextShort();
-                                if (mutate) {
-                                    byte period = Util.getPracticalStartingPeriodLocation(subjectCodeArray[i]);
-                                    ps.println(DayPeriod.getCompact((byte) random.nextInt(5), period));
-                                } else {
-                                    ps.println(random.nextBoolean() ? val1 : val2);
-                                }
+        workerPool.perform(noCrossLength, populationSize, (workerIndex, from, to) -> {
+            Random random = ThreadLocalRandom.current();
+            for (int ind = from; ind < to && !stopped; ind++) {
+                //select two random indices to cross
+                int ind1 = selectedIndices[random.nextInt(selectedIndices.length)];
+                int ind2 = selectedIndices[random.nextInt(selectedIndices.length)];
+                //the child takes most of it's genes from either parent, diff against the first one
+                parentIndices[ind] = ind1;
+                ShortBuffer parent1 = prevPopulationStorage.getChromosomeReader(ind1);
+                ShortBuffer parent2 = prevPopulationStorage.getChromosomeReader(ind2);
+                ShortBuffer child = populationStorage.getChromosomeWriter(ind);
+                for (int i = 0; i < model.getSubjectCount() && !stopped; i++) {
+                    byte secCount = model.getSectionCount(i);
+                    boolean practical = model.isPractical(i);
+                    boolean free = model.isFree(i);
+                    int lectureCount = model.getLectureCount(i);
+
+                    for (byte sec = 1; sec <= secCount && !stopped; sec++) {
+                        short teacher1;
+                        short teacher2;
+                        short val1;
+                        short val2;
+                        boolean mutate = random.nextFloat() <= mutationRate;
+                        if (practical) {
+                            val1 = parent1.get();
+                            val2 = parent2.get();
+                            if (mutate) {
+                                byte period = model.getPracticalStartingPeriod(i);
+                                child.put((short) (random.nextInt(5) * model.getPeriodCount() + period));
+                            } else {
+                                child.put(random.nextBoolean() ? val1 : val2);
+                            }
 
-                                if (!sub.isFree()) {
-                                    short room1 = sc1.nextShort();
-                                    short room2 = sc2.nextShort();
-                                    if (mutate) {
-                                        ArrayList<String> roomCodes = sub.getRoomCodes();
-                                        String roomCode = roomCodes.get(random.nextInt(roomCodes.size()));
-                                        ps.println(indexOfRoom.get(roomCode));
-                                    } else {
-                                        ps.println(random.nextBoolean() ? room1 : room2);
-                                    }
-                                }
-                            } else if (!sub.isFree()) {
-                                teacher1 = sc1.nextShort();
-                                teacher2 = sc2.nextShort();
+                            if (!free) {
+                                short room1 = parent1.get();
+                                short room2 = parent2.get();
                                 if (mutate) {
-                                    short teacher = teachersForSubjects[i].get(random.nextInt(teachersForSubjects[i].size())).shortValue();
-                                    ps.println(teacher);
+                                    child.put(model.getSubjectRoom(i, random.nextInt(model.getSubjectRoomCount(i))));
                                 } else {
-                                    ps.println(random.nextBoolean() ? teacher1 : teacher2);
+                                    child.put(random.nextBoolean() ? room1 : room2);
                                 }
                             }
+                        } else if (!free) {
+                            teacher1 = parent1.get();
+                            teacher2 = parent2.get();
+                            if (mutate) {
+                                short teacher = (short) model.getTeacherForSubject(i, random.nextInt(model.getTeacherCountForSubject(i)));
+                                child.put(teacher);
+                            } else {
+                                child.put(random.nextBoolean() ? teacher1 : teacher2);
+                            }
+                        }
 
-                            for (int j = 0; j < lectureCount && !stopped; j++) {
-                                if (practical) {
-                                    if (!sub.isFree()) {
-                                        teacher1 = sc1.nextShort();
-                                        teacher2 = sc2.nextShort();
-                                        if (mutate) {
-                                            short teacher = teachersForSubjects[i].get(random.nextInt(teachersForSubjects[i].size())).shortValue();
-                                            ps.println(teacher);
-                                        } else {
-                                            ps.println(random.nextBoolean() ? teacher1 : teacher2);
-                                        }
-                                    }
-                                } else {
-                                    val1 = sc1.nextShort();
-                                    val2 = sc2.nextShort();
+                        for (int j = 0; j < lectureCount && !stopped; j++) {
+                            if (practical) {
+                                if (!free) {
+                                    teacher1 = parent1.get();
+                                    teacher2 = parent2.get();
                                     if (mutate) {
-                                        byte period = getRandomExcluding(scheduleData.getPeriodCount(), scheduleData.getBreakLocations(sub.getSem()), random);
-                                        ps.println(DayPeriod.getCompact((byte) random.nextInt(5), period));
+                                        short teacher = (short) model.getTeacherForSubject(i, random.nextInt(model.getTeacherCountForSubject(i)));
+                                        child.put(teacher);
                                     } else {
-                                        ps.println(random.nextBoolean() ? val1 : val2);
+                                        child.put(random.nextBoolean() ? teacher1 : teacher2);
                                     }
                                 }
-                            }
-                        }
-                    }
-                    sc1.close();
-                    sc2.close();
-                    ps.close();
-                }
-            });
-        }
-        waitForAllThreads();
-        /*for (; index < populationSize && !stopped; index++) {
-            //select two random indices to cross
-            int ind1 = selectedIndices[random.nextInt(selectedIndices.length)];
-            int ind2 = selectedIndices[random.nextInt(selectedIndices.length)];
-            Scanner sc1 = prevPopulationStorage.getChromosomeReader(ind1);
-            Scanner sc2 = prevPopulationStorage.getChromosomeReader(ind2);
-            PrintStream ps = populationStorage.getChromosomeWriter(index);
-            for (int i = 0; i < subjectCodeArray.length && !stopped; i++) {
-                Subject sub = subjectDao.get(subjectCodeArray[i]);
-                byte secCount = scheduleData.getSectionCount(sub.getSem());
-                boolean practical = sub.isPractical();
-
-                for (byte sec = 1; sec <= secCount && !stopped; sec++) {
-                    short teacher1;
-                    short teacher2;
-                    short val1;
-                    short val2;
-                    boolean mutate = Math.random() <= mutationRate;
-                    int lectureCount = sub.getLectureCount();
-                    if (practical) {
-                        val1 = sc1.nextShort();
-                        val2 = sc2.nextShort();
-                        if (mutate) {
-                            short period = getRandomExcludingTrailing(scheduleData.getPeriodCount(), scheduleData.getBreakLocations(sub.getSem()), (short) lectureCount, random);
-                            ps.println((short) (random.nextInt(5) * 10 + period));
-                        } else {
-                            ps.println(random.nextBoolean() ? val1 : val2);
-                        }
-                    } else {
-                        teacher1 = sc1.nextShort();
-                        teacher2 = sc2.nextShort();
-                        if (mutate) {
-                            short teacher = teachersForSubjects[i].get(random.nextInt(teachersForSubjects[i].size())).shortValue();
-                            ps.println(teacher);
-                        } else {
-                            ps.println(random.nextBoolean() ? teacher1 : teacher2);
-                        }
-                    }
-
-                    for (int j = 0; j < lectureCount && !stopped; j++) {
-                        if (practical) {
-                            teacher1 = sc1.nextShort();
-                            teacher2 = sc2.nextShort();
-                            if (mutate) {
-                                short teacher = teachersForSubjects[i].get(random.nextInt(teachersForSubjects[i].size())).shortValue();
-                                ps.println(teacher);
-                            } else {
-                                ps.println(random.nextBoolean() ? teacher1 : teacher2);
-                            }
-                        } else {
-                            val1 = sc1.nextShort();
-                            val2 = sc2.nextShort();
-                            if (mutate) {
-                                short period = getRandomExcluding(scheduleData.getPeriodCount(), scheduleData.getBreakLocations(sub.getSem()), random);
-                                ps.println((short) (random.nextInt(5) * 10 + period));
                             } else {
-                                ps.println(random.nextBoolean() ? val1 : val2);
+                                val1 = parent1.get();
+                                val2 = parent2.get();
+                                if (mutate) {
+                                    byte period = getRandomExcluding(model, i, random);
+                                    child.put((short) (random.nextInt(5) * model.getPeriodCount() + period));
+                                } else {
+                                    child.put(random.nextBoolean() ? val1 : val2);
+                                }
                             }
                         }
                     }
                 }
             }
-            sc1.close();
-            sc2.close();
-            ps.close();
-        }*/
+        });
+        if (DefaultConfig.GENERATOR_DUMP_POPULATION) populationStorage.dump();
+        if (DefaultConfig.GENERATOR_DUMP_POPULATION_BINARY) populationStorage.dumpBinary();
     }
 
-    private byte getRandomExcluding(short upperBound, byte[] exclude, Random rand) {
-        byte random = (byte) rand.nextInt(upperBound - exclude.length);
-        for (byte ex : exclude)
-            if (ex - 1 <= random) random++;
+    //random period of a subject's day which isn't a break
+    private byte getRandomExcluding(ProblemModel model, int subjectIndex, Random rand) {
+        byte random = (byte) rand.nextInt(model.getPeriodCount() - model.getBreakCount(subjectIndex));
+        for (int i = 0; i < model.getBreakCount(subjectIndex); i++)
+            if (model.getBreakLocation(subjectIndex, i) - 1 <= random) random++;
         return random;
     }
 
-    public void waitForAllThreads() {
-        for (int i = 0; i < threadCount; i++) {
-            while (!geneticThreads.get(i).isCompleted()) ;
+    /**
+     * Returns the indices of the fittest chromosomes of the current population, the fittest first
+     */
+    int[] getFittestIndices(int count) {
+        Integer[] order = new Integer[populationSize];
+        for (int i = 0; i < populationSize; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Float.compare(fitness[b], fitness[a]));
+        int[] res = new int[Math.min(count, populationSize)];
+        for (int i = 0; i < res.length; i++) res[i] = order[i];
+        return res;
+    }
+
+    /**
+     * Replaces the least fit chromosomes of the current population and evaluates them,
+     * must not be called while a generation is evolved
+     */
+    void replaceLeastFit(short[][] chromosomes) throws IOException {
+        Integer[] order = new Integer[populationSize];
+        for (int i = 0; i < populationSize; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Float.compare(fitness[a], fitness[b]));
+        for (int i = 0; i < chromosomes.length && i < populationSize; i++) {
+            int index = order[i];
+            populationStorage.getChromosomeWriter(index).put(chromosomes[i]);
+            //the replaced chromosome isn't related to any chromosome of the previous generation
+            parentIndices[index] = -1;
+            fitness[index] = evaluateFitness(index, 0);
+        }
+
+        float sum = 0f;
+        maxFitness = fitness[0];
+        maxFitnessIndex = 0;
+        for (int i = 0; i < populationSize; i++) {
+            sum += fitness[i];
+            if (fitness[i] > maxFitness) {
+                maxFitness = fitness[i];
+                maxFitnessIndex = i;
+            }
         }
+        averageFitness = sum / populationSize;
+    }
+
+    short[] copyGenes(int index) {
+        short[] genes = new short[chromosomeLength];
+        populationStorage.getChromosomeReader(index).get(genes);
+        return genes;
+    }
+
+    ChromosomeReader getBestChromosomeReader() {
+        if (islandModel != null) return islandModel.getFittestIsland().getBestChromosomeReader();
+        return getChromosomeReader(maxFitnessIndex);
+    }
+
+    ChromosomeReader getChromosomeReader(int index) {
+        return new ChromosomeReader(populationStorage.getChromosomeReader(index), model);
+    }
+
+    ShortBuffer getGenes(int index) {
+        return populationStorage.getChromosomeReader(index);
+    }
+
+    FitnessEvaluator getFitnessEvaluator(int workerIndex) {
+        return fitnessEvaluators[workerIndex];
+    }
+
+    IncrementalFitnessEvaluator getIncrementalFitnessEvaluator(int workerIndex) {
+        return incrementalEvaluators[workerIndex];
+    }
+
+    int getChromosomeLength() {
+        return chromosomeLength;
+    }
+
+    ProblemModel getProblemModel() {
+        return model;
+    }
+
+    int getPopulationSize() {
+        return populationSize;
+    }
+
+    int getGeneration() {
+        return generation;
+    }
+
+    float getAverageFitness() {
+        return averageFitness;
+    }
+
+    float getMaxFitness() {
+        return maxFitness;
     }
 
     public void stop() {
         this.stopped = true;
-        for (GeneticThread gt : geneticThreads) gt.interrupt();
+        shutdownWorkers();
+    }
+
+    //stops the worker threads without marking the generation as stopped
+    private void shutdownWorkers() {
+        if (workerPool != null) workerPool.shutdown();
+        if (islandModel != null) islandModel.stop();
     }
 }
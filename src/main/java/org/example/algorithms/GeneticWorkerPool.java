@@ -0,0 +1,94 @@
+package org.example.algorithms;
+
+import org.example.interfaces.GeneticTask;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed pool of worker threads running the phases of the genetic algorithm.<br>
+ * {@link #perform(int, int, GeneticTask)} splits a range of chromosomes into chunks which
+ * the workers claim one after another until the range is exhausted, so any range size
+ * works and a slow worker doesn't hold up the others. The call blocks until every chunk
+ * is processed, idle workers are parked by the executor instead of polling for work.
+ */
+public class GeneticWorkerPool {
+    //number of chunks each worker gets on average, more chunks balance better but cost more claims
+    private static final int CHUNKS_PER_WORKER = 4;
+    private static final AtomicInteger poolNumber = new AtomicInteger(0);
+    private final ExecutorService executor;
+    private final int workerCount;
+
+    public GeneticWorkerPool(int workerCount) {
+        this.workerCount = workerCount;
+        String namePrefix = "genetic-" + poolNumber.incrementAndGet() + "-worker-";
+        AtomicInteger threadNumber = new AtomicInteger(0);
+        this.executor = Executors.newFixedThreadPool(workerCount, r -> {
+            Thread thread = new Thread(r, namePrefix + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the task over the chromosomes in [from, to) and waits for all of them to be processed.
+     * Returns without running the task if the pool is already shut down.
+     *
+     * @throws IOException if any worker failed with an {@link UncheckedIOException}
+     */
+    public void perform(int from, int to, GeneticTask task) throws IOException {
+        if (from >= to) return;
+        final int chunkSize = Math.max(1, (to - from) / (workerCount * CHUNKS_PER_WORKER));
+        final AtomicInteger nextChunk = new AtomicInteger(from);
+        List<Callable<Void>> callables = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            final int workerIndex = i;
+            callables.add(() -> {
+                int start;
+                while ((start = nextChunk.getAndAdd(chunkSize)) < to)
+                    task.run(workerIndex, start, Math.min(start + chunkSize, to));
+                return null;
+            });
+        }
+
+        List<Future<Void>> futures;
+        try {
+            futures = executor.invokeAll(callables);
+        } catch (RejectedExecutionException e) {
+            //pool was shut down by stop()
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (CancellationException | InterruptedException e) {
+                //only happens if the pool was shut down while waiting
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof UncheckedIOException) throw ((UncheckedIOException) cause).getCause();
+                if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                if (cause instanceof Error) throw (Error) cause;
+                throw new IOException(cause);
+            }
+        }
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    /**
+     * Stops the workers, tasks that are running are left to check the generator's stopped flag
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
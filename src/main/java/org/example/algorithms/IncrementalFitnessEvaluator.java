@@ -0,0 +1,321 @@
+package org.example.algorithms;
+
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+
+/**
+ * Counts the same constraint violations as {@link FitnessEvaluator} but keeps a state per chromosome
+ * so a child can be evaluated by updating the state of it's parent with only the genes which differ.<br>
+ * The state of a chromosome holds occupancy counts of every (year, section, day-period),
+ * (teacher, day-period) and (room, day-period) cell, the number of lectures of every teacher and a
+ * demand count per (teacher, day-period): the number of slots of practicals taught by the teacher
+ * where another teacher of the practical teaches. Every cell with a demand which the teacher also
+ * occupies is a violation of h9, so adding or removing a single lecture updates h9 in constant time.<br>
+ * Chromosomes are compared block by block using a {@link ChromosomeLayout}, if too many blocks differ
+ * the state is rebuilt from scratch instead.
+ * An instance is not thread safe, each worker thread should use its own evaluator.
+ */
+public class IncrementalFitnessEvaluator {
+    private final ChromosomeLayout layout;
+    private final ProblemModel model;
+    private final int teacherCount;
+    private final int periodCount;
+    private final int dayPeriodCount;
+    private final int maxSectionCount;
+    private final int maxChangedBlocks;
+
+    //offsets of the parts of a state
+    private final int teacherBase;
+    private final int roomBase;
+    private final int demandBase;
+    private final int usageBase;
+    private final int stateLength;
+
+    //blocks differing from the parent and practical blocks whose h12 has to be reevaluated
+    private final int[] changedBlocks;
+    private final int[] affectedBlocks;
+    private final int[] affectedStamps;
+    private int stamp = 0;
+
+    //state being updated
+    private short[] state;
+    private int base;
+    private int hardViolationCount;
+    private int softViolationCount;
+
+    public IncrementalFitnessEvaluator(ChromosomeLayout layout, ProblemModel model) {
+        this.layout = layout;
+        this.model = model;
+        this.teacherCount = model.getTeacherCount();
+        this.periodCount = layout.getPeriodCount();
+        this.dayPeriodCount = layout.getDayPeriodCount();
+        this.maxSectionCount = layout.getMaxSectionCount();
+        //updating a block costs about twice as much as evaluating it, plus the state copy
+        this.maxChangedBlocks = layout.getBlockCount() / 3;
+
+        teacherBase = layout.getYearCount() * maxSectionCount * dayPeriodCount;
+        roomBase = teacherBase + teacherCount * dayPeriodCount;
+        demandBase = roomBase + model.getRoomCount() * dayPeriodCount;
+        usageBase = demandBase + teacherCount * dayPeriodCount;
+        stateLength = usageBase + teacherCount;
+
+        changedBlocks = new int[layout.getBlockCount()];
+        affectedBlocks = new int[layout.getBlockCount()];
+        affectedStamps = new int[layout.getBlockCount()];
+    }
+
+    /**
+     * Returns the length of a state, used to create a {@link FitnessStateStorage}
+     */
+    public ChromosomeLayout getLayout() {
+        return layout;
+    }
+
+    public int getStateLength() {
+        return stateLength;
+    }
+
+    /**
+     * Builds the state of a chromosome from scratch
+     *
+     * @param genes  a heap buffer positioned at the first gene of the chromosome
+     * @param states the storage to write the state to
+     * @param index  the index of the chromosome in the storage
+     */
+    public void evaluate(ShortBuffer genes, FitnessStateStorage states, int index) {
+        short[] g = genes.array();
+        int offset = genes.arrayOffset() + genes.position();
+
+        states.clearState(index);
+        state = states.states;
+        base = states.getStateOffset(index);
+        //every teacher starts unused, h10
+        hardViolationCount = teacherCount;
+        softViolationCount = 0;
+
+        for (int block = 0; block < layout.getBlockCount(); block++)
+            updateBlock(g, offset, block, 1);
+        for (int block = 0; block < layout.getBlockCount(); block++) {
+            if (!isGroup(block)) continue;
+            updateDemand(g, offset, block, 1);
+            updateGroupViolations(g, offset, block, 1);
+        }
+
+        states.hardViolationCounts[index] = hardViolationCount;
+        states.softViolationCounts[index] = softViolationCount;
+    }
+
+    /**
+     * Builds the state of a chromosome from the state of a parent, only the blocks of genes
+     * which differ from the parent are reevaluated
+     *
+     * @param genes        a heap buffer positioned at the first gene of the chromosome
+     * @param states       the storage to write the state to
+     * @param index        the index of the chromosome in the storage
+     * @param parentGenes  a heap buffer positioned at the first gene of the parent
+     * @param parentStates the storage holding the state of the parent
+     * @param parentIndex  the index of the parent in it's storage
+     */
+    public void evaluate(ShortBuffer genes, FitnessStateStorage states, int index,
+                         ShortBuffer parentGenes, FitnessStateStorage parentStates, int parentIndex) {
+        short[] g = genes.array();
+        int offset = genes.arrayOffset() + genes.position();
+        short[] pg = parentGenes.array();
+        int parentOffset = parentGenes.arrayOffset() + parentGenes.position();
+
+        int changedCount = 0;
+        for (int block = 0; block < layout.getBlockCount(); block++) {
+            int from = layout.getBlockOffset(block);
+            int to = from + layout.getBlockLength(block);
+            if (!Arrays.equals(g, offset + from, offset + to, pg, parentOffset + from, parentOffset + to)) {
+                if (changedCount == maxChangedBlocks) {
+                    evaluate(genes, states, index);
+                    return;
+                }
+                changedBlocks[changedCount++] = block;
+            }
+        }
+
+        states.copyState(parentStates, parentIndex, index);
+        if (changedCount == 0) return;
+        state = states.states;
+        base = states.getStateOffset(index);
+        hardViolationCount = states.hardViolationCounts[index];
+        softViolationCount = states.softViolationCounts[index];
+
+        //practical blocks whose group violations may change, either changed themselves or their theory teacher did
+        nextStamp();
+        int affectedCount = 0;
+        for (int i = 0; i < changedCount; i++) {
+            int block = changedBlocks[i];
+            if (isGroup(block) && affectedStamps[block] != stamp) {
+                affectedStamps[block] = stamp;
+                affectedBlocks[affectedCount++] = block;
+            }
+            for (int dependent : layout.getDependentPracticalBlocks(block)) {
+                if (affectedStamps[dependent] != stamp) {
+                    affectedStamps[dependent] = stamp;
+                    affectedBlocks[affectedCount++] = dependent;
+                }
+            }
+        }
+
+        for (int i = 0; i < affectedCount; i++)
+            updateGroupViolations(pg, parentOffset, affectedBlocks[i], -1);
+        for (int i = 0; i < changedCount; i++) {
+            int block = changedBlocks[i];
+            if (isGroup(block)) updateDemand(pg, parentOffset, block, -1);
+            updateBlock(pg, parentOffset, block, -1);
+        }
+        for (int i = 0; i < changedCount; i++) {
+            int block = changedBlocks[i];
+            updateBlock(g, offset, block, 1);
+            if (isGroup(block)) updateDemand(g, offset, block, 1);
+        }
+        for (int i = 0; i < affectedCount; i++)
+            updateGroupViolations(g, offset, affectedBlocks[i], 1);
+
+        states.hardViolationCounts[index] = hardViolationCount;
+        states.softViolationCounts[index] = softViolationCount;
+    }
+
+    //a non-free practical block with lectures, evaluated for h9, h12, h13 and s1
+    private boolean isGroup(int block) {
+        int subject = layout.getBlockSubject(block);
+        return layout.isPractical(subject) && !layout.isFree(subject) && layout.getLectureCount(subject) > 0;
+    }
+
+    /**
+     * Adds (sign = 1) or removes (sign = -1) every lecture of a block to the state
+     */
+    private void updateBlock(short[] g, int offset, int block, int sign) {
+        int subject = layout.getBlockSubject(block);
+        int lectureCount = layout.getLectureCount(subject);
+        int sectionRow = base + (layout.getBlockYear(block) * maxSectionCount + layout.getBlockSection(block)) * dayPeriodCount;
+        int gene = offset + layout.getBlockOffset(block);
+
+        if (layout.isPractical(subject)) {
+            int start = g[gene];
+            if (layout.isFree(subject)) {
+                for (int l = 0; l < lectureCount; l++) updateCell(sectionRow + start + l, sign);
+                return;
+            }
+            int roomRow = base + roomBase + g[gene + 1] * dayPeriodCount;
+            for (int l = 0; l < lectureCount; l++) {
+                updateCell(sectionRow + start + l, sign);
+                updateCell(roomRow + start + l, sign);
+                updateTeacher(g[gene + 2 + l], start + l, sign);
+            }
+        } else {
+            if (layout.isFree(subject)) {
+                for (int l = 0; l < lectureCount; l++) updateCell(sectionRow + g[gene + l], sign);
+                return;
+            }
+            int teacher = g[gene];
+            for (int l = 0; l < lectureCount; l++) {
+                updateCell(sectionRow + g[gene + 1 + l], sign);
+                updateTeacher(teacher, g[gene + 1 + l], sign);
+            }
+        }
+    }
+
+    //evaluating h4 and h6, every lecture beyond the first in a cell is a violation
+    private void updateCell(int cell, int sign) {
+        if (sign > 0) {
+            if (++state[cell] >= 2) hardViolationCount++;
+        } else {
+            if (state[cell]-- >= 2) hardViolationCount--;
+        }
+    }
+
+    private void updateTeacher(int teacher, int dayPeriod, int sign) {
+        int cell = base + teacherBase + teacher * dayPeriodCount + dayPeriod;
+        int demand = state[base + demandBase + teacher * dayPeriodCount + dayPeriod];
+        int usage = base + usageBase + teacher;
+        boolean unavailable = !model.isTeacherAvailable(teacher, dayPeriod);
+        if (sign > 0) {
+            //evaluating h7 and h9
+            int count = ++state[cell];
+            if (count >= 2) hardViolationCount++;
+            else hardViolationCount += demand;
+            //evaluating h2 and h10
+            if (unavailable) hardViolationCount++;
+            if (state[usage]++ == 0) hardViolationCount--;
+        } else {
+            int count = state[cell]--;
+            if (count >= 2) hardViolationCount--;
+            else hardViolationCount -= demand;
+            if (unavailable) hardViolationCount--;
+            if (--state[usage] == 0) hardViolationCount++;
+        }
+    }
+
+    /**
+     * Adds or removes the demand of a practical block, evaluating h9
+     */
+    private void updateDemand(short[] g, int offset, int block, int sign) {
+        int lectureCount = layout.getLectureCount(layout.getBlockSubject(block));
+        int gene = offset + layout.getBlockOffset(block);
+        int start = g[gene];
+        for (int i = 0; i < lectureCount; i++) {
+            int teacher = g[gene + 2 + i];
+            if (isRepeated(g, gene + 2, i)) continue;
+            for (int l = 0; l < lectureCount; l++) {
+                if (g[gene + 2 + l] == teacher) continue;
+                int cell = teacher * dayPeriodCount + start + l;
+                state[base + demandBase + cell] += sign;
+                if (state[base + teacherBase + cell] > 0) hardViolationCount += sign;
+            }
+        }
+    }
+
+    /**
+     * Adds or removes the violations of h12, h13 and s1 of a practical block
+     */
+    private void updateGroupViolations(short[] g, int offset, int block, int sign) {
+        int subject = layout.getBlockSubject(block);
+        int lectureCount = layout.getLectureCount(subject);
+        int gene = offset + layout.getBlockOffset(block);
+        int start = g[gene];
+
+        int distinctTeachers = 0;
+        int minPeriod = Integer.MAX_VALUE;
+        for (int l = 0; l < lectureCount; l++) {
+            if (!isRepeated(g, gene + 2, l)) distinctTeachers++;
+            minPeriod = Math.min(minPeriod, (start + l) % periodCount);
+        }
+
+        //evaluating h12
+        if (layout.hasTheory(block)) {
+            boolean theoryTeacherPresent = false;
+            int theoryBlock = layout.getTheoryBlock(block);
+            if (theoryBlock != -1) {
+                short theoryTeacher = g[offset + layout.getBlockOffset(theoryBlock)];
+                for (int l = 0; l < lectureCount && !theoryTeacherPresent; l++)
+                    theoryTeacherPresent = g[gene + 2 + l] == theoryTeacher;
+            }
+            if (!theoryTeacherPresent) hardViolationCount += sign;
+        }
+
+        //evaluating h13
+        hardViolationCount += sign * (lectureCount - distinctTeachers);
+
+        //evaluating s1
+        if (minPeriod != layout.getPracticalStartingPeriod(subject)) softViolationCount += sign;
+    }
+
+    //whether the teacher at teachers + i also appears before it
+    private static boolean isRepeated(short[] g, int teachers, int i) {
+        for (int j = 0; j < i; j++)
+            if (g[teachers + j] == g[teachers + i]) return true;
+        return false;
+    }
+
+    private void nextStamp() {
+        stamp++;
+        if (stamp == Integer.MAX_VALUE) {
+            stamp = 1;
+            Arrays.fill(affectedStamps, 0);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package org.example.algorithms;
+
+import org.example.interfaces.OnResultListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Evolves several independent populations (islands) of a {@link ProblemModel} in parallel.<br>
+ * Every island is a {@link Generator} with it's own population and worker threads, the islands
+ * evolve on their own for a number of generations and then the fittest chromosomes of every island
+ * migrate to the next island in a ring, replacing it's least fit chromosomes. Islands drift towards
+ * different solutions between migrations, so a stagnant island can pick up the progress of another one.
+ * As soon as an island finds a chromosome satisfying every hard constraint the other islands stop.
+ */
+class IslandModel {
+    private final Generator[] islands;
+    //runs the islands, one worker per island
+    private final GeneticWorkerPool islandPool;
+    private volatile boolean solved = false;
+    private volatile boolean stopped = false;
+
+    /**
+     * @param threadCount number of worker threads shared by the islands, every island gets at least one
+     */
+    IslandModel(ProblemModel model, int islandCount, int populationSize, int threadCount, OnResultListener onResultListener) {
+        int islandThreadCount = Math.max(1, threadCount / islandCount);
+        islands = new Generator[islandCount];
+        for (int i = 0; i < islandCount; i++) {
+            islands[i] = new Generator(onResultListener, islandThreadCount, 1, populationSize);
+            islands[i].setProblemModel(model);
+        }
+        islandPool = new GeneticWorkerPool(islandCount);
+    }
+
+    /**
+     * Generates and evaluates the initial population of every island
+     */
+    void generateInitialPopulation() throws IOException {
+        perform(island -> {
+            island.generateInitialPopulation();
+            island.calculateFitness();
+        });
+    }
+
+    /**
+     * Evolves every island by the given number of generations, or until an island is solved
+     */
+    void evolve(int generations) throws IOException {
+        perform(island -> {
+            for (int i = 0; i < generations && !solved && !stopped; i++) {
+                island.nextGeneration();
+                if (island.getMaxFitness() >= 1) solved = true;
+            }
+        });
+    }
+
+    /**
+     * Sends copies of the fittest chromosomes of every island to the next island
+     */
+    void migrate(int migrationSize) throws IOException {
+        if (islands.length < 2 || migrationSize < 1) return;
+        //collect every emigrant before any island is changed
+        short[][][] emigrants = new short[islands.length][][];
+        for (int i = 0; i < islands.length; i++) {
+            int[] fittest = islands[i].getFittestIndices(migrationSize);
+            emigrants[i] = new short[fittest.length][];
+            for (int j = 0; j < fittest.length; j++)
+                emigrants[i][j] = islands[i].copyGenes(fittest[j]);
+        }
+        for (int i = 0; i < islands.length && !stopped; i++)
+            islands[(i + 1) % islands.length].replaceLeastFit(emigrants[i]);
+    }
+
+    Generator getFittestIsland() {
+        Generator fittest = islands[0];
+        for (Generator island : islands)
+            if (island.getMaxFitness() > fittest.getMaxFitness()) fittest = island;
+        return fittest;
+    }
+
+    /**
+     * Returns the number of generations of the island that evolved the most
+     */
+    int getGeneration() {
+        int generation = 0;
+        for (Generator island : islands) generation = Math.max(generation, island.getGeneration());
+        return generation;
+    }
+
+    /**
+     * Returns the average fitness of all islands, every island has the same population size
+     */
+    float getAverageFitness() {
+        float sum = 0f;
+        for (Generator island : islands) sum += island.getAverageFitness();
+        return sum / islands.length;
+    }
+
+    int getIslandCount() {
+        return islands.length;
+    }
+
+    Generator getIsland(int index) {
+        return islands[index];
+    }
+
+    void stop() {
+        stopped = true;
+        for (Generator island : islands) island.stop();
+        islandPool.shutdown();
+    }
+
+    private void perform(IslandTask task) throws IOException {
+        islandPool.perform(0, islands.length, (workerIndex, from, to) -> {
+            for (int i = from; i < to && !stopped; i++) {
+                try {
+                    task.run(islands[i]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+
+    private interface IslandTask {
+        void run(Generator island) throws IOException;
+    }
+}
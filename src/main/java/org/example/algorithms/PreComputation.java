@@ -4,10 +4,7 @@ import org.example.dao.SubjectDao;
 import org.example.dao.TeacherDao;
 import org.example.pojo.Subject;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.*;
 
 public class PreComputation {
     private String[] subjectCodeArray;
@@ -15,6 +12,7 @@ public class PreComputation {
     private ArrayList<Integer>[] teachersForSubjects;
     private String[] roomCodes;
     private  HashMap<String, Short> indexOfRoom;
+    private ProblemModel problemModel;
     SubjectDao subjectDao = SubjectDao.getInstance();
     TeacherDao teacherDao = TeacherDao.getInstance();
 
@@ -93,6 +91,9 @@ public class PreComputation {
             for (String code : teacherDao.get(teacherNameArray[i]).getSubjects())
                 if (subjectDao.containsKey(code))
                     teachersForSubjects[indexOfSubject.get(code)].add(i);
+
+        //Snapshot of the data the generation runs against
+        this.problemModel = new ProblemModel(subjectCodeArray, teacherNameArray, roomCodes, teachersForSubjects);
     }
 
     public ArrayList<Integer>[] getTeachersForSubjects() {
@@ -114,4 +115,11 @@ public class PreComputation {
     public HashMap<String, Short> getIndexOfRoom() {
         return indexOfRoom;
     }
-}
+
+    /**
+     * Returns the snapshot of the data computed by the last call of {@link #compute()}
+     */
+    public ProblemModel getProblemModel() {
+        return problemModel;
+    }
+}
\ No newline at end of file
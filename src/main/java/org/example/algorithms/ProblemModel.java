@@ -0,0 +1,336 @@
+package org.example.algorithms;
+
+import org.example.dao.SubjectDao;
+import org.example.dao.TeacherDao;
+import org.example.pojo.ScheduleStructure;
+import org.example.pojo.Subject;
+import org.example.pojo.Teacher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Index based snapshot of the subjects, teachers and schedule structure a generation runs against.<br>
+ * Subjects, teachers and rooms are referred to by their index in the arrays computed by {@link PreComputation}.
+ * The model is created while holding the read lock of {@link org.example.dao.DataLock} and never reads the daos
+ * afterwards, so the data can be edited while a generation runs. A model is immutable and can be shared between threads.
+ */
+public final class ProblemModel {
+    private final String[] subjectCodes;
+    private final String[] teacherNames;
+    private final String[] roomCodes;
+    private final HashMap<String, Short> indexOfRoom;
+    private final HashMap<String, Integer> indexOfSubject;
+
+    //structure data
+    private final StructureGeometry geometry;
+    private final int yearCount;
+
+    //per subject data
+    private final byte[] semester;
+    private final byte[] sectionCount;
+    private final int[] lectureCount;
+    private final boolean[] practical;
+    private final boolean[] free;
+    private final short[][] subjectRooms;//allowed rooms in the order of the subject's room codes
+    private final String[] firstRoomCode;
+    private final byte[][] breakLocations;
+    private final byte[] practicalStartingPeriod;
+    private final byte[][] practicalPeriodLocations;//latest location first
+    //theory of a practical, the subject with the second last character replaced by 0, -1 if there is none
+    private final int[] theoryIndex;
+    //theory of a practical and practical of a theory as found by SubjectDao, -1 if there is none
+    private final int[] theoryOfPractical;
+    private final int[] practicalOfTheory;
+
+    //teacher-subject eligibility
+    private final int[][] teachersForSubject;
+    private final long[] subjectTeachers;//bitset of teacherWords longs per subject
+    private final int teacherWords;
+
+    //teacher availability, bitset of dayPeriodWords longs per teacher over the compact day-periods
+    private final long[] teacherAvailability;
+
+    ProblemModel(String[] subjectCodes, String[] teacherNames, String[] roomCodes, ArrayList<Integer>[] teachersForSubjects) {
+        SubjectDao subjectDao = SubjectDao.getInstance();
+        TeacherDao teacherDao = TeacherDao.getInstance();
+        ScheduleStructure scheduleStructure = ScheduleStructure.getInstance();
+
+        this.subjectCodes = subjectCodes.clone();
+        this.teacherNames = teacherNames.clone();
+        this.roomCodes = roomCodes.clone();
+        indexOfRoom = new HashMap<>();
+        for (short i = 0; i < roomCodes.length; i++)
+            indexOfRoom.put(roomCodes[i], i);
+        indexOfSubject = new HashMap<>();
+        for (int i = 0; i < subjectCodes.length; i++)
+            indexOfSubject.put(subjectCodes[i], i);
+
+        geometry = StructureGeometry.get();
+        yearCount = scheduleStructure.getSemesterCount();
+        int periodCount = geometry.periodCount;
+
+        int subjectCount = subjectCodes.length;
+        semester = new byte[subjectCount];
+        sectionCount = new byte[subjectCount];
+        lectureCount = new int[subjectCount];
+        practical = new boolean[subjectCount];
+        free = new boolean[subjectCount];
+        subjectRooms = new short[subjectCount][];
+        firstRoomCode = new String[subjectCount];
+        breakLocations = new byte[subjectCount][];
+        practicalStartingPeriod = new byte[subjectCount];
+        practicalPeriodLocations = new byte[subjectCount][];
+        theoryIndex = new int[subjectCount];
+        theoryOfPractical = new int[subjectCount];
+        practicalOfTheory = new int[subjectCount];
+        for (int i = 0; i < subjectCount; i++) {
+            Subject subject = subjectDao.get(subjectCodes[i]);
+            semester[i] = (byte) subject.getSem();
+            sectionCount[i] = scheduleStructure.getSectionCount(subject.getSem());
+            lectureCount[i] = subject.getLectureCount();
+            practical[i] = subject.isPractical();
+            free[i] = subject.isFree();
+            ArrayList<String> subjectRoomCodes = subject.getRoomCodes();
+            subjectRooms[i] = new short[subjectRoomCodes.size()];
+            for (int j = 0; j < subjectRoomCodes.size(); j++)
+                subjectRooms[i][j] = indexOfRoom.get(subjectRoomCodes.get(j));
+            firstRoomCode[i] = subjectRoomCodes.isEmpty() ? null : subjectRoomCodes.get(0);
+            breakLocations[i] = scheduleStructure.getBreakLocations(subject.getSem()).clone();
+            practicalStartingPeriod[i] = Util.getPracticalStartingPeriodLocation(periodCount, breakLocations[i], lectureCount[i]);
+            ArrayList<Byte> locations = Util.getAllPracticalPeriodLocations(periodCount, breakLocations[i], lectureCount[i]);
+            practicalPeriodLocations[i] = new byte[locations.size()];
+            for (int j = 0; j < locations.size(); j++)
+                practicalPeriodLocations[i][j] = locations.get(j);
+
+            StringBuilder sb = new StringBuilder(subjectCodes[i]);
+            sb.setCharAt(sb.length() - 2, '0');
+            theoryIndex[i] = practical[i] ? indexOfSubject.getOrDefault(sb.toString(), -1) : -1;
+            String theory = subjectDao.getTheoryOfPractical(subjectCodes[i]);
+            theoryOfPractical[i] = theory == null ? -1 : indexOfSubject.getOrDefault(theory, -1);
+            String practicalCode = subjectDao.getPracticalOfTheory(subjectCodes[i]);
+            practicalOfTheory[i] = practicalCode == null ? -1 : indexOfSubject.getOrDefault(practicalCode, -1);
+        }
+
+        teacherWords = (teacherNames.length + 63) >>> 6;
+        teachersForSubject = new int[subjectCount][];
+        subjectTeachers = new long[subjectCount * teacherWords];
+        for (int i = 0; i < subjectCount; i++) {
+            teachersForSubject[i] = new int[teachersForSubjects[i].size()];
+            for (int j = 0; j < teachersForSubject[i].length; j++) {
+                int teacher = teachersForSubjects[i].get(j);
+                teachersForSubject[i][j] = teacher;
+                subjectTeachers[i * teacherWords + (teacher >>> 6)] |= 1L << teacher;
+            }
+        }
+
+        //a teacher without free time is always available
+        int dayPeriodWords = geometry.dayPeriodWords;
+        teacherAvailability = new long[teacherNames.length * dayPeriodWords];
+        for (int i = 0; i < teacherNames.length; i++) {
+            Teacher teacher = teacherDao.get(teacherNames[i]);
+            if (teacher.getFreeTime().isEmpty()) {
+                for (int dayPeriod = 0; dayPeriod < geometry.dayPeriodCount; dayPeriod++)
+                    teacherAvailability[i * dayPeriodWords + (dayPeriod >>> 6)] |= 1L << dayPeriod;
+                continue;
+            }
+            for (List<Integer> freeDayPeriod : teacher.getFreeTime()) {
+                int day = freeDayPeriod.get(0);
+                int period = freeDayPeriod.get(1);
+                if (day < 0 || day >= 5 || period < 0 || period >= periodCount) continue;
+                int dayPeriod = day * periodCount + period;
+                teacherAvailability[i * dayPeriodWords + (dayPeriod >>> 6)] |= 1L << dayPeriod;
+            }
+        }
+    }
+
+    public int getSubjectCount() {
+        return subjectCodes.length;
+    }
+
+    public int getTeacherCount() {
+        return teacherNames.length;
+    }
+
+    public int getRoomCount() {
+        return roomCodes.length;
+    }
+
+    public String getSubjectCode(int subjectIndex) {
+        return subjectCodes[subjectIndex];
+    }
+
+    public String getTeacherName(int teacherIndex) {
+        return teacherNames[teacherIndex];
+    }
+
+    public String getRoomCode(int roomIndex) {
+        return roomCodes[roomIndex];
+    }
+
+    public String[] getSubjectCodes() {
+        return subjectCodes.clone();
+    }
+
+    public String[] getTeacherNames() {
+        return teacherNames.clone();
+    }
+
+    public String[] getRoomCodes() {
+        return roomCodes.clone();
+    }
+
+    public short getRoomIndex(String roomCode) {
+        return indexOfRoom.get(roomCode);
+    }
+
+    public StructureGeometry getGeometry() {
+        return geometry;
+    }
+
+    public int getPeriodCount() {
+        return geometry.periodCount;
+    }
+
+    public int getDayPeriodCount() {
+        return geometry.dayPeriodCount;
+    }
+
+    public int getMaxSectionCount() {
+        return geometry.maxSectionCount;
+    }
+
+    public int getYearCount() {
+        return yearCount;
+    }
+
+    public byte getSemester(int subjectIndex) {
+        return semester[subjectIndex];
+    }
+
+    /**
+     * Returns the index of the year of a subject's semester, starting from 0
+     */
+    public byte getYear(int subjectIndex) {
+        int sem = semester[subjectIndex];
+        return (byte) ((sem % 2 == 0 ? sem / 2 : (sem + 1) / 2) - 1);
+    }
+
+    public byte getSectionCount(int subjectIndex) {
+        return sectionCount[subjectIndex];
+    }
+
+    public int getLectureCount(int subjectIndex) {
+        return lectureCount[subjectIndex];
+    }
+
+    public boolean isPractical(int subjectIndex) {
+        return practical[subjectIndex];
+    }
+
+    public boolean isFree(int subjectIndex) {
+        return free[subjectIndex];
+    }
+
+    public int getSubjectRoomCount(int subjectIndex) {
+        return subjectRooms[subjectIndex].length;
+    }
+
+    public short getSubjectRoom(int subjectIndex, int n) {
+        return subjectRooms[subjectIndex][n];
+    }
+
+    /**
+     * Returns the first room code of a subject, the room of theory and free subjects
+     */
+    public String getFirstRoomCode(int subjectIndex) {
+        return firstRoomCode[subjectIndex];
+    }
+
+    public int getBreakCount(int subjectIndex) {
+        return breakLocations[subjectIndex].length;
+    }
+
+    public byte getBreakLocation(int subjectIndex, int n) {
+        return breakLocations[subjectIndex][n];
+    }
+
+    public byte getPracticalStartingPeriod(int subjectIndex) {
+        return practicalStartingPeriod[subjectIndex];
+    }
+
+    public int getPracticalPeriodLocationCount(int subjectIndex) {
+        return practicalPeriodLocations[subjectIndex].length;
+    }
+
+    /**
+     * Returns the n-th possible starting period of a practical, the latest one first
+     */
+    public byte getPracticalPeriodLocation(int subjectIndex, int n) {
+        return practicalPeriodLocations[subjectIndex][n];
+    }
+
+    /**
+     * Returns the theory of a practical whose teacher has to teach the practical, -1 if there is none
+     */
+    public int getTheoryIndex(int subjectIndex) {
+        return theoryIndex[subjectIndex];
+    }
+
+    /**
+     * Same as {@link SubjectDao#getTheoryOfPractical(String)}, -1 if there is none
+     */
+    public int getTheoryOfPractical(int subjectIndex) {
+        return theoryOfPractical[subjectIndex];
+    }
+
+    /**
+     * Same as {@link SubjectDao#getPracticalOfTheory(String)}, -1 if there is none
+     */
+    public int getPracticalOfTheory(int subjectIndex) {
+        return practicalOfTheory[subjectIndex];
+    }
+
+    public int getTeacherCountForSubject(int subjectIndex) {
+        return teachersForSubject[subjectIndex].length;
+    }
+
+    public int getTeacherForSubject(int subjectIndex, int n) {
+        return teachersForSubject[subjectIndex][n];
+    }
+
+    public boolean teaches(int teacherIndex, int subjectIndex) {
+        return (subjectTeachers[subjectIndex * teacherWords + (teacherIndex >>> 6)] & (1L << teacherIndex)) != 0;
+    }
+
+    public boolean isTeacherAvailable(int teacherIndex, int dayPeriod) {
+        return (teacherAvailability[teacherIndex * geometry.dayPeriodWords + (dayPeriod >>> 6)] & (1L << dayPeriod)) != 0;
+    }
+
+    /**
+     * Returns the number of genes of a section of a subject
+     */
+    public int getSectionLength(int subjectIndex) {
+        if (practical[subjectIndex]) return free[subjectIndex] ? 1 : 2 + lectureCount[subjectIndex];
+        return free[subjectIndex] ? lectureCount[subjectIndex] : 1 + lectureCount[subjectIndex];
+    }
+
+    /**
+     * Returns the number of genes in a chromosome of this model
+     */
+    public int getChromosomeLength() {
+        int length = 0;
+        for (int i = 0; i < subjectCodes.length; i++)
+            length += getSectionLength(i) * sectionCount[i];
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return "ProblemModel{subjects=" + Arrays.toString(subjectCodes) +
+                ", teachers=" + Arrays.toString(teacherNames) +
+                ", rooms=" + Arrays.toString(roomCodes) + "}";
+    }
+}
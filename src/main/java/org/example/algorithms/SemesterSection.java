@@ -1,20 +1,25 @@
 package org.example.algorithms;
 
+/**
+ * A section of a semester, the canonical instances of the current structure
+ * are returned by {@link #of(byte, byte)}
+ */
 public class SemesterSection {
     public final byte semester;
     public final byte section;
-    private final int hashCode;
 
     public SemesterSection(byte semester, byte section) {
         this.semester = semester;
         this. section = section;
-        this.hashCode = toString().hashCode();
     }
     public SemesterSection(String str) {
         int ind = str.indexOf(',');
         this.semester = Byte.parseByte(str.substring(0,ind));
         this.section = Byte.parseByte(str.substring(ind+1));
-        this.hashCode = toString().hashCode();
+    }
+
+    public static SemesterSection of(byte semester, byte section) {
+        return StructureGeometry.get().semesterSection(semester, section);
     }
 
     public String toString() {
@@ -35,6 +40,6 @@ public class SemesterSection {
 
     @Override
     public int hashCode() {
-        return this.hashCode;
+        return semester * 31 + section;
     }
 }
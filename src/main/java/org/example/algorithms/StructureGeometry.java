@@ -0,0 +1,117 @@
+package org.example.algorithms;
+
+import org.example.pojo.ScheduleStructure;
+
+/**
+ * Immutable snapshot of the {@link ScheduleStructure} used by the hot paths of the generator.<br>
+ * Holds the period count, one canonical {@link DayPeriod} per compact day-period, one canonical
+ * {@link SemesterSection} per section and the breaks of every semester as bitsets over the compact
+ * day-periods. The snapshot is rebuilt by {@link #get()} whenever the structure changed.
+ */
+public final class StructureGeometry {
+    private static volatile StructureGeometry current = null;
+
+    private final ScheduleStructure structure;
+    private final int version;
+
+    public final int periodCount;
+    public final int dayPeriodCount;
+    //longs per day-period bitset
+    public final int dayPeriodWords;
+    //semesters are numbered from 1, two semesters share the sections and breaks of a year
+    public final int semesterCount;
+    public final int maxSectionCount;
+
+    private final DayPeriod[] dayPeriods;//key = compact day-period
+    private final SemesterSection[][] semesterSections;//key = [semester][section]
+    private final long[] breakMasks;//row = semester - 1
+
+    private StructureGeometry(ScheduleStructure structure) {
+        this.structure = structure;
+        this.version = structure.getVersion();
+        periodCount = structure.getPeriodCount();
+        dayPeriodCount = periodCount * 5;
+        dayPeriodWords = (dayPeriodCount + 63) >>> 6;
+        semesterCount = structure.getSemesterCount() * 2;
+        int maxSections = 0;
+        for (byte sectionCount : structure.getSectionsPerSemester())
+            maxSections = Math.max(maxSections, sectionCount);
+        maxSectionCount = maxSections;
+
+        dayPeriods = new DayPeriod[dayPeriodCount];
+        for (int day = 0; day < 5; day++)
+            for (int period = 0; period < periodCount; period++)
+                dayPeriods[day * periodCount + period] = new DayPeriod((byte) day, (byte) period, (short) (day * periodCount + period));
+
+        semesterSections = new SemesterSection[semesterCount + 1][];
+        breakMasks = new long[semesterCount * dayPeriodWords];
+        semesterSections[0] = new SemesterSection[0];
+        for (int sem = 1; sem <= semesterCount; sem++) {
+            int sectionCount = structure.getSectionCount(sem);
+            semesterSections[sem] = new SemesterSection[sectionCount + 1];
+            for (int sec = 1; sec <= sectionCount; sec++)
+                semesterSections[sem][sec] = new SemesterSection((byte) sem, (byte) sec);
+
+            //a break at n blocks the period before it
+            for (byte brk : structure.getBreakLocations(sem)) {
+                if (brk < 1 || brk > periodCount) continue;
+                for (int day = 0; day < 5; day++) {
+                    int dayPeriod = day * periodCount + brk - 1;
+                    breakMasks[(sem - 1) * dayPeriodWords + (dayPeriod >>> 6)] |= 1L << dayPeriod;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the snapshot of the current schedule structure, building it if the structure changed
+     */
+    public static StructureGeometry get() {
+        ScheduleStructure structure = ScheduleStructure.getInstance();
+        StructureGeometry geometry = current;
+        if (geometry == null || geometry.structure != structure || geometry.version != structure.getVersion()) {
+            geometry = new StructureGeometry(structure);
+            current = geometry;
+        }
+        return geometry;
+    }
+
+    /**
+     * Returns the canonical instance of a compact day-period, a new instance if it's outside of the week
+     */
+    public DayPeriod dayPeriod(int compact) {
+        if (compact >= 0 && compact < dayPeriodCount) return dayPeriods[compact];
+        return new DayPeriod((byte) (compact / periodCount), (byte) (compact % periodCount), (short) compact);
+    }
+
+    /**
+     * Returns the canonical instance of a day-period, a new instance if the period is outside of the day
+     */
+    public DayPeriod dayPeriod(byte day, byte period) {
+        if (day >= 0 && day < 5 && period >= 0 && period < periodCount) return dayPeriods[day * periodCount + period];
+        return new DayPeriod(day, period, (short) (day * periodCount + period));
+    }
+
+    /**
+     * Returns the canonical instance of a section, a new instance if the section doesn't exist
+     */
+    public SemesterSection semesterSection(byte semester, byte section) {
+        if (semester >= 1 && semester <= semesterCount && section >= 1 && section < semesterSections[semester].length)
+            return semesterSections[semester][section];
+        return new SemesterSection(semester, section);
+    }
+
+    public int getSectionCount(int semester) {
+        return semesterSections[semester].length - 1;
+    }
+
+    /**
+     * Marks the breaks of a semester in a bitset row of {@link #dayPeriodWords} longs
+     */
+    public void markBreaks(int semester, long[] table, int row) {
+        int from = (semester - 1) * dayPeriodWords;
+        int to = row * dayPeriodWords;
+        for (int word = 0; word < dayPeriodWords; word++)
+            table[to + word] |= breakMasks[from + word];
+    }
+}
@@ -37,14 +37,19 @@ public class Util {
 
     public static byte getPracticalStartingPeriodLocation(String subject) {
         ScheduleStructure scheduleStructure = ScheduleStructure.getInstance();
-        byte res = 0;
-        short upperBound = scheduleStructure.getPeriodCount();
         Subject sub = SubjectDao.getInstance().get(subject);
-        short trailingLength = (short) sub.getLectureCount();
-        byte[] exclude = scheduleStructure.getBreakLocations(sub.getSem());
+        return getPracticalStartingPeriodLocation(scheduleStructure.getPeriodCount(),
+                scheduleStructure.getBreakLocations(sub.getSem()), sub.getLectureCount());
+    }
+
+    /**
+     * Returns the latest period a practical of lectureCount periods can start at without spanning a break
+     */
+    public static byte getPracticalStartingPeriodLocation(int periodCount, byte[] exclude, int lectureCount) {
+        byte res = 0;
         byte excludeIndex = 0;
-        for (byte i = 0; i <= upperBound - trailingLength; i++) {
-            if (excludeIndex < exclude.length && exclude[excludeIndex] - 1 < i + trailingLength) {
+        for (byte i = 0; i <= periodCount - lectureCount; i++) {
+            if (excludeIndex < exclude.length && exclude[excludeIndex] - 1 < i + lectureCount) {
                 i = (byte) (exclude[excludeIndex++] - 1);
                 continue;
             }
@@ -54,15 +59,20 @@ public class Util {
     }
 
     public static ArrayList<Byte> getAllPracticalPeriodLocations(String subject) {
-        ArrayList<Byte> res = new ArrayList<>();
         ScheduleStructure scheduleStructure = ScheduleStructure.getInstance();
-        short upperBound = scheduleStructure.getPeriodCount();
         Subject sub = SubjectDao.getInstance().get(subject);
-        short trailingLength = (short) sub.getLectureCount();
-        byte[] exclude = scheduleStructure.getBreakLocations(sub.getSem());
+        return getAllPracticalPeriodLocations(scheduleStructure.getPeriodCount(),
+                scheduleStructure.getBreakLocations(sub.getSem()), sub.getLectureCount());
+    }
+
+    /**
+     * Returns every period a practical of lectureCount periods can start at without spanning a break, the latest first
+     */
+    public static ArrayList<Byte> getAllPracticalPeriodLocations(int periodCount, byte[] exclude, int lectureCount) {
+        ArrayList<Byte> res = new ArrayList<>();
         byte excludeIndex = 0;
-        for (byte i = 0; i <= upperBound - trailingLength; i++) {
-            if (excludeIndex < exclude.length && exclude[excludeIndex] - 1 < i + trailingLength) {
+        for (byte i = 0; i <= periodCount - lectureCount; i++) {
+            if (excludeIndex < exclude.length && exclude[excludeIndex] - 1 < i + lectureCount) {
                 i = (byte) (exclude[excludeIndex++] - 1);
                 continue;
             }
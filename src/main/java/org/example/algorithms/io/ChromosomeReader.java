@@ -1,23 +1,20 @@
 package org.example.algorithms.io;
 
 import org.example.algorithms.DayPeriod;
-import org.example.algorithms.Util;
-import org.example.dao.SubjectDao;
-import org.example.pojo.ScheduleStructure;
-import org.example.pojo.Subject;
+import org.example.algorithms.ProblemModel;
+import org.example.algorithms.StructureGeometry;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.Scanner;
+import java.nio.ShortBuffer;
 
 /**
  * A helper class to provide standard way of reading a chromosome
  */
 public class ChromosomeReader implements Closeable {
-    private final Scanner sc;
-    private final String[] teachers;
-    private final String[] subjects;
-    private final String[] rooms;
+    private final ShortBuffer genes;
+    private final ProblemModel model;
+    private final StructureGeometry geometry;
 
     private int subjectIndex = 0;
     private byte currentSec = 0;
@@ -30,19 +27,14 @@ public class ChromosomeReader implements Closeable {
     /**
      * A helper class to provide standard way of reading a chromosome
      *
-     * @param sc       A scanner reading the file containing the chromosome
-     * @param subjects the array of subject codes to fetch subject code
-     *                 from subject index in chromosome
-     * @param teachers the array of teacher names to fetch teacher name
-     *                 from teacher index in chromosome
-     * @param rooms    the array of room codes to fetch room code
-     *                 from room index in chromosome
+     * @param genes A buffer positioned at the first gene of the chromosome
+     * @param model the snapshot the chromosome was generated against, used to fetch
+     *              subject codes, teacher names and room codes from their indices in the chromosome
      */
-    public ChromosomeReader(Scanner sc, String[] teachers, String[] subjects, String[] rooms) {
-        this.sc = sc;
-        this.teachers = teachers;
-        this.subjects = subjects;
-        this.rooms = rooms;
+    public ChromosomeReader(ShortBuffer genes, ProblemModel model) {
+        this.genes = genes;
+        this.model = model;
+        this.geometry = model.getGeometry();
     }
 
     /**
@@ -51,9 +43,9 @@ public class ChromosomeReader implements Closeable {
      * @return {@code true} if there is more data to be read otherwise {@code false}
      */
     public boolean hasNext() {
-        while (subjectIndex < subjects.length && Util.getSectionCount(subjects[subjectIndex]) == 0)
+        while (subjectIndex < model.getSubjectCount() && model.getSectionCount(subjectIndex) == 0)
             subjectIndex++;
-        return subjectIndex < subjects.length;
+        return subjectIndex < model.getSubjectCount();
     }
 
     /**
@@ -66,7 +58,7 @@ public class ChromosomeReader implements Closeable {
     public void read(ReaderCallback readerCallback) throws IOException {
         read(
                 (sem, sec, day, period, subjectIndex, teacherIndex, roomCode, lectureIndex) ->
-                        readerCallback.process(sem, sec, day, period, subjects[subjectIndex], teacherIndex != -1 ? teachers[teacherIndex] : null, roomCode)
+                        readerCallback.process(sem, sec, day, period, model.getSubjectCode(subjectIndex), teacherIndex != -1 ? model.getTeacherName(teacherIndex) : null, roomCode)
         );
     }
 
@@ -80,31 +72,28 @@ public class ChromosomeReader implements Closeable {
     public void read(IndexedReaderCallback readerCallback) throws IOException {
         if (!hasNext()) throw new IOException("End of chromosome reached");
 
-        String subjectCode = subjects[subjectIndex];
-        Subject subject = SubjectDao.getInstance().get(subjectCode);
-        byte sem = (byte) subject.getSem();
-        sem = (byte) (sem % 2 == 0 ? sem / 2 : (sem + 1) / 2);
-        boolean practical = subject.isPractical();
-        boolean free = subject.isFree();
+        byte year = model.getYear(subjectIndex);
+        boolean practical = model.isPractical(subjectIndex);
+        boolean free = model.isFree(subjectIndex);
 
         if (practical) {
-            if (dayPeriod == -1) dayPeriod = sc.nextShort();
+            if (dayPeriod == -1) dayPeriod = genes.get();
             if (roomCode == null) {
-                if (!free) roomCode = rooms[sc.nextShort()];
-                else roomCode = subject.getRoomCodes().get(0);
+                if (!free) roomCode = model.getRoomCode(genes.get());
+                else roomCode = model.getFirstRoomCode(subjectIndex);
             }
-            if (!free) teacherIndex = sc.nextShort();
+            if (!free) teacherIndex = genes.get();
         } else {
-            if (teacherIndex == -1 && !free) teacherIndex = sc.nextShort();
-            dayPeriod = sc.nextShort();
-            roomCode = subject.getRoomCodes().get(0);
+            if (teacherIndex == -1 && !free) teacherIndex = genes.get();
+            dayPeriod = genes.get();
+            roomCode = model.getFirstRoomCode(subjectIndex);
         }
 
-        DayPeriod dayPeriodObj = new DayPeriod(practical ? (short) (dayPeriod + lectureIndex) : dayPeriod);
-        readerCallback.process((byte) (sem - 1), currentSec, dayPeriodObj.day, dayPeriodObj.period, subjectIndex, teacherIndex, roomCode, lectureIndex);
+        DayPeriod dayPeriodObj = geometry.dayPeriod(practical ? dayPeriod + lectureIndex : dayPeriod);
+        readerCallback.process(year, currentSec, dayPeriodObj.day, dayPeriodObj.period, subjectIndex, teacherIndex, roomCode, lectureIndex);
 
         lectureIndex++;
-        if (lectureIndex >= subject.getLectureCount()) {
+        if (lectureIndex >= model.getLectureCount(subjectIndex)) {
             lectureIndex = 0;
             currentSec++;
             roomCode = null;
@@ -112,7 +101,7 @@ public class ChromosomeReader implements Closeable {
             dayPeriod = -1;
         }
 
-        if (currentSec >= Util.getSectionCount(subjectCode)) {
+        if (currentSec >= model.getSectionCount(subjectIndex)) {
             currentSec = 0;
             subjectIndex++;
         }
@@ -131,7 +120,7 @@ public class ChromosomeReader implements Closeable {
     public void readAll(ReaderCallback readerCallback) throws IOException {
         readAll(
                 (sem, sec, day, period, subjectIndex, teacherIndex, roomCode, lectureIndex) ->
-                        readerCallback.process(sem, sec, day, period, subjects[subjectIndex], teacherIndex != -1 ? teachers[teacherIndex] : null, roomCode)
+                        readerCallback.process(sem, sec, day, period, model.getSubjectCode(subjectIndex), teacherIndex != -1 ? model.getTeacherName(teacherIndex) : null, roomCode)
         );
     }
 
@@ -145,15 +134,13 @@ public class ChromosomeReader implements Closeable {
     public void readAll(IndexedReaderCallback readerCallback) throws IOException {
         if (!hasNext()) throw new IOException("End of chromosome reached");
 
-        SubjectDao subjectDao = SubjectDao.getInstance();
-
-        for (int subjectIndex = this.subjectIndex; subjectIndex < subjects.length; subjectIndex++) {
-            String subject = subjects[subjectIndex];
-            byte sem = (byte) subjectDao.get(subject).getSem();
-            byte secCount = ScheduleStructure.getInstance().getSectionCount(sem);
-            sem = (byte) (sem % 2 == 0 ? sem / 2 : (sem + 1) / 2);
-            boolean practical = subjectDao.get(subject).isPractical();
-            boolean free = subjectDao.get(subject).isFree();
+        for (int subjectIndex = this.subjectIndex; subjectIndex < model.getSubjectCount(); subjectIndex++) {
+            byte secCount = model.getSectionCount(subjectIndex);
+            byte year = model.getYear(subjectIndex);
+            boolean practical = model.isPractical(subjectIndex);
+            boolean free = model.isFree(subjectIndex);
+            String firstRoomCode = model.getFirstRoomCode(subjectIndex);
+            int lectureCount = model.getLectureCount(subjectIndex);
 
             byte sec = subjectIndex == this.subjectIndex ? currentSec : 0;
             for (; sec < secCount; sec++) {
@@ -162,34 +149,31 @@ public class ChromosomeReader implements Closeable {
                 short dayPeriod;
                 String roomCode;
                 if (practical) {
-                    practicalStartDayPeriod = sc.nextShort();
-                    if (!free) roomCode = rooms[sc.nextShort()];
-                    else roomCode = subjectDao.get(subject).getRoomCodes().get(0);
+                    practicalStartDayPeriod = genes.get();
+                    if (!free) roomCode = model.getRoomCode(genes.get());
+                    else roomCode = firstRoomCode;
                 } else {
-                    if (!free) teacherIndex = sc.nextShort();
-                    roomCode = subjectDao.get(subject).getRoomCodes().get(0);
+                    if (!free) teacherIndex = genes.get();
+                    roomCode = firstRoomCode;
                 }
-                int lectureCount = subjectDao.get(subject).getLectureCount();
 
                 int lectureIndex = subjectIndex == this.subjectIndex && sec == currentSec ? this.lectureIndex : 0;
                 for (; lectureIndex < lectureCount; lectureIndex++) {
                     if (practical) {
                         dayPeriod = (short) (practicalStartDayPeriod + lectureIndex);
-                        if (!free) teacherIndex = sc.nextShort();
+                        if (!free) teacherIndex = genes.get();
                     } else {
-                        dayPeriod = sc.nextShort();
+                        dayPeriod = genes.get();
                     }
-                    DayPeriod dayPeriodObj = new DayPeriod(dayPeriod);
-                    readerCallback.process((byte) (sem - 1), sec, dayPeriodObj.day, dayPeriodObj.period, subjectIndex, teacherIndex, roomCode, lectureIndex);
+                    DayPeriod dayPeriodObj = geometry.dayPeriod(dayPeriod);
+                    readerCallback.process(year, sec, dayPeriodObj.day, dayPeriodObj.period, subjectIndex, teacherIndex, roomCode, lectureIndex);
                 }
             }
         }
     }
 
     @Override
-    public void close() {
-        sc.close();
-    }
+    public void close() {}
 
     public interface ReaderCallback {
         void process(byte sem, byte sec, byte day, byte period, String subject, String teacher, String room);
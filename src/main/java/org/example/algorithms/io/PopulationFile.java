@@ -0,0 +1,101 @@
+package org.example.algorithms.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary file format of a population.<br>
+ * The file starts with a header of three little-endian ints: magic number, population size
+ * and chromosome length, followed by the genes of every chromosome one after another as
+ * little-endian shorts. Opening a file memory maps it, chromosomes are then read straight
+ * from the mapping without parsing or copying.
+ */
+public class PopulationFile implements Closeable {
+    //"TTSP" in ascii
+    private static final int MAGIC = 0x54545350;
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+
+    private final FileChannel channel;
+    private final ShortBuffer genes;
+    private final int populationSize;
+    private final int chromosomeLength;
+
+    private PopulationFile(FileChannel channel, ShortBuffer genes, int populationSize, int chromosomeLength) {
+        this.channel = channel;
+        this.genes = genes;
+        this.populationSize = populationSize;
+        this.chromosomeLength = chromosomeLength;
+    }
+
+    /**
+     * Writes {@code populationSize} chromosomes of {@code chromosomeLength} genes stored contiguously in {@code genes}
+     */
+    public static void write(File file, short[] genes, int populationSize, int chromosomeLength) throws IOException {
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (!dir.exists() && !dir.mkdirs()) throw new IOException("Couldn't create directory " + dir);
+        int geneCount = populationSize * chromosomeLength;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + geneCount * Short.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(populationSize).putInt(chromosomeLength);
+        buffer.asShortBuffer().put(genes, 0, geneCount);
+        buffer.rewind();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) channel.write(buffer);
+        }
+    }
+
+    /**
+     * Memory maps a population file written by {@link #write(File, short[], int, int)}
+     *
+     * @throws IOException if the file can't be read or is not a population file
+     */
+    public static PopulationFile open(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            if (channel.size() < HEADER_SIZE) throw new IOException(file + " is not a population file");
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt() != MAGIC) throw new IOException(file + " is not a population file");
+            int populationSize = mapped.getInt();
+            int chromosomeLength = mapped.getInt();
+            if (populationSize < 0 || chromosomeLength < 0 || (long) populationSize * chromosomeLength * Short.BYTES != channel.size() - HEADER_SIZE)
+                throw new IOException(file + " is truncated or corrupted");
+            return new PopulationFile(channel, mapped.asShortBuffer(), populationSize, chromosomeLength);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    public int getChromosomeLength() {
+        return chromosomeLength;
+    }
+
+    /**
+     * Returns a read only view over the chromosome at {@code index} positioned at its first gene,
+     * it can be passed to {@link ChromosomeReader} directly
+     */
+    public ShortBuffer getChromosomeReader(int index) {
+        if (index < 0 || index >= populationSize)
+            throw new IndexOutOfBoundsException("Chromosome " + index + " of population of size " + populationSize);
+        return genes.duplicate().position(index * chromosomeLength).limit((index + 1) * chromosomeLength).slice();
+    }
+
+    /**
+     * Closes the file, the mapping stays valid until views created from it are garbage collected
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -1,34 +1,90 @@
 package org.example.algorithms.io;
 
 import java.io.*;
-import java.util.Scanner;
+import java.nio.ShortBuffer;
 
+/**
+ * Stores an entire population of chromosomes in a single contiguous {@code short[]}
+ * buffer. Chromosome {@code i} occupies the range
+ * {@code [i * chromosomeLength, (i + 1) * chromosomeLength)} of the buffer.<br>
+ * A storage is meant to be reused across generations, the generator keeps two of them
+ * and swaps between them instead of allocating a new one every generation.
+ */
 public class PopulationStorage {
-    private boolean deleteOnExit = false;
-    private int storageId;
+    private final int populationSize;
+    private final int chromosomeLength;
+    private final short[] genes;
+    private int storageId = 0;
 
-    public PopulationStorage(int id) {
+    public PopulationStorage(int populationSize, int chromosomeLength) {
+        this.populationSize = populationSize;
+        this.chromosomeLength = chromosomeLength;
+        this.genes = new short[populationSize * chromosomeLength];
+    }
+
+    /**
+     * Sets the id (generation) used as directory name when the population is dumped
+     */
+    public void setStorageId(int id) {
         this.storageId = id;
-        File f = new File("Genetic");
-        if (!f.exists()) f.mkdir();
-        if(deleteOnExit) f.deleteOnExit();
-        f = new File("Genetic" + File.separator + "P" + id);
-        if (!f.exists()) f.mkdir();
-        if(deleteOnExit) f.deleteOnExit();
-    }
-
-    public Scanner getChromosomeReader(int index) throws FileNotFoundException {
-        File f = new File("Genetic" + File.separator + "P" + storageId, "C" + index + ".txt");
-        if (!f.exists()) return null;
-        Scanner s = new Scanner(f);
-        return s;
-    }
-
-    public PrintStream getChromosomeWriter(int index) throws IOException {
-        File f = new File("Genetic" + File.separator + "P" + storageId, "C" + index + ".txt");
-        if (f.exists()) f.delete();
-        f.createNewFile();
-        if(deleteOnExit) f.deleteOnExit();
-        return new PrintStream(f);
+    }
+
+    public int getStorageId() {
+        return storageId;
+    }
+
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    public int getChromosomeLength() {
+        return chromosomeLength;
+    }
+
+    /**
+     * Returns a buffer view over the chromosome at {@code index} positioned at its first gene.
+     * The view shares data with this storage, no copy is made.
+     */
+    public ShortBuffer getChromosomeReader(int index) {
+        return ShortBuffer.wrap(genes, index * chromosomeLength, chromosomeLength).slice();
+    }
+
+    /**
+     * Returns a writable buffer view over the chromosome at {@code index}.
+     * Writing past the length of a chromosome throws a {@link java.nio.BufferOverflowException}.
+     */
+    public ShortBuffer getChromosomeWriter(int index) {
+        return ShortBuffer.wrap(genes, index * chromosomeLength, chromosomeLength).slice();
+    }
+
+    /**
+     * Copies a chromosome of another storage of the same chromosome length into this storage
+     */
+    public void copyChromosome(PopulationStorage source, int sourceIndex, int index) {
+        System.arraycopy(source.genes, sourceIndex * chromosomeLength, genes, index * chromosomeLength, chromosomeLength);
+    }
+
+    /**
+     * Writes the population to disk in the legacy layout, one file per chromosome
+     * at {@code Genetic/P<storageId>/C<index>.txt} with a single gene per line.
+     * Only meant for debugging purposes.
+     */
+    public void dump() throws IOException {
+        File dir = new File("Genetic" + File.separator + "P" + storageId);
+        if (!dir.exists() && !dir.mkdirs()) throw new IOException("Couldn't create directory " + dir);
+        for (int i = 0; i < populationSize; i++) {
+            try (PrintStream ps = new PrintStream(new BufferedOutputStream(new FileOutputStream(new File(dir, "C" + i + ".txt"))))) {
+                int offset = i * chromosomeLength;
+                for (int j = 0; j < chromosomeLength; j++) ps.println(genes[offset + j]);
+            }
+        }
+    }
+
+    /**
+     * Writes the population to {@code Genetic/P<storageId>.bin} in the format of {@link PopulationFile}.
+     * Only meant for debugging purposes.
+     */
+    public void dumpBinary() throws IOException {
+        PopulationFile.write(new File("Genetic", "P" + storageId + ".bin"), genes, populationSize, chromosomeLength);
     }
 }
@@ -0,0 +1,79 @@
+package org.example.dao;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Records which keys of the current data changed since the last save or load, so a save only
+ * has to rewrite the rows of those keys.<br>
+ * The daos and {@link org.example.pojo.ScheduleSolution} report their own changes.
+ */
+public class ChangeTracker {
+    public enum Data {
+        //keys are subject codes
+        SUBJECTS,
+        //keys are teacher names
+        TEACHERS,
+        //keys are roll numbers
+        STUDENTS,
+        //keys are sections, see sectionKey
+        SCHEDULE
+    }
+
+    private static ChangeTracker instance = null;
+
+    private final EnumMap<Data, HashSet<String>> changedKeys = new EnumMap<>(Data.class);
+    private final EnumSet<Data> allChanged = EnumSet.allOf(Data.class);
+
+    private ChangeTracker() {
+        for (Data data : Data.values())
+            changedKeys.put(data, new HashSet<>());
+    }
+
+    public static synchronized ChangeTracker getInstance() {
+        if (instance == null) {
+            instance = new ChangeTracker();
+        }
+        return instance;
+    }
+
+    public static String sectionKey(int sem, int sec) {
+        return sem + ":" + sec;
+    }
+
+    public synchronized void markChanged(Data data, String key) {
+        if (!allChanged.contains(data)) changedKeys.get(data).add(key);
+    }
+
+    public synchronized void markAllChanged(Data data) {
+        allChanged.add(data);
+        changedKeys.get(data).clear();
+    }
+
+    public synchronized void markAllChanged() {
+        for (Data data : Data.values())
+            markAllChanged(data);
+    }
+
+    public synchronized boolean isAllChanged(Data data) {
+        return allChanged.contains(data);
+    }
+
+    /**
+     * Returns a copy of the changed keys, empty if all of the data changed
+     */
+    public synchronized Set<String> getChangedKeys(Data data) {
+        return new HashSet<>(changedKeys.get(data));
+    }
+
+    /**
+     * Marks the data as saved, called after the data was saved or loaded
+     */
+    public synchronized void clear() {
+        allChanged.clear();
+        for (HashSet<String> keys : changedKeys.values())
+            keys.clear();
+    }
+}
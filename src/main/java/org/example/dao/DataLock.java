@@ -0,0 +1,34 @@
+package org.example.dao;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Guards the current data, i.e. the daos, {@link org.example.pojo.ScheduleStructure} and
+ * {@link org.example.pojo.ScheduleSolution}, which aren't thread safe on their own.<br>
+ * Requests which only read the data hold the read lock and run concurrently, requests which modify it
+ * hold the write lock. Any access to the data from another thread must hold one of the locks.
+ */
+public class DataLock {
+    private static DataLock instance = null;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private DataLock() {
+    }
+
+    public static synchronized DataLock getInstance() {
+        if (instance == null) {
+            instance = new DataLock();
+        }
+        return instance;
+    }
+
+    public Lock readLock() {
+        return lock.readLock();
+    }
+
+    public Lock writeLock() {
+        return lock.writeLock();
+    }
+}
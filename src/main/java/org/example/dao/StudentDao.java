@@ -10,7 +10,7 @@ public class StudentDao  extends HashMap<String, Student> {
     private StudentDao() {
     }
 
-    public static StudentDao getInstance() {
+    public static synchronized StudentDao getInstance() {
         if (instance == null) {
             instance = new StudentDao();
         }
@@ -19,6 +19,20 @@ public class StudentDao  extends HashMap<String, Student> {
 
     @Override
     public Student put(String key, Student value) {
-        return super.put(key.toUpperCase(), value);
+        key = key.toUpperCase();
+        ChangeTracker.getInstance().markChanged(ChangeTracker.Data.STUDENTS, key);
+        return super.put(key, value);
+    }
+
+    @Override
+    public Student remove(Object key) {
+        ChangeTracker.getInstance().markChanged(ChangeTracker.Data.STUDENTS, String.valueOf(key));
+        return super.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        ChangeTracker.getInstance().markAllChanged(ChangeTracker.Data.STUDENTS);
+        super.clear();
     }
 }
@@ -10,7 +10,7 @@ public class SubjectDao extends HashMap<String, Subject> {
     private SubjectDao() {
     }
 
-    public static SubjectDao getInstance() {
+    public static synchronized SubjectDao getInstance() {
         if (instance == null) {
             instance = new SubjectDao();
         }
@@ -35,6 +35,20 @@ public class SubjectDao extends HashMap<String, Subject> {
 
     @Override
     public Subject put(String key, Subject value) {
-        return super.put(key.toUpperCase(), value);
+        key = key.toUpperCase();
+        ChangeTracker.getInstance().markChanged(ChangeTracker.Data.SUBJECTS, key);
+        return super.put(key, value);
+    }
+
+    @Override
+    public Subject remove(Object key) {
+        ChangeTracker.getInstance().markChanged(ChangeTracker.Data.SUBJECTS, String.valueOf(key));
+        return super.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        ChangeTracker.getInstance().markAllChanged(ChangeTracker.Data.SUBJECTS);
+        super.clear();
     }
 }
@@ -10,7 +10,7 @@ public class TeacherDao extends HashMap<String, Teacher> {
     private TeacherDao() {
     }
 
-    public static TeacherDao getInstance() {
+    public static synchronized TeacherDao getInstance() {
         if (instance == null) {
             instance = new TeacherDao();
         }
@@ -19,6 +19,20 @@ public class TeacherDao extends HashMap<String, Teacher> {
 
     @Override
     public Teacher put(String key, Teacher value) {
-        return super.put(key.toUpperCase(), value);
+        key = key.toUpperCase();
+        ChangeTracker.getInstance().markChanged(ChangeTracker.Data.TEACHERS, key);
+        return super.put(key, value);
+    }
+
+    @Override
+    public Teacher remove(Object key) {
+        ChangeTracker.getInstance().markChanged(ChangeTracker.Data.TEACHERS, String.valueOf(key));
+        return super.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        ChangeTracker.getInstance().markAllChanged(ChangeTracker.Data.TEACHERS);
+        super.clear();
     }
 }
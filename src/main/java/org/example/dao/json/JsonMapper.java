@@ -0,0 +1,32 @@
+package org.example.dao.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * The {@link ObjectMapper} shared by the whole application.<br>
+ * A mapper is expensive to create but thread safe once configured, so it must not be reconfigured after creation.
+ */
+public class JsonMapper {
+    private static ObjectMapper instance = null;
+    private static ObjectWriter writer = null;
+
+    private JsonMapper() {
+    }
+
+    public static synchronized ObjectMapper getInstance() {
+        if (instance == null) {
+            instance = new ObjectMapper();
+            //streams written to belong to the caller, e.g. the body of an http exchange
+            instance.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writer = instance.writer();
+        }
+        return instance;
+    }
+
+    public static synchronized ObjectWriter getWriter() {
+        getInstance();
+        return writer;
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.files;
+
+import org.example.DefaultConfig;
+import org.example.dao.DataLock;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Saves the changes of the current data to the open save file in the background when
+ * {@link DefaultConfig#AUTOSAVE} is enabled.<br>
+ * Changes are coalesced, they are saved {@link DefaultConfig#AUTOSAVE_INTERVAL_MS} after the first unsaved change
+ * or as soon as {@link DefaultConfig#AUTOSAVE_MAX_PENDING_CHANGES} changes are pending. A save holds the read lock
+ * of {@link DataLock}, so it waits for modifying requests but runs alongside reading ones.
+ */
+public class AutosaveWriter {
+    public record Status(boolean enabled, int pendingChanges, long lastFlushTime, String lastError) {
+    }
+
+    private static AutosaveWriter instance = null;
+
+    private final ScheduledExecutorService executor;
+    private final AtomicInteger pendingChanges = new AtomicInteger();
+    //the flush waiting to run, null while none is scheduled
+    private ScheduledFuture<?> scheduledFlush = null;
+    private volatile long lastFlushTime = 0;
+    private volatile String lastError = null;
+
+    private AutosaveWriter() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized AutosaveWriter getInstance() {
+        if (instance == null) {
+            instance = new AutosaveWriter();
+        }
+        return instance;
+    }
+
+    /**
+     * Records a change of the current data, scheduling a flush if autosave is enabled
+     */
+    public void onChange() {
+        if (!DefaultConfig.AUTOSAVE) return;
+        if (pendingChanges.incrementAndGet() >= DefaultConfig.AUTOSAVE_MAX_PENDING_CHANGES) schedule(0);
+        else schedule(DefaultConfig.AUTOSAVE_INTERVAL_MS);
+    }
+
+    private synchronized void schedule(long delay) {
+        if (scheduledFlush != null) {
+            //a pending flush is only brought forward
+            if (scheduledFlush.getDelay(TimeUnit.MILLISECONDS) <= delay || !scheduledFlush.cancel(false)) return;
+        }
+        scheduledFlush = executor.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        synchronized (this) {
+            scheduledFlush = null;
+        }
+        Lock lock = DataLock.getInstance().readLock();
+        lock.lock();
+        int flushed = pendingChanges.getAndSet(0);
+        try {
+            if (flushed == 0) return;
+            SavesHandler savesHandler = SavesHandler.getInstance();
+            String saveName = savesHandler.getOpenSaveName();
+            if (saveName == null) {
+                //nothing to save to until a save is created or loaded
+                lastError = "No save file is open";
+                return;
+            }
+            savesHandler.saveData(saveName);
+            lastFlushTime = System.currentTimeMillis();
+            lastError = null;
+        } catch (Exception e) {
+            e.printStackTrace();
+            lastError = e.getMessage();
+            pendingChanges.addAndGet(flushed);
+        } finally {
+            lock.unlock();
+        }
+        //retry failed changes and save changes made while saving
+        if (pendingChanges.get() > 0) schedule(DefaultConfig.AUTOSAVE_INTERVAL_MS);
+    }
+
+    /**
+     * Forgets the pending changes, called when the changes were saved or discarded by a save or load request
+     */
+    public void clearPendingChanges() {
+        pendingChanges.set(0);
+    }
+
+    public Status getStatus() {
+        return new Status(DefaultConfig.AUTOSAVE, pendingChanges.get(), lastFlushTime, lastError);
+    }
+
+    /**
+     * Saves the pending changes and stops the background writer
+     */
+    public void close() throws InterruptedException {
+        synchronized (this) {
+            if (scheduledFlush != null) scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        if (pendingChanges.get() > 0) executor.submit(this::flush);
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+}
@@ -1,5 +1,7 @@
 package org.example.files;
 
+import org.example.DefaultConfig;
+import org.example.dao.ChangeTracker;
 import org.example.files.db.ConfigHandler;
 import org.example.files.db.CreateTableQueryBuilder;
 import org.example.files.db.entities.Entity;
@@ -17,13 +19,15 @@ import static org.example.files.VersionRectifier.CURRENT_FILE_VERSION;
 public class SavesHandler implements AutoCloseable {
     private static SavesHandler instance;
     private Connection connection;
-    private boolean saved = true;
+    private volatile boolean saved = true;
     private String currentDbName = null;
+    //save whose data only differs from the memory by the changes recorded in ChangeTracker
+    private String syncedSave = null;
     private List<Entity> entities;
 
     private SavesHandler() {}
 
-    public static SavesHandler getInstance() {
+    public static synchronized SavesHandler getInstance() {
         if (instance == null) {
             instance = new SavesHandler();
             instance.entities = EntityList.getEntityList();
@@ -31,7 +35,7 @@ public class SavesHandler implements AutoCloseable {
         return instance;
     }
 
-    public void init() throws SQLException, IOException {
+    public synchronized void init() throws SQLException, IOException {
         Files.createDirectories(Path.of("sqlite","data"));
         File configFile = Path.of("sqlite","data","tts-config.db")
                 .toFile();
@@ -41,6 +45,7 @@ public class SavesHandler implements AutoCloseable {
         connection = DriverManager.getConnection("jdbc:sqlite:sqlite/data/tts-config.db");
         try (Statement statement = connection.createStatement()) {
             statement.execute("PRAGMA foreign_keys=1");
+            DefaultConfig.SQLITE_PROFILE.apply(statement, "main");
             String configCreateQuery = new CreateTableQueryBuilder("config")
                     .addKey("name", "string", true)
                     .addKey("data", "string")
@@ -58,7 +63,7 @@ public class SavesHandler implements AutoCloseable {
         return filename.substring(0, filename.length() - 8);
     }
 
-    public String[] getSavesList() throws SQLException, IOException {
+    public synchronized String[] getSavesList() throws SQLException, IOException {
         File savesDir = Path.of(
                 "sqlite",
                 "data"
@@ -73,7 +78,7 @@ public class SavesHandler implements AutoCloseable {
         return saveFiles;
     }
 
-    public String getCurrentSaveName() throws SQLException, IOException {
+    public synchronized String getCurrentSaveName() throws SQLException, IOException {
         String currentSave = getConfigHandler().getGlobal("current-save");
 
         try (
@@ -128,6 +133,9 @@ public class SavesHandler implements AutoCloseable {
             preparedStatement.execute();
             currentDbName = name;
         }
+        try (Statement statement = connection.createStatement()) {
+            DefaultConfig.SQLITE_PROFILE.apply(statement, "current");
+        }
     }
 
     private void createTablesIfNotExist() throws SQLException {
@@ -138,7 +146,7 @@ public class SavesHandler implements AutoCloseable {
         }
     }
 
-    public void createNewSave(String name) throws SQLException, IOException {
+    public synchronized void createNewSave(String name) throws SQLException, IOException {
         name = name.toUpperCase();
         String fileName = getFileNameForSave(name);
         File saveFile = Path.of(
@@ -162,6 +170,10 @@ public class SavesHandler implements AutoCloseable {
             updateCurrentSave(name);
             connection.commit();
         } catch (Exception e) {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
             try (Statement statement = connection.createStatement()) {
                 if (currentDbName.equalsIgnoreCase(name))
                     statement.execute("DETACH current");
@@ -175,9 +187,7 @@ public class SavesHandler implements AutoCloseable {
         saved = true;
     }
 
-    public void loadData(String name) throws SQLException, IOException {
-        connection.setAutoCommit(false);
-
+    public synchronized void loadData(String name) throws SQLException, IOException {
         name = name.toUpperCase();
         String fileName = getFileNameForSave(name);
         File saveFile = Path.of(
@@ -190,7 +200,9 @@ public class SavesHandler implements AutoCloseable {
         }
 
         try (Statement statement = connection.createStatement()) {
+            //the journal mode of a save can only be set outside of a transaction
             setCurrentDatabase(name, saveFile.getPath());
+            connection.setAutoCommit(false);
             clearMemory();
 
             new VersionRectifier(connection).rectifyCurrentFileVersion();
@@ -201,8 +213,14 @@ public class SavesHandler implements AutoCloseable {
 
             updateCurrentSave(name);
             connection.commit();
+            syncedSave = name;
+            ChangeTracker.getInstance().clear();
+            AutosaveWriter.getInstance().clearPendingChanges();
         } catch (Exception e) {
-            if (!connection.getAutoCommit()) connection.rollback();
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
             e.printStackTrace();
             throw e;
         }
@@ -210,9 +228,7 @@ public class SavesHandler implements AutoCloseable {
         saved = true;
     }
 
-    public void saveData(String name) throws SQLException, IOException {
-        connection.setAutoCommit(false);
-
+    public synchronized void saveData(String name) throws SQLException, IOException {
         name = name.toUpperCase();
         String fileName = getFileNameForSave(name);
         File saveFile = Path.of(
@@ -221,17 +237,29 @@ public class SavesHandler implements AutoCloseable {
                 fileName
         ).toFile();
         boolean newFile = !saveFile.exists();
+        //only the changes since the last save or load are written to the same save
+        boolean incremental = !newFile && name.equalsIgnoreCase(syncedSave);
         if (newFile && !saveFile.createNewFile()) {
             throw new TTSFileException("Save file doesn't exist and couldn't create new save file.");
         }
 
         try {
             setCurrentDatabase(name, saveFile.getPath());
+            connection.setAutoCommit(false);
             createTablesIfNotExist();
-            clearCurrentDatabase();
-
-            for (Entity entity: entities) {
-                entity.saveToCurrent(connection);
+            if (incremental) {
+                ChangeTracker changeTracker = ChangeTracker.getInstance();
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("PRAGMA defer_foreign_keys=ON");
+                }
+                for (Entity entity: entities) {
+                    entity.saveChangesToCurrent(connection, changeTracker);
+                }
+            } else {
+                clearCurrentDatabase();
+                for (Entity entity: entities) {
+                    entity.saveToCurrent(connection);
+                }
             }
 
             ConfigHandler configHandler = getConfigHandler();
@@ -239,8 +267,14 @@ public class SavesHandler implements AutoCloseable {
 
             updateCurrentSave(name);
             connection.commit();
+            syncedSave = name;
+            ChangeTracker.getInstance().clear();
+            AutosaveWriter.getInstance().clearPendingChanges();
         } catch (Exception e) {
-            if (!connection.getAutoCommit()) connection.rollback();
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
             if (newFile) {
                 setCurrentDatabase(null, null);
                 saveFile.delete();
@@ -251,8 +285,9 @@ public class SavesHandler implements AutoCloseable {
         saved = true;
     }
 
-    public void deleteData(String name) throws SQLException {
+    public synchronized void deleteData(String name) throws SQLException {
         if (name.equalsIgnoreCase(currentDbName)) setCurrentDatabase(null, null);
+        if (name.equalsIgnoreCase(syncedSave)) syncedSave = null;
         String fileName = getFileNameForSave(name);
         File saveFile = Path.of(
                 "sqlite",
@@ -269,6 +304,14 @@ public class SavesHandler implements AutoCloseable {
 
     public void markUnsaved() {
         saved = false;
+        AutosaveWriter.getInstance().onChange();
+    }
+
+    /**
+     * Returns the name of the attached save file, null if none is attached
+     */
+    public synchronized String getOpenSaveName() {
+        return currentDbName;
     }
 
     public boolean isSaved() {
@@ -296,7 +339,7 @@ public class SavesHandler implements AutoCloseable {
     }
 
     @Override
-    public void close() throws SQLException {
+    public synchronized void close() throws SQLException {
         connection.close();
     }
 
@@ -0,0 +1,139 @@
+package org.example.files.db;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Inserts many rows into a table through a single {@link PreparedStatement}.<br>
+ * The values of a row are added in column order like in {@link InsertStatement} and the row is ended
+ * with {@link #addRow()}, rows are sent to the database in batches of {@link #BATCH_SIZE}.
+ * {@link #executeBatch()} has to be called to send the remaining rows.
+ */
+public class BatchInsertStatement implements AutoCloseable {
+    private static final int BATCH_SIZE = 512;
+
+    private final Connection connection;
+    private final String tableName;
+    private final int columnCount;
+    private final PreparedStatement preparedStatement;
+    //values of the rows of the current batch, used to report foreign key violations
+    private final ArrayList<String[]> batchRows = new ArrayList<>();
+    private String[] row;
+    private int column = 0;
+
+    public BatchInsertStatement(Connection connection, String tableName, int columnCount) throws SQLException {
+        this(connection, tableName, columnCount, InsertStatement.OnConflict.NONE);
+    }
+
+    public BatchInsertStatement(Connection connection, String tableName, int columnCount, InsertStatement.OnConflict onConflict) throws SQLException {
+        this(connection, tableName, columnCount, insertQuery(tableName, columnCount, onConflict));
+    }
+
+    private BatchInsertStatement(Connection connection, String tableName, int columnCount, String query) throws SQLException {
+        this.connection = connection;
+        this.tableName = tableName;
+        this.columnCount = columnCount;
+        this.row = new String[columnCount];
+        this.preparedStatement = connection.prepareStatement(query);
+    }
+
+    /**
+     * Creates a statement updating the existing row when a row with the same conflict columns was already saved.<br>
+     * Unlike {@link InsertStatement.OnConflict#REPLACE} the existing row isn't deleted, so the rows referencing it
+     * through an {@code ON DELETE CASCADE} foreign key are kept.
+     * @param columns all columns of the table, in the order the values are added
+     * @param conflictColumns columns of the primary key or of an unique index
+     */
+    public static BatchInsertStatement upsert(Connection connection, String tableName, String[] columns, String... conflictColumns) throws SQLException {
+        List<String> conflicting = Arrays.asList(conflictColumns);
+        StringBuilder queryBuilder = new StringBuilder(insertQuery(tableName, columns.length, InsertStatement.OnConflict.NONE))
+                .append(" ON CONFLICT(")
+                .append(String.join(", ", conflictColumns))
+                .append(") DO ");
+        StringJoiner updates = new StringJoiner(", ");
+        for (String column : columns) {
+            if (!conflicting.contains(column)) updates.add(column + " = excluded." + column);
+        }
+        if (updates.length() == 0) queryBuilder.append("NOTHING");
+        else queryBuilder.append("UPDATE SET ").append(updates);
+        return new BatchInsertStatement(connection, tableName, columns.length, queryBuilder.toString());
+    }
+
+    private static String insertQuery(String tableName, int columnCount, InsertStatement.OnConflict onConflict) {
+        StringBuilder queryBuilder = new StringBuilder("INSERT ");
+        if (onConflict != InsertStatement.OnConflict.NONE) {
+            queryBuilder
+                    .append("OR ")
+                    .append(onConflict.name())
+                    .append(" ");
+        }
+        queryBuilder.append("INTO ")
+                .append(tableName)
+                .append(" VALUES (")
+                .append("?, ".repeat(columnCount));
+        queryBuilder.setCharAt(queryBuilder.length() - 2, ')');
+        return queryBuilder.toString().trim();
+    }
+
+    public BatchInsertStatement add(String value) throws SQLException {
+        preparedStatement.setString(column + 1, value);
+        row[column++] = value;
+        return this;
+    }
+
+    public BatchInsertStatement add(int value) throws SQLException {
+        preparedStatement.setInt(column + 1, value);
+        row[column++] = String.valueOf(value);
+        return this;
+    }
+
+    public BatchInsertStatement add(boolean value) throws SQLException {
+        return add(value ? 1 : 0);
+    }
+
+    /**
+     * Ends the current row, sending the batch if it is full
+     */
+    public void addRow() throws SQLException {
+        if (column != columnCount)
+            throw new IllegalStateException("Expecting " + columnCount + " values for " + tableName + ", got " + column);
+        preparedStatement.addBatch();
+        batchRows.add(row);
+        row = new String[columnCount];
+        column = 0;
+        if (batchRows.size() == BATCH_SIZE) executeBatch();
+    }
+
+    /**
+     * Sends the rows added since the last batch
+     */
+    public void executeBatch() throws SQLException {
+        if (batchRows.isEmpty()) return;
+        try {
+            preparedStatement.executeBatch();
+        } catch (SQLException e) {
+            //the driver doesn't tell the failing row, look for the first row referencing a missing value
+            if (e.getMessage() != null && e.getMessage().contains("SQLITE_CONSTRAINT_FOREIGNKEY")) {
+                for (String[] batchRow : batchRows) {
+                    InsertStatement.ForeignKeyException ex = InsertStatement.getForeignKeyException(
+                            connection,
+                            tableName,
+                            Arrays.asList(batchRow)
+                    );
+                    if (ex != null) throw ex;
+                }
+            }
+            throw e;
+        } finally {
+            batchRows.clear();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        preparedStatement.close();
+    }
+}
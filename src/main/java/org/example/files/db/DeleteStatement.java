@@ -0,0 +1,23 @@
+package org.example.files.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+
+public class DeleteStatement {
+    /**
+     * Deletes the rows of a table whose column has one of the values, using a single batched statement
+     */
+    public static void deleteWhere(Connection connection, String tableName, String column, Collection<String> values) throws SQLException {
+        if (values.isEmpty()) return;
+        try (PreparedStatement preparedStatement = connection
+                .prepareStatement("DELETE FROM " + tableName + " WHERE " + column + " = ?")) {
+            for (String value : values) {
+                preparedStatement.setString(1, value);
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+        }
+    }
+}
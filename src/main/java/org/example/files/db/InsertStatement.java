@@ -5,6 +5,7 @@ import org.example.files.TTSFileException;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 
 public class InsertStatement {
     private final StringBuilder queryBuilder;
@@ -56,7 +57,7 @@ public class InsertStatement {
             preparedStatement.executeUpdate();
         } catch (SQLException e) {
             if (e.getMessage().contains("SQLITE_CONSTRAINT_FOREIGNKEY")) {
-                ForeignKeyException ex = getForeignKeyException();
+                ForeignKeyException ex = getForeignKeyException(connection, tableName, getValueList());
                 if (ex != null) throw ex;
             }
             throw e;
@@ -66,20 +67,18 @@ public class InsertStatement {
     /**
      * Returns a {@link TTSFileException} with appropriate error message for display in the UI
      * by identifying the column and value that caused foreign key constraint violation.
+     * @param values the values of the inserted row in column order
      * @throws SQLException if the queries for determining problematic value causes an SQLException
      */
-    private ForeignKeyException getForeignKeyException() throws SQLException {
+    static ForeignKeyException getForeignKeyException(Connection connection, String tableName, List<String> values) throws SQLException {
 
         HashMap<String, Integer> columnIndices = new HashMap<>();
 
-        ArrayList<String> values = getValueList();
-
         try (Statement statement = connection.createStatement()) {
             String schema = "";
-            String tableName = this.tableName;
-            if (this.tableName.contains(".")) {
+            if (tableName.contains(".")) {
                 schema = tableName.substring(0, tableName.indexOf('.') + 1);
-                tableName = this.tableName.substring(this.tableName.indexOf('.') + 1);
+                tableName = tableName.substring(tableName.indexOf('.') + 1);
             }
 
             try (ResultSet tableInfoResult = statement.executeQuery("PRAGMA " + schema + "table_info(" + tableName + ")")) {
@@ -99,11 +98,12 @@ public class InsertStatement {
                     String refColumn = foreignKeyResults.getString("to");
                     String column = foreignKeyResults.getString("from");
                     String value = values.get(columnIndices.get(column));
+                    //null values don't reference anything
+                    if (value == null) continue;
 
                     try (PreparedStatement preparedStatement = connection
-                            .prepareStatement("SELECT * FROM " + refTable + " WHERE ? = ? LIMIT 1")) {
-                        preparedStatement.setString(1, refColumn);
-                        preparedStatement.setString(2, value);
+                            .prepareStatement("SELECT * FROM " + refTable + " WHERE " + refColumn + " = ? LIMIT 1")) {
+                        preparedStatement.setString(1, value);
                         try (ResultSet result = preparedStatement.executeQuery()) {
                             if (!result.next()) {
                                 return new ForeignKeyException(column);
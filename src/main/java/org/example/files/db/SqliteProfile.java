@@ -0,0 +1,56 @@
+package org.example.files.db;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Performance related pragmas applied to the config database and every attached save file.<br>
+ * Every profile sets all of it's pragmas, journal mode is stored in the file, so switching profiles
+ * also switches existing save files.
+ */
+public enum SqliteProfile {
+    //sqlite defaults, rollback journal synced on every commit
+    DEFAULT("DELETE", "FULL", -2000, 0, "DEFAULT"),
+    //write ahead log synced on every commit, survives power loss
+    SAFE("WAL", "FULL", -16000, 64L << 20, "MEMORY"),
+    //write ahead log synced on checkpoints only, survives crashes of the application
+    //but the last commits may be lost on power loss
+    FAST("WAL", "NORMAL", -16000, 64L << 20, "MEMORY");
+
+    private final String journalMode;
+    private final String synchronous;
+    //negative values are in KiB, positive in pages
+    private final int cacheSize;
+    private final long mmapSize;
+    private final String tempStore;
+
+    SqliteProfile(String journalMode, String synchronous, int cacheSize, long mmapSize, String tempStore) {
+        this.journalMode = journalMode;
+        this.synchronous = synchronous;
+        this.cacheSize = cacheSize;
+        this.mmapSize = mmapSize;
+        this.tempStore = tempStore;
+    }
+
+    /**
+     * Applies the profile to a database of the connection, can't be called inside a transaction
+     * since the journal mode can't be changed there
+     * @param schema name of the database, like {@code main} or an attached database
+     */
+    public void apply(Statement statement, String schema) throws SQLException {
+        statement.execute("PRAGMA " + schema + ".journal_mode=" + journalMode);
+        statement.execute("PRAGMA " + schema + ".synchronous=" + synchronous);
+        statement.execute("PRAGMA " + schema + ".cache_size=" + cacheSize);
+        statement.execute("PRAGMA " + schema + ".mmap_size=" + mmapSize);
+        //temp store is shared by all databases of the connection
+        statement.execute("PRAGMA temp_store=" + tempStore);
+    }
+
+    public String getJournalMode() {
+        return journalMode;
+    }
+
+    public String getSynchronous() {
+        return synchronous;
+    }
+}
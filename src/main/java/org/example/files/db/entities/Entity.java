@@ -1,5 +1,7 @@
 package org.example.files.db.entities;
 
+import org.example.dao.ChangeTracker;
+
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -44,4 +46,19 @@ public interface Entity {
      * @param connection the connection that is used to perform operations
      */
     void saveToCurrent(Connection connection) throws SQLException, IOException;
+
+    /**
+     * Saves the data of this entity changed since the current save file was last saved or loaded,
+     * replacing all of it's data by default. Foreign keys are checked on commit, so rows can be
+     * deleted and inserted in any order
+     *
+     * @param connection the connection that is used to perform operations
+     * @param changeTracker the changes since the last save or load
+     */
+    default void saveChangesToCurrent(Connection connection, ChangeTracker changeTracker) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            clearDataFromCurrent(statement);
+        }
+        saveToCurrent(connection);
+    }
 }
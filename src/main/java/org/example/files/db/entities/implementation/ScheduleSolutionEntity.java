@@ -1,16 +1,17 @@
 package org.example.files.db.entities.implementation;
 
 import org.example.algorithms.DayPeriod;
+import org.example.dao.ChangeTracker;
+import org.example.files.db.BatchInsertStatement;
 import org.example.files.db.CreateTableQueryBuilder;
 import org.example.files.db.InsertStatement;
 import org.example.files.db.entities.Entity;
 import org.example.pojo.ScheduleSolution;
 
 import java.io.IOException;
-import java.sql.Connection;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.function.Consumer;
 
 import static org.example.files.db.entities.CommonData.subjectCodeForeignKey;
 import static org.example.files.db.entities.CommonData.teacherNameForeignKey;
@@ -96,32 +97,77 @@ public class ScheduleSolutionEntity implements Entity {
     }
 
     @Override
-    public void saveToCurrent(Connection connection) throws IOException {
+    public void saveToCurrent(Connection connection) throws SQLException, IOException {
+        insertEntries(connection, ScheduleSolution.SolutionIterator::iterate);
+    }
+
+    @Override
+    public void saveChangesToCurrent(Connection connection, ChangeTracker changeTracker) throws SQLException, IOException {
+        if (changeTracker.isAllChanged(ChangeTracker.Data.SCHEDULE)) {
+            Entity.super.saveChangesToCurrent(connection, changeTracker);
+            return;
+        }
+        //keys are "sem:sec" of the changed sections
+        ArrayList<int[]> sections = new ArrayList<>();
+        for (String key : changeTracker.getChangedKeys(ChangeTracker.Data.SCHEDULE)) {
+            String[] split = key.split(":");
+            sections.add(new int[]{Integer.parseInt(split[0]), Integer.parseInt(split[1])});
+        }
+        if (sections.isEmpty()) return;
+
+        for (String table : new String[]{"current.schedule_period_entries", "current.schedule_room_entries"}) {
+            try (PreparedStatement preparedStatement = connection
+                    .prepareStatement("DELETE FROM " + table + " WHERE sem = ? AND sec = ?")) {
+                for (int[] section : sections) {
+                    preparedStatement.setInt(1, section[0]);
+                    preparedStatement.setInt(2, section[1]);
+                    preparedStatement.addBatch();
+                }
+                preparedStatement.executeBatch();
+            }
+        }
+        insertEntries(connection, iterator -> {
+            for (int[] section : sections)
+                iterator.iterate(section[0], section[1]);
+        });
+    }
 
-        ScheduleSolution.SolutionIteratorCallback callback = (sem, sec, day, period, subject, teacher, room) -> {
+    /**
+     * Inserts the entries of the periods visited by the iteration
+     */
+    private void insertEntries(Connection connection, Consumer<ScheduleSolution.SolutionIterator> iteration) throws SQLException, IOException {
+        try (
+                BatchInsertStatement roomEntries = new BatchInsertStatement(connection, "current.schedule_room_entries", 4, InsertStatement.OnConflict.IGNORE);
+                BatchInsertStatement periodEntries = new BatchInsertStatement(connection, "current.schedule_period_entries", 5)
+        ) {
+            ScheduleSolution.SolutionIteratorCallback callback = (sem, sec, day, period, subject, teacher, room) -> {
+                try {
+                    roomEntries
+                            .add(sem)
+                            .add(sec)
+                            .add(subject)
+                            .add(room)
+                            .addRow();
+                    periodEntries
+                            .add(sem)
+                            .add(sec)
+                            .add(new DayPeriod((byte) day, (byte) period).getCompact())
+                            .add(subject)
+                            .add(teacher)
+                            .addRow();
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            };
             try {
-                new InsertStatement(connection, "current.schedule_room_entries", InsertStatement.OnConflict.IGNORE)
-                        .add(sem)
-                        .add(sec)
-                        .add(subject)
-                        .add(room)
-                        .executeInsert();
-                new InsertStatement(connection, "current.schedule_period_entries")
-                        .add(sem)
-                        .add(sec)
-                        .add(new DayPeriod((byte) day, (byte) period).getCompact())
-                        .add(subject)
-                        .add(teacher)
-                        .executeInsert();
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
+                iteration.accept(new ScheduleSolution.SolutionIterator(callback));
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+                throw new IOException(e);
             }
-        };
-        try {
-            new ScheduleSolution.SolutionIterator(callback).iterate();
-        } catch (RuntimeException e) {
-            e.printStackTrace();
-            throw new IOException(e);
+            //period entries reference the room entries
+            roomEntries.executeBatch();
+            periodEntries.executeBatch();
         }
     }
 }
@@ -2,6 +2,7 @@ package org.example.files.db.entities.implementation;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dao.json.JsonMapper;
 import org.example.files.db.ConfigHandler;
 import org.example.files.db.entities.Entity;
 import org.example.pojo.ScheduleStructure;
@@ -17,7 +18,7 @@ public class ScheduleStructureEntity implements Entity {
         ConfigHandler configHandler = new ConfigHandler(statement.getConnection());
         String json;
         try {
-            json = new ObjectMapper().writeValueAsString(ScheduleStructure.getRevertedClone());
+            json = JsonMapper.getInstance().writeValueAsString(ScheduleStructure.getRevertedClone());
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
@@ -42,7 +43,7 @@ public class ScheduleStructureEntity implements Entity {
     public void loadFromCurrent(Statement statement) throws SQLException, IOException {
         ConfigHandler configHandler = new ConfigHandler(statement.getConnection());
         String structureJson = configHandler.getLocal("schedule-structure");
-        ObjectMapper om = new ObjectMapper();
+        ObjectMapper om = JsonMapper.getInstance();
         om.readerForUpdating(ScheduleStructure.getInstance())
                 .readValue(structureJson, ScheduleStructure.class);
     }
@@ -50,7 +51,7 @@ public class ScheduleStructureEntity implements Entity {
     @Override
     public void saveToCurrent(Connection connection) throws SQLException, IOException {
         ConfigHandler configHandler = new ConfigHandler(connection);
-        String json = new ObjectMapper().writeValueAsString(ScheduleStructure.getInstance());
+        String json = JsonMapper.getInstance().writeValueAsString(ScheduleStructure.getInstance());
         configHandler.putLocal("schedule-structure", json);
     }
 }
@@ -1,12 +1,17 @@
 package org.example.files.db.entities.implementation;
 
+import org.example.dao.ChangeTracker;
 import org.example.dao.StudentDao;
+import org.example.files.db.BatchInsertStatement;
 import org.example.files.db.CreateTableQueryBuilder;
-import org.example.files.db.InsertStatement;
+import org.example.files.db.DeleteStatement;
 import org.example.files.db.entities.Entity;
 import org.example.pojo.Student;
 
+import java.io.IOException;
 import java.sql.*;
+import java.util.Collection;
+import java.util.Set;
 
 public class StudentEntity implements Entity {
     @Override
@@ -62,17 +67,41 @@ public class StudentEntity implements Entity {
 
     @Override
     public void saveToCurrent(Connection connection) throws SQLException {
-        for (Student student: StudentDao.getInstance().values()) {
-            new InsertStatement(connection, "current.students")
-                    .add(student.getRollNo())
-                    .add(student.getName())
-                    .add(student.getSem())
-                    .add(student.getSec())
-                    .add(student.getEmail())
-                    .add(student.getAttendance())
-                    .add(student.getPhoneNumber())
-                    .add(student.getAddress())
-                    .executeInsert();
+        insertStudents(connection, StudentDao.getInstance().keySet());
+    }
+
+    @Override
+    public void saveChangesToCurrent(Connection connection, ChangeTracker changeTracker) throws SQLException, IOException {
+        if (changeTracker.isAllChanged(ChangeTracker.Data.STUDENTS)) {
+            Entity.super.saveChangesToCurrent(connection, changeTracker);
+            return;
+        }
+        //dao keys are upper case roll numbers
+        Set<String> rolls = changeTracker.getChangedKeys(ChangeTracker.Data.STUDENTS);
+        DeleteStatement.deleteWhere(connection, "current.students", "UPPER(roll_no)", rolls);
+        insertStudents(connection, rolls);
+    }
+
+    /**
+     * Inserts the students with the given dao keys, keys missing in the dao are skipped
+     */
+    private void insertStudents(Connection connection, Collection<String> rolls) throws SQLException {
+        try (BatchInsertStatement students = new BatchInsertStatement(connection, "current.students", 8)) {
+            for (String roll: rolls) {
+                Student student = StudentDao.getInstance().get(roll);
+                if (student == null) continue;
+                students
+                        .add(student.getRollNo())
+                        .add(student.getName())
+                        .add(student.getSem())
+                        .add(student.getSec())
+                        .add(student.getEmail())
+                        .add(student.getAttendance())
+                        .add(student.getPhoneNumber())
+                        .add(student.getAddress())
+                        .addRow();
+            }
+            students.executeBatch();
         }
     }
 }
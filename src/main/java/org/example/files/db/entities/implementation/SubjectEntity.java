@@ -1,13 +1,17 @@
 package org.example.files.db.entities.implementation;
 
+import org.example.dao.ChangeTracker;
 import org.example.dao.SubjectDao;
+import org.example.files.db.BatchInsertStatement;
 import org.example.files.db.CreateTableQueryBuilder;
+import org.example.files.db.DeleteStatement;
 import org.example.files.db.InsertStatement;
 import org.example.files.db.entities.Entity;
 import org.example.pojo.Subject;
 
+import java.io.IOException;
 import java.sql.*;
-import java.util.ArrayList;
+import java.util.*;
 
 import static org.example.files.db.entities.CommonData.subjectCodeForeignKey;
 
@@ -44,7 +48,14 @@ public class SubjectEntity implements Entity {
 
     @Override
     public void loadFromCurrent(Statement statement) throws SQLException {
-        Connection connection = statement.getConnection();
+        //room codes of all subjects in one scan, each subject keeps the order its room codes were inserted in
+        HashMap<String, ArrayList<String>> roomCodes = new HashMap<>();
+        try (ResultSet roomResults = statement.executeQuery("SELECT subject_code, room_code FROM current.subject_room_codes ORDER BY subject_code, rowid")) {
+            while (roomResults.next()) {
+                roomCodes.computeIfAbsent(roomResults.getString("subject_code"), k -> new ArrayList<>())
+                        .add(roomResults.getString("room_code"));
+            }
+        }
 
         try (ResultSet results = statement.executeQuery("SELECT * FROM current.subjects")) {
             while (results.next()) {
@@ -53,16 +64,7 @@ public class SubjectEntity implements Entity {
                 int lectureCount = results.getInt("lecture_count");
                 boolean isPractical = results.getInt("is_practical") == 1;
                 boolean isFree = results.getInt("is_free") == 1;
-                PreparedStatement preparedStatement = connection.prepareStatement("SELECT room_code FROM current.subject_room_codes WHERE subject_code = ?");
-                preparedStatement.setString(1, code);
-                ArrayList<String> roomCodes;
-                try (ResultSet roomResults = preparedStatement.executeQuery()) {
-                    roomCodes = new ArrayList<>();
-                    while (roomResults.next()) {
-                        roomCodes.add(roomResults.getString(1));
-                    }
-                }
-                Subject subject = new Subject(sem, lectureCount, isPractical, roomCodes, isFree);
+                Subject subject = new Subject(sem, lectureCount, isPractical, roomCodes.getOrDefault(code, new ArrayList<>()), isFree);
                 SubjectDao.getInstance().put(code, subject);
             }
         }
@@ -70,22 +72,89 @@ public class SubjectEntity implements Entity {
 
     @Override
     public void saveToCurrent(Connection connection) throws SQLException {
+        insertSubjects(connection, SubjectDao.getInstance().keySet());
+    }
+
+    @Override
+    public void saveChangesToCurrent(Connection connection, ChangeTracker changeTracker) throws SQLException, IOException {
+        if (changeTracker.isAllChanged(ChangeTracker.Data.SUBJECTS)) {
+            Entity.super.saveChangesToCurrent(connection, changeTracker);
+            return;
+        }
+        Set<String> subjectCodes = changeTracker.getChangedKeys(ChangeTracker.Data.SUBJECTS);
+        //deleting a subject or one of it's room codes cascades to the teachers and the schedule referencing it,
+        //so only removed subjects and room codes are deleted and the rest is updated in place
+        Set<String> removedCodes = new HashSet<>(subjectCodes);
+        removedCodes.removeAll(SubjectDao.getInstance().keySet());
+        subjectCodes.removeAll(removedCodes);
+        DeleteStatement.deleteWhere(connection, "current.subjects", "subject_code", removedCodes);
+        deleteRemovedRoomCodes(connection, subjectCodes);
+        insertSubjects(connection, subjectCodes);
+    }
 
-        for (String subjectCode: SubjectDao.getInstance().keySet()) {
-            Subject subject = SubjectDao.getInstance().get(subjectCode);
-            new InsertStatement(connection, "current.subjects")
-                    .add(subjectCode)
-                    .add(subject.getSem())
-                    .add(subject.getLectureCount())
-                    .add(subject.isPractical())
-                    .add(subject.isFree())
-                    .executeInsert();
-            for (String roomCode: subject.getRoomCodes()) {
-                new InsertStatement(connection, "current.subject_room_codes")
+    private void deleteRemovedRoomCodes(Connection connection, Collection<String> subjectCodes) throws SQLException {
+        if (subjectCodes.isEmpty()) return;
+        try (
+                PreparedStatement select = connection.prepareStatement("SELECT room_code FROM current.subject_room_codes WHERE subject_code = ?");
+                PreparedStatement delete = connection.prepareStatement("DELETE FROM current.subject_room_codes WHERE subject_code = ? AND room_code = ?")
+        ) {
+            for (String subjectCode: subjectCodes) {
+                List<String> roomCodes = SubjectDao.getInstance().get(subjectCode).getRoomCodes();
+                select.setString(1, subjectCode);
+                try (ResultSet results = select.executeQuery()) {
+                    while (results.next()) {
+                        String roomCode = results.getString("room_code");
+                        if (roomCodes.contains(roomCode)) continue;
+                        delete.setString(1, subjectCode);
+                        delete.setString(2, roomCode);
+                        delete.addBatch();
+                    }
+                }
+            }
+            delete.executeBatch();
+        }
+    }
+
+    /**
+     * Inserts the rows of the subjects with the given codes, codes missing in the dao are skipped.
+     * Already saved subject rows are updated and already saved room codes are kept
+     */
+    private void insertSubjects(Connection connection, Collection<String> subjectCodes) throws SQLException {
+        SubjectDao subjectDao = SubjectDao.getInstance();
+        try (
+                BatchInsertStatement subjects = BatchInsertStatement.upsert(
+                        connection,
+                        "current.subjects",
+                        new String[]{"subject_code", "sem", "lecture_count", "is_practical", "is_free"},
+                        "subject_code"
+                );
+                BatchInsertStatement roomCodes = new BatchInsertStatement(connection, "current.subject_room_codes", 2, InsertStatement.OnConflict.IGNORE)
+        ) {
+            //all subjects are inserted before the room codes referencing them
+            for (String subjectCode: subjectCodes) {
+                Subject subject = subjectDao.get(subjectCode);
+                if (subject == null) continue;
+                subjects
                         .add(subjectCode)
-                        .add(roomCode)
-                        .executeInsert();
+                        .add(subject.getSem())
+                        .add(subject.getLectureCount())
+                        .add(subject.isPractical())
+                        .add(subject.isFree())
+                        .addRow();
+            }
+            subjects.executeBatch();
+
+            for (String subjectCode: subjectCodes) {
+                Subject subject = subjectDao.get(subjectCode);
+                if (subject == null) continue;
+                for (String roomCode: subject.getRoomCodes()) {
+                    roomCodes
+                            .add(subjectCode)
+                            .add(roomCode)
+                            .addRow();
+                }
             }
+            roomCodes.executeBatch();
         }
     }
 }
@@ -1,17 +1,19 @@
 package org.example.files.db.entities.implementation;
 
 import org.example.algorithms.DayPeriod;
+import org.example.dao.ChangeTracker;
+import org.example.dao.SubjectDao;
 import org.example.dao.TeacherDao;
 import org.example.files.TTSFileException;
+import org.example.files.db.BatchInsertStatement;
 import org.example.files.db.CreateTableQueryBuilder;
-import org.example.files.db.InsertStatement;
+import org.example.files.db.DeleteStatement;
 import org.example.files.db.entities.Entity;
 import org.example.pojo.Teacher;
 
+import java.io.IOException;
 import java.sql.*;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.List;
+import java.util.*;
 
 import static org.example.files.db.entities.CommonData.subjectCodeForeignKey;
 import static org.example.files.db.entities.CommonData.teacherNameForeignKey;
@@ -57,54 +59,100 @@ public class TeacherEntity implements Entity {
 
     @Override
     public void loadFromCurrent(Statement statement) throws SQLException {
-        Connection connection = statement.getConnection();
+        //the free times and known subjects of all teachers are read in one scan each and grouped by teacher
+        HashMap<String, HashSet<List<Integer>>> freeTimes = new HashMap<>();
+        try (ResultSet results = statement.executeQuery("SELECT teacher_name, day_period FROM current.teacher_free")) {
+            while (results.next()) {
+                DayPeriod dayPeriod = new DayPeriod(results.getShort("day_period"));
+                freeTimes.computeIfAbsent(results.getString("teacher_name"), k -> new HashSet<>())
+                        .add(Arrays.asList((int) dayPeriod.day, (int) dayPeriod.period));
+            }
+        }
+        HashMap<String, HashSet<String>> knownSubjects = new HashMap<>();
+        try (ResultSet results = statement.executeQuery("SELECT teacher_name, subject_code FROM current.teacher_known_subjects")) {
+            while (results.next()) {
+                knownSubjects.computeIfAbsent(results.getString("teacher_name"), k -> new HashSet<>())
+                        .add(results.getString("subject_code"));
+            }
+        }
 
         try (ResultSet results = statement.executeQuery("SELECT * FROM current.teachers")) {
             while (results.next()) {
                 String teacherName = results.getString("teacher_name");
                 boolean alwaysFree = results.getInt("always_free") == 1;
-                HashSet<List<Integer>> freeTime = new HashSet<>();
-                if (!alwaysFree) {
-                    try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT day_period FROM current.teacher_free WHERE teacher_name = ?")) {
-                        preparedStatement.setString(1, teacherName);
-                        try (ResultSet teacherArrayResults = preparedStatement.executeQuery()) {
-                            while (teacherArrayResults.next()) {
-                                DayPeriod dayPeriod = new DayPeriod(teacherArrayResults.getShort("day_period"));
-                                freeTime.add(Arrays.asList((int) dayPeriod.day, (int) dayPeriod.period));
-                            }
-                        }
-                    }
-                }
-                HashSet<String> knownSubjects = new HashSet<>();
-                try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT subject_code FROM current.teacher_known_subjects WHERE teacher_name = ?")) {
-                    preparedStatement.setString(1, teacherName);
-                    try (ResultSet teacherArrayResults = preparedStatement.executeQuery()) {
-                        while (teacherArrayResults.next())
-                            knownSubjects.add(teacherArrayResults.getString("subject_code"));
-                    }
-                }
-                TeacherDao.getInstance().put(teacherName, new Teacher(freeTime, knownSubjects));
+                HashSet<List<Integer>> freeTime = alwaysFree ? null : freeTimes.get(teacherName);
+                TeacherDao.getInstance().put(teacherName, new Teacher(
+                        freeTime == null ? new HashSet<>() : freeTime,
+                        knownSubjects.getOrDefault(teacherName, new HashSet<>())
+                ));
             }
         }
     }
 
     @Override
     public void saveToCurrent(Connection connection) throws SQLException {
+        insertTeachers(connection, TeacherDao.getInstance().keySet());
+    }
 
-        for (String teacherName: TeacherDao.getInstance().keySet()) {
-            Teacher teacher = TeacherDao.getInstance().get(teacherName);
-            new InsertStatement(connection, "current.teachers")
-                    .add(teacherName)
-                    .add(teacher.getFreeTime().isEmpty())
-                    .executeInsert();
-            for (String subjectCode: teacher.getSubjects()) {
-                try {
-                    new InsertStatement(connection, "current.teacher_known_subjects")
-                            .add(teacherName)
-                            .add(subjectCode)
-                            .executeInsert();
-                } catch (InsertStatement.ForeignKeyException e) {
-                    if (e.getColumnName().equals("subject_code")) {
+    @Override
+    public void saveChangesToCurrent(Connection connection, ChangeTracker changeTracker) throws SQLException, IOException {
+        if (changeTracker.isAllChanged(ChangeTracker.Data.TEACHERS)) {
+            Entity.super.saveChangesToCurrent(connection, changeTracker);
+            return;
+        }
+        Set<String> teacherNames = changeTracker.getChangedKeys(ChangeTracker.Data.TEACHERS);
+        //teachers knowing a removed subject are saved again to report it
+        for (Map.Entry<String, Teacher> entry: TeacherDao.getInstance().entrySet()) {
+            if (!SubjectDao.getInstance().keySet().containsAll(entry.getValue().getSubjects()))
+                teacherNames.add(entry.getKey());
+        }
+        if (teacherNames.isEmpty()) return;
+
+        //deleting a teacher cascades to every row referencing it, including the schedule of unchanged sections,
+        //so only removed teachers are deleted and the rows of the others are updated in place
+        Set<String> removedNames = new HashSet<>(teacherNames);
+        removedNames.removeAll(TeacherDao.getInstance().keySet());
+        teacherNames.removeAll(removedNames);
+        DeleteStatement.deleteWhere(connection, "current.teachers", "teacher_name", removedNames);
+        DeleteStatement.deleteWhere(connection, "current.teacher_free", "teacher_name", teacherNames);
+        DeleteStatement.deleteWhere(connection, "current.teacher_known_subjects", "teacher_name", teacherNames);
+        insertTeachers(connection, teacherNames);
+    }
+
+    /**
+     * Inserts the rows of the teachers with the given names, names missing in the dao are skipped.
+     * Already saved teacher rows are updated
+     */
+    private void insertTeachers(Connection connection, Collection<String> teacherNames) throws SQLException {
+        TeacherDao teacherDao = TeacherDao.getInstance();
+        SubjectDao subjectDao = SubjectDao.getInstance();
+        try (
+                BatchInsertStatement teachers = BatchInsertStatement.upsert(
+                        connection,
+                        "current.teachers",
+                        new String[]{"teacher_name", "always_free"},
+                        "teacher_name"
+                );
+                BatchInsertStatement knownSubjects = new BatchInsertStatement(connection, "current.teacher_known_subjects", 2);
+                BatchInsertStatement freeTimes = new BatchInsertStatement(connection, "current.teacher_free", 2)
+        ) {
+            //all teachers are inserted before the rows referencing them
+            for (String teacherName: teacherNames) {
+                Teacher teacher = teacherDao.get(teacherName);
+                if (teacher == null) continue;
+                teachers
+                        .add(teacherName)
+                        .add(teacher.getFreeTime().isEmpty())
+                        .addRow();
+            }
+            teachers.executeBatch();
+
+            for (String teacherName: teacherNames) {
+                Teacher teacher = teacherDao.get(teacherName);
+                if (teacher == null) continue;
+                for (String subjectCode: teacher.getSubjects()) {
+                    //subjects are saved before teachers, an unknown subject would violate the foreign key
+                    if (!subjectDao.containsKey(subjectCode)) {
                         String msg = "'" +
                                 subjectCode +
                                 "' was added as known subject for '" +
@@ -113,16 +161,22 @@ public class TeacherEntity implements Entity {
                                 " but doesn't exist in subjects";
                         throw new TTSFileException(msg);
                     }
+                    knownSubjects
+                            .add(teacherName)
+                            .add(subjectCode)
+                            .addRow();
+                }
+                for (List<Integer> freeDayPeriod: teacher.getFreeTime()) {
+                    byte day = freeDayPeriod.get(0).byteValue();
+                    byte period = freeDayPeriod.get(1).byteValue();
+                    freeTimes
+                            .add(teacherName)
+                            .add(new DayPeriod(day, period).getCompact())
+                            .addRow();
                 }
             }
-            for (List<Integer> freeDayPeriod: teacher.getFreeTime()) {
-                byte day = freeDayPeriod.get(0).byteValue();
-                byte period = freeDayPeriod.get(1).byteValue();
-                new InsertStatement(connection, "current.teacher_free")
-                        .add(teacherName)
-                        .add(new DayPeriod(day, period).getCompact())
-                        .executeInsert();
-            }
+            knownSubjects.executeBatch();
+            freeTimes.executeBatch();
         }
     }
 }
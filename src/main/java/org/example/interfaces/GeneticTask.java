@@ -1,5 +1,10 @@
 package org.example.interfaces;
 
 public interface GeneticTask {
-    void run(int index,int populationCount);
+    /**
+     * Processes the chromosomes in [from, to)
+     *
+     * @param workerIndex index of the worker running the task, in [0, workerCount)
+     */
+    void run(int workerIndex, int from, int to);
 }
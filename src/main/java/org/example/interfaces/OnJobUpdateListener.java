@@ -0,0 +1,8 @@
+package org.example.interfaces;
+
+import org.example.network.jobs.GenerationJobStatus;
+
+public interface OnJobUpdateListener {
+    //returns false to stop receiving updates
+    public boolean onUpdate(GenerationJobStatus status);
+}
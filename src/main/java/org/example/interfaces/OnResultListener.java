@@ -1,7 +1,13 @@
 package org.example.interfaces;
 
+import org.example.algorithms.GenerationProgress;
+
 public interface OnResultListener {
     public void onResult();
 
     public void onError(String msg);
+
+    //called from the generator thread after every generation
+    public default void onProgress(GenerationProgress progress) {
+    }
 }
@@ -7,13 +7,19 @@ import org.example.DefaultConfig;
 import org.example.network.api.ApiHandler;
 
 import java.io.*;
+import java.lang.reflect.Method;
 import java.net.InetSocketAddress;
-import java.net.URLConnection;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class LocalServer {
     private HttpServer server;
+    private ExecutorService executor;
+    private StaticAssetCache assetCache;
     private int port = 9000;
 
     public LocalServer() {
@@ -29,9 +35,18 @@ public class LocalServer {
             }
         }
 
+        executor = createExecutor();
+        server.setExecutor(executor);
+
         server.createContext("/io", new ApiHandler(server));
 
-        //create default context
+        //create default context, serving the web bundle from memory
+        assetCache = new StaticAssetCache(Path.of("web"));
+        try {
+            assetCache.startWatching();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
         server.createContext("/", this::handleDefaultRequest);
 
         //start server
@@ -41,48 +56,97 @@ public class LocalServer {
     }
 
     public void handleDefaultRequest(HttpExchange exchange) {
-        try{
-            String path = exchange.getRequestURI().getPath();
-            if (path.equals("/")) path = "/index.html";
-
-            File file = new File("web/" + path);
-            if (path.contains("..") || !file.exists() || file.isDirectory() || file.getName().startsWith(".")) {
-                path = "/index.html";
+        try {
+            StaticAssetCache.Asset asset = assetCache.get(exchange.getRequestURI().getPath());
+            if (asset == null) {
+                servePageNotFoundHtml(exchange);
+                return;
             }
 
-            try {
-                FileInputStream fis = new FileInputStream("web/" + path);
-                byte[] bytes = fis.readAllBytes();
-                fis.close();
-
-                String contentType;
-                if (path.endsWith(".map")) {
-                    contentType = "application/json";
-                } else if(path.endsWith(".ico")) {
-                    contentType = "image/x-icon";
-                } else {
-                    contentType = URLConnection.guessContentTypeFromName(new File(path).getName());
-                }
-                if (contentType == null) {
-                    contentType = "plain/text";
+            Headers headers = exchange.getResponseHeaders();
+            int clientPort = 3000;
+            headers.set("Content-Type", asset.contentType());
+            if (Arrays.asList(3000,port).contains(clientPort)) {
+                headers.set("Access-Control-Allow-Origin", "http://localhost:" + clientPort);
+            }
+            byte[] bytes = asset.data();
+            String encoding = null;
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding != null) {
+                if (asset.brotliData() != null && acceptsEncoding(acceptEncoding, "br")) {
+                    bytes = asset.brotliData();
+                    encoding = "br";
+                } else if (asset.gzipData() != null && acceptsEncoding(acceptEncoding, "gzip")) {
+                    bytes = asset.gzipData();
+                    encoding = "gzip";
                 }
+            }
+            //every encoding is a different representation and needs it's own tag
+            String etag = asset.etag();
+            if (encoding != null) {
+                etag = etag.substring(0, etag.length() - 1) + "-" + encoding + "\"";
+                headers.set("Content-Encoding", encoding);
+            }
+            headers.set("ETag", etag);
+            headers.set("Vary", "Accept-Encoding");
+            //build output under /static/ has content hashes in it's names, everything else must be revalidated
+            headers.set("Cache-Control", asset.path().startsWith("/static/") ? "public, max-age=31536000, immutable" : "no-cache");
+
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            if (ifNoneMatch != null && (ifNoneMatch.equals("*") || Arrays.asList(ifNoneMatch.split("\\s*,\\s*")).contains(etag))) {
+                headers.remove("Content-Encoding");
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
 
-                Headers headers = exchange.getResponseHeaders();
-                int clientPort = 3000;
-                headers.set("Content-Type", contentType);
-                if (Arrays.asList(3000,port).contains(clientPort)) {
-                    headers.set("Access-Control-Allow-Origin", "http://localhost:" + clientPort);
-                }
-                exchange.sendResponseHeaders(200, bytes.length);
-                OutputStream os = exchange.getResponseBody();
-                os.write(bytes);
-                os.close();
-            } catch (IOException e) {
-                System.out.println(e);
+            if (exchange.getRequestMethod().equals("HEAD")) {
+                headers.set("Content-Length", String.valueOf(bytes.length));
+                exchange.sendResponseHeaders(200, -1);
+                exchange.close();
+                return;
             }
+            exchange.sendResponseHeaders(200, bytes.length);
+            OutputStream os = exchange.getResponseBody();
+            os.write(bytes);
+            os.close();
         } catch (Exception e) {
             e.printStackTrace();
+            exchange.close();
+        }
+    }
+
+    private static boolean acceptsEncoding(String acceptEncoding, String encoding) {
+        for (String part : acceptEncoding.split(",")) {
+            String[] values = part.trim().split("\\s*;\\s*");
+            if (!values[0].equalsIgnoreCase(encoding)) continue;
+            //an encoding with q=0 is explicitly refused
+            return values.length < 2 || !values[1].replace(" ", "").matches("q=0(\\.0*)?");
+        }
+        return false;
+    }
+
+    private static ExecutorService createExecutor() {
+        if (DefaultConfig.SERVER_VIRTUAL_THREADS) {
+            try {
+                //looked up reflectively as the project targets jdk 17
+                Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                System.out.println("Serving requests on virtual threads");
+                return (ExecutorService) method.invoke(null);
+            } catch (ReflectiveOperationException ignored) {
+            }
         }
+
+        int threadCount = DefaultConfig.SERVER_THREAD_COUNT > 0
+                ? DefaultConfig.SERVER_THREAD_COUNT
+                : Runtime.getRuntime().availableProcessors() * 2;
+        AtomicInteger threadIndex = new AtomicInteger();
+        System.out.println("Serving requests on " + threadCount + " threads");
+        return Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "http-worker-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     public String getDefaultURL() {
@@ -108,5 +172,13 @@ public class LocalServer {
 
     public void stop() {
         if (server != null) server.stop(0);
+        if (executor != null) executor.shutdownNow();
+        if (assetCache != null) {
+            try {
+                assetCache.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
     }
 }
@@ -0,0 +1,176 @@
+package org.example.network;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLConnection;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Keeps the files of the web bundle in memory along with their compressed variants, content type and ETag.<br>
+ * Files are loaded on first request. A gzip variant is computed for compressible files, precompressed
+ * {@code .gz} and {@code .br} siblings in the bundle are used instead when present.
+ * Once {@link #startWatching()} is called the cache is cleared whenever the bundle changes on disk.
+ */
+public class StaticAssetCache implements Closeable {
+    private static final String INDEX_PATH = "/index.html";
+
+    /**
+     * @param gzipData   gzip encoded data, null if the file is not worth compressing
+     * @param brotliData brotli encoded data, null if the bundle has no precompressed brotli variant
+     */
+    public record Asset(String path, byte[] data, byte[] gzipData, byte[] brotliData, String contentType, String etag) {
+    }
+
+    private final Path root;
+    private final ConcurrentHashMap<String, Asset> assets = new ConcurrentHashMap<>();
+    private WatchService watchService = null;
+
+    public StaticAssetCache(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Returns the asset for a request path, paths which don't name a servable file get the index page
+     *
+     * @return the asset, null if neither the file nor the index page exist
+     */
+    public Asset get(String path) {
+        if (path.equals("/") || path.contains("..") || path.contains("/.")) path = INDEX_PATH;
+
+        Asset asset = assets.get(path);
+        if (asset != null) return asset;
+
+        Path file = root.resolve(path.substring(1)).normalize();
+        if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+            if (path.equals(INDEX_PATH)) return null;
+            return get(INDEX_PATH);
+        }
+        try {
+            asset = load(path, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Asset previous = assets.putIfAbsent(path, asset);
+        return previous != null ? previous : asset;
+    }
+
+    public void invalidate() {
+        assets.clear();
+    }
+
+    /**
+     * Starts a daemon thread clearing the cache when any file of the bundle changes
+     */
+    public synchronized void startWatching() throws IOException {
+        if (watchService != null || !Files.isDirectory(root)) return;
+        watchService = root.getFileSystem().newWatchService();
+        registerAll(root);
+
+        Thread watcher = new Thread(this::watch, "static-asset-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watch() {
+        WatchService service = watchService;
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == ENTRY_CREATE) {
+                        //a redeployed bundle may bring new directories
+                        Path created = ((Path) key.watchable()).resolve((Path) event.context());
+                        if (Files.isDirectory(created)) registerAll(created);
+                    }
+                }
+                invalidate();
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void registerAll(Path directory) throws IOException {
+        try (var directories = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) directories.filter(Files::isDirectory)::iterator)
+                path.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) watchService.close();
+    }
+
+    private static Asset load(String path, Path file) throws IOException {
+        byte[] data = Files.readAllBytes(file);
+        String contentType = getContentType(path);
+
+        byte[] gzipData = readIfExists(file.resolveSibling(file.getFileName() + ".gz"));
+        if (gzipData == null && isCompressible(contentType)) {
+            gzipData = gzip(data);
+            if (gzipData.length >= data.length) gzipData = null;
+        }
+        byte[] brotliData = readIfExists(file.resolveSibling(file.getFileName() + ".br"));
+
+        return new Asset(path, data, gzipData, brotliData, contentType, "\"" + hash(data) + "\"");
+    }
+
+    private static byte[] readIfExists(Path file) throws IOException {
+        return Files.isRegularFile(file) ? Files.readAllBytes(file) : null;
+    }
+
+    private static String getContentType(String path) {
+        String contentType;
+        if (path.endsWith(".map")) {
+            contentType = "application/json";
+        } else if (path.endsWith(".ico")) {
+            contentType = "image/x-icon";
+        } else if (path.endsWith(".js")) {
+            contentType = "text/javascript";
+        } else if (path.endsWith(".css")) {
+            contentType = "text/css";
+        } else {
+            contentType = URLConnection.guessContentTypeFromName(new File(path).getName());
+        }
+        return contentType != null ? contentType : "plain/text";
+    }
+
+    private static boolean isCompressible(String contentType) {
+        return contentType.startsWith("text/") ||
+                contentType.endsWith("json") ||
+                contentType.endsWith("javascript") ||
+                contentType.endsWith("xml") ||
+                contentType.equals("image/svg+xml") ||
+                contentType.equals("plain/text");
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gos = new GZIPOutputStream(bos)) {
+            gos.write(data);
+        }
+        return bos.toByteArray();
+    }
+
+    private static String hash(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -6,6 +6,8 @@ import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 import org.example.DefaultConfig;
 import org.example.algorithms.Generator;
+import org.example.dao.DataLock;
+import org.example.dao.json.JsonMapper;
 import org.example.files.SavesHandler;
 import org.example.network.TokenManager;
 import org.example.network.api.processors.ApiProcessor;
@@ -14,25 +16,24 @@ import org.example.network.api.response.*;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.locks.Lock;
 
 public class ApiHandler implements HttpHandler {
     HttpServer server;
     ObjectMapper objectMapper;
     Generator generator;
-    List<ApiProcessor> apiProcessors;
+    ApiRouter apiRouter;
 
     public ApiHandler(HttpServer server) {
         this.server = server;
-        objectMapper = new ObjectMapper();
+        objectMapper = JsonMapper.getInstance();
         generator = new Generator(null);
-        apiProcessors = ApiProcessorList.getAvailableApiProcessors();
+        apiRouter = new ApiRouter(ApiProcessorList.getAvailableApiProcessors());
+        if (DefaultConfig.SERVER_LOG_ROUTES) System.out.print(apiRouter.dump());
     }
 
     public ApiProcessor getApiProcessor(ApiRequest request) {
-        return apiProcessors
-                .stream()
-                .filter(processor -> processor.matches(request))
-                .max(Comparator.comparingInt(p -> p.priority)).orElse(null);
+        return apiRouter.find(request);
     }
 
     @Override
@@ -61,25 +62,38 @@ public class ApiHandler implements HttpHandler {
             apiRequest = ApiRequest.fromHttpExchange(exchange);
         } catch (IOException e) {
             new ServerErrorApiResponse().send(exchange, allowedOrigin);
+            return;
         }
         ApiProcessor apiProcessor = getApiProcessor(apiRequest);
         ApiResponse apiResponse;
+        Lock lock = null;
+        if (apiProcessor != null && apiProcessor.locksData) {
+            DataLock dataLock = DataLock.getInstance();
+            lock = requestMethod.equals("GET") ? dataLock.readLock() : dataLock.writeLock();
+            lock.lock();
+        }
         try {
-            if (apiProcessor == null) {
-                apiResponse = new TextApiResponse(405, "Unsupported request");
-            } else {
-                apiResponse = apiProcessor.process(apiRequest);
+            try {
+                if (apiProcessor == null) {
+                    apiResponse = new TextApiResponse(405, "Unsupported request");
+                } else {
+                    apiResponse = apiProcessor.process(apiRequest);
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+                apiResponse = new ServerErrorApiResponse();
             }
-        } catch (Exception e) {
-            e.printStackTrace();
-            apiResponse = new ServerErrorApiResponse();
+            //the lock is held while sending as streamed responses serialize the data while sending
+            apiResponse.send(exchange, allowedOrigin);
+        } finally {
+            if (lock != null) lock.unlock();
         }
-        apiResponse.send(exchange, allowedOrigin);
 
         if (
                 !isResponseUnsuccessful(apiResponse) &&
                         !requestMethod.equals("GET") &&
                         !path.startsWith("/io/saves") &&
+                        !path.startsWith("/io/schedule/jobs") &&
                         !path.startsWith("/io/config/global/")
         ) {
             SavesHandler.getInstance().markUnsaved();
@@ -0,0 +1,109 @@
+package org.example.network.api;
+
+import org.example.network.api.processors.ApiProcessor;
+
+import java.util.*;
+
+/**
+ * Finds the {@link ApiProcessor} of a request from a tree of path segments built once from the processors,
+ * so the lookup cost depends on the depth of the path and not on the number of processors.<br>
+ * Every node holds the processors of it's path grouped by the set of query names they accept.
+ * When several processors match a request the one with the highest priority is returned.
+ */
+public class ApiRouter {
+    private static final String WILDCARD = "*";
+    //key of processors accepting any queries
+    private static final String ANY_QUERY = "?";
+
+    private static class Node {
+        final HashMap<String, Node> children = new HashMap<>();
+        //query name signature -> processors sorted by descending priority
+        final HashMap<String, List<ApiProcessor>> processors = new HashMap<>();
+    }
+
+    private final Node root = new Node();
+    private final List<ApiProcessor> routed = new ArrayList<>();
+
+    public ApiRouter(List<ApiProcessor> apiProcessors) {
+        for (ApiProcessor processor : apiProcessors) {
+            if (processor.route == null)
+                throw new IllegalArgumentException(processor.getClass().getSimpleName() + " has no route");
+            Node node = root;
+            for (String segment : split(processor.route))
+                node = node.children.computeIfAbsent(segment, s -> new Node());
+            String signature = processor.queryNames == null ? ANY_QUERY : getSignature(processor.queryNames);
+            node.processors.computeIfAbsent(signature, s -> new ArrayList<>()).add(processor);
+            routed.add(processor);
+        }
+        sort(root);
+    }
+
+    private static void sort(Node node) {
+        //stable sort, the processor registered first is tried first among equal priorities
+        for (List<ApiProcessor> processors : node.processors.values())
+            processors.sort(Comparator.comparingInt((ApiProcessor p) -> p.priority).reversed());
+        for (Node child : node.children.values())
+            sort(child);
+    }
+
+    /**
+     * @return the processor of the request, null if no processor matches
+     */
+    public ApiProcessor find(ApiRequest request) {
+        String[] segments = split(request.path());
+        String signature = getSignature(request.queries().keySet());
+        ApiProcessor best = null;
+
+        Node node = root;
+        for (int i = 0; i <= segments.length && node != null; i++) {
+            //a wildcard child matches the non-empty rest of the path
+            Node wildcard = node.children.get(WILDCARD);
+            if (wildcard != null && i < segments.length && !(i == segments.length - 1 && segments[i].isEmpty()))
+                best = select(wildcard, signature, request, best);
+            if (i == segments.length) best = select(node, signature, request, best);
+            else node = node.children.get(segments[i]);
+        }
+        return best;
+    }
+
+    private static ApiProcessor select(Node node, String signature, ApiRequest request, ApiProcessor best) {
+        best = select(node.processors.get(signature), request, best);
+        return select(node.processors.get(ANY_QUERY), request, best);
+    }
+
+    private static ApiProcessor select(List<ApiProcessor> processors, ApiRequest request, ApiProcessor best) {
+        if (processors == null) return best;
+        for (ApiProcessor processor : processors) {
+            if (best != null && processor.priority <= best.priority) return best;
+            if (processor.matches(request)) return processor;
+        }
+        return best;
+    }
+
+    /**
+     * Lists every route with it's query names, priority and processor, for debugging
+     */
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        for (ApiProcessor processor : routed) {
+            sb.append(processor.route);
+            if (processor.queryNames != null) sb.append(" ?").append(getSignature(processor.queryNames));
+            sb.append(" (priority ").append(processor.priority).append(") -> ")
+                    .append(processor.getClass().getSimpleName()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String[] split(String path) {
+        //keeps a trailing empty segment so "/io/teachers/" doesn't match "/io/teachers"
+        return path.substring(path.startsWith("/") ? 1 : 0).split("/", -1);
+    }
+
+    private static String getSignature(Collection<String> queryNames) {
+        if (queryNames.isEmpty()) return "";
+        if (queryNames.size() == 1) return queryNames.iterator().next();
+        String[] names = queryNames.toArray(new String[0]);
+        Arrays.sort(names);
+        return String.join("&", names);
+    }
+}
@@ -1,11 +1,25 @@
 package org.example.network.api.processors;
 
-import com.sun.net.httpserver.HttpExchange;
 import org.example.network.api.ApiRequest;
 import org.example.network.api.response.ApiResponse;
 
+import java.util.Set;
+
 public abstract class ApiProcessor {
     public int priority = 1;
-    public abstract boolean matches(ApiRequest request);
+    //false for processors which don't touch the data directly or wait for long, see DataLock
+    public boolean locksData = true;
+    //path of the endpoint, a last segment of "*" matches any non-empty rest of the path
+    public String route = null;
+    //exact set of query names the endpoint accepts, null to accept any queries
+    public Set<String> queryNames = null;
+
+    /**
+     * Additional check for requests matching the route and query names of this processor
+     */
+    public boolean matches(ApiRequest request) {
+        return true;
+    }
+
     public abstract ApiResponse process(ApiRequest request);
 }
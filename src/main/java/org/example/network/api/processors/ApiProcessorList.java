@@ -41,6 +41,8 @@ public class ApiProcessorList {
                 new ScheduleApiProcessor(),
                 new ScheduleTeacherApiProcessor(),
                 new ScheduleStructureApiProcessor(),
+                new ScheduleJobsApiProcessor(),
+                new ScheduleJobApiProcessor(),
 
                 //File Apis
                 new FileNewApiProcessor(),
@@ -50,6 +52,7 @@ public class ApiProcessorList {
                 new FileCurrentNameApiProcessor(),
                 new FileListApiProcessor(),
                 new FileIsSavedApiProcessor(),
+                new FileAutosaveApiProcessor(),
 
                 //Config Apis
                 new ConfigGlobalApiProcessor()
@@ -12,12 +12,10 @@ import org.example.network.api.response.TextApiResponse;
 import java.sql.SQLException;
 
 public class ConfigGlobalApiProcessor extends ApiProcessor {
-    @Override
-    public boolean matches(ApiRequest request) {
-        String path = request.path();
-        return request.path().startsWith("/io/config/global/") && path.length() > 18;
-    }
 
+    public ConfigGlobalApiProcessor() {
+        super.route = "/io/config/global/*";
+    }
     @Override
     public ApiResponse process(ApiRequest request) {
         String path = request.path();
@@ -9,21 +9,15 @@ import org.example.network.api.response.TextApiResponse;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.Set;
 
 public class FileApiProcessor extends ApiProcessor {
-    private final String endpoint;
     private final FileApiInterface apiInterface;
 
     public FileApiProcessor(String endpoint, FileApiInterface apiInterface) {
-        this.endpoint = endpoint;
         this.apiInterface = apiInterface;
-    }
-
-    @Override
-    public boolean matches(ApiRequest request) {
-        return request.path().equals("/io/saves/" + endpoint) &&
-                request.queries().size() == 1 &&
-                request.queries().containsKey("name");
+        super.route = "/io/saves/" + endpoint;
+        super.queryNames = Set.of("name");
     }
 
     @Override
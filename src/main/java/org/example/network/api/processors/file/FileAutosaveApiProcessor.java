@@ -0,0 +1,29 @@
+package org.example.network.api.processors.file;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.example.dao.json.JsonMapper;
+import org.example.files.AutosaveWriter;
+import org.example.network.api.ApiRequest;
+import org.example.network.api.processors.ApiProcessor;
+import org.example.network.api.response.*;
+
+public class FileAutosaveApiProcessor extends ApiProcessor {
+
+    public FileAutosaveApiProcessor() {
+        super.route = "/io/saves/autosave";
+        //the status doesn't depend on the data, it shouldn't wait for modifying requests
+        super.locksData = false;
+    }
+
+    @Override
+    public ApiResponse process(ApiRequest request) {
+        if (!request.method().equals("GET")) return new InvalidMethodApiResponse();
+        try {
+            String response = JsonMapper.getInstance().writeValueAsString(AutosaveWriter.getInstance().getStatus());
+            return new JsonApiResponse(200, response);
+        } catch (JsonProcessingException e) {
+            e.printStackTrace();
+            return new ServerErrorApiResponse();
+        }
+    }
+}
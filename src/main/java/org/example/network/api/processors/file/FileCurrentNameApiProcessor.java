@@ -12,11 +12,10 @@ import java.io.IOException;
 import java.sql.SQLException;
 
 public class FileCurrentNameApiProcessor extends ApiProcessor {
-    @Override
-    public boolean matches(ApiRequest request) {
-        return request.path().equals("/io/saves/currentName");
-    }
 
+    public FileCurrentNameApiProcessor() {
+        super.route = "/io/saves/currentName";
+    }
     @Override
     public ApiResponse process(ApiRequest request) {
         try {
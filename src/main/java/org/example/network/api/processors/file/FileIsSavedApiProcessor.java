@@ -8,11 +8,10 @@ import org.example.network.api.response.ApiResponse;
 import org.example.network.api.response.TextApiResponse;
 
 public class FileIsSavedApiProcessor extends ApiProcessor {
-    @Override
-    public boolean matches(ApiRequest request) {
-        return request.path().equals("/io/saves/isSaved");
-    }
 
+    public FileIsSavedApiProcessor() {
+        super.route = "/io/saves/isSaved";
+    }
     @Override
     public ApiResponse process(ApiRequest request) {
         try {
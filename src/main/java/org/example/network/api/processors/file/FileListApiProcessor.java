@@ -1,6 +1,7 @@
 package org.example.network.api.processors.file;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dao.json.JsonMapper;
 import org.example.files.SavesHandler;
 import org.example.files.TTSFileException;
 import org.example.network.api.ApiRequest;
@@ -14,14 +15,13 @@ import java.io.IOException;
 import java.sql.SQLException;
 
 public class FileListApiProcessor extends ApiProcessor {
-    @Override
-    public boolean matches(ApiRequest request) {
-        return request.path().equals("/io/saves/list");
-    }
 
+    public FileListApiProcessor() {
+        super.route = "/io/saves/list";
+    }
     @Override
     public ApiResponse process(ApiRequest request) {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = JsonMapper.getInstance();
         try {
             String response = objectMapper.writeValueAsString(SavesHandler.getInstance().getSavesList());
             return new JsonApiResponse(200, response);
@@ -1,28 +1,35 @@
 package org.example.network.api.processors.schedule;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.example.algorithms.Generator;
-import org.example.files.SavesHandler;
-import org.example.interfaces.OnResultListener;
+import org.example.dao.DataLock;
+import org.example.dao.json.JsonMapper;
 import org.example.network.api.ApiRequest;
 import org.example.network.api.processors.ApiProcessor;
 import org.example.network.api.response.*;
+import org.example.network.jobs.GenerationJob;
+import org.example.network.jobs.GenerationJobManager;
+import org.example.network.jobs.GenerationJobStatus;
 import org.example.pojo.ScheduleSolution;
 
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Blocking generation kept for older clients, new clients should use the jobs api at /io/schedule/jobs
+ */
 public class ScheduleGeneratorApiProcessor extends ApiProcessor {
 
     public ScheduleGeneratorApiProcessor() {
+        super.route = "/io/schedule";
+        super.queryNames = Set.of("generatenew");
         super.priority = 2;
+        //waits for the generator, which needs the write lock to store it's result
+        super.locksData = false;
     }
 
     @Override
     public boolean matches(ApiRequest request) {
-        return request.path().equals("/io/schedule") &&
-                request.queries().size() == 1 &&
-                request.queries()
-                        .getOrDefault("generatenew", "false")
-                        .equals("true");
+        return request.queries().get("generatenew").equals("true");
     }
 
     @Override
@@ -31,42 +38,33 @@ public class ScheduleGeneratorApiProcessor extends ApiProcessor {
             return new InvalidMethodApiResponse();
         }
 
-        final ObjectMapper objectMapper = new ObjectMapper();
-        final ApiResponse[] apiResponse = {null};
-        final Object lock = new Object();
+        GenerationJob job = GenerationJobManager.getInstance().start();
+        if (job == null) {
+            return new TextApiResponse(409, "A schedule is already being generated");
+        }
 
-        Generator generator = new Generator(new OnResultListener() {
-            @Override
-            public void onResult() {
-                try {
-                    String response = objectMapper.writeValueAsString(ScheduleSolution.getInstance().getData());
-                    apiResponse[0] =  new JsonApiResponse(200, response);
-                    SavesHandler.getInstance().markUnsaved();
-                } catch (JsonProcessingException e) {
-                    e.printStackTrace();
-                    apiResponse[0] = new ServerErrorApiResponse();
-                }
-                synchronized (lock) {
-                    lock.notify();
-                }
-                System.gc();
-            }
+        GenerationJobStatus status;
+        try {
+            status = job.awaitCompletion();
+        } catch (InterruptedException e) {
+            job.cancel();
+            Thread.currentThread().interrupt();
+            return new ServerErrorApiResponse();
+        }
+        if (status.status() != GenerationJob.Status.COMPLETED) {
+            return new TextApiResponse(500, status.error());
+        }
 
-            @Override
-            public void onError(String msg) {
-                apiResponse[0] = new TextApiResponse(500, msg);
-                lock.notify();
-                System.gc();
-            }
-        });
-        generator.generate();
-        synchronized (lock) {
-            try {
-                lock.wait();
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
+        //the route doesn't hold the data lock, serialize the schedule under the read lock so edits can't interleave
+        Lock lock = DataLock.getInstance().readLock();
+        lock.lock();
+        try {
+            return new JsonApiResponse(200, JsonMapper.getInstance().writeValueAsString(ScheduleSolution.getInstance().getData()));
+        } catch (JsonProcessingException e) {
+            e.printStackTrace();
+            return new ServerErrorApiResponse();
+        } finally {
+            lock.unlock();
         }
-        return apiResponse[0];
     }
 }
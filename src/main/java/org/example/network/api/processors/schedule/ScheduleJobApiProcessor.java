@@ -0,0 +1,59 @@
+package org.example.network.api.processors.schedule;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.example.dao.json.JsonMapper;
+import org.example.network.api.ApiRequest;
+import org.example.network.api.processors.ApiProcessor;
+import org.example.network.api.response.*;
+import org.example.network.jobs.GenerationJob;
+import org.example.network.jobs.GenerationJobManager;
+
+public class ScheduleJobApiProcessor extends ApiProcessor {
+
+    public ScheduleJobApiProcessor() {
+        super.route = "/io/schedule/jobs/*";
+        super.locksData = false;
+    }
+
+    @Override
+    public ApiResponse process(ApiRequest request) {
+        String[] segments = request.path().substring("/io/schedule/jobs/".length()).split("/");
+        boolean events = segments.length == 2 && segments[1].equals("events");
+        if (segments.length > 2 || (segments.length == 2 && !events)) {
+            return new TextApiResponse(404, "Not found");
+        }
+
+        GenerationJob job;
+        try {
+            job = GenerationJobManager.getInstance().get(Integer.parseInt(segments[0]));
+        } catch (NumberFormatException e) {
+            return new TextApiResponse(400, "Job id must be a number");
+        }
+        if (job == null) {
+            return new TextApiResponse(404, "Job not found");
+        }
+
+        if (events) {
+            if (!request.method().equals("GET")) return new InvalidMethodApiResponse();
+            return new EventStreamApiResponse(job);
+        }
+
+        switch (request.method()) {
+            case "GET" -> {
+                try {
+                    return new JsonApiResponse(200, JsonMapper.getInstance().writeValueAsString(job.getStatus()));
+                } catch (JsonProcessingException e) {
+                    e.printStackTrace();
+                    return new ServerErrorApiResponse();
+                }
+            }
+            case "DELETE" -> {
+                job.cancel();
+                return new TextApiResponse(200, "Request accepted");
+            }
+            default -> {
+                return new InvalidMethodApiResponse();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.network.api.processors.schedule;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dao.json.JsonMapper;
+import org.example.network.api.ApiRequest;
+import org.example.network.api.processors.ApiProcessor;
+import org.example.network.api.response.*;
+import org.example.network.jobs.GenerationJob;
+import org.example.network.jobs.GenerationJobManager;
+
+public class ScheduleJobsApiProcessor extends ApiProcessor {
+
+    public ScheduleJobsApiProcessor() {
+        super.route = "/io/schedule/jobs";
+        super.locksData = false;
+    }
+
+    @Override
+    public ApiResponse process(ApiRequest request) {
+        ObjectMapper objectMapper = JsonMapper.getInstance();
+        try {
+            switch (request.method()) {
+                case "GET" -> {
+                    String response = objectMapper.writeValueAsString(GenerationJobManager.getInstance().getStatuses());
+                    return new JsonApiResponse(200, response);
+                }
+                case "POST" -> {
+                    GenerationJob job = GenerationJobManager.getInstance().start();
+                    if (job == null) {
+                        return new TextApiResponse(409, "A schedule is already being generated");
+                    }
+                    return new JsonApiResponse(202, objectMapper.writeValueAsString(job.getStatus()));
+                }
+                default -> {
+                    return new InvalidMethodApiResponse();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            e.printStackTrace();
+            return new ServerErrorApiResponse();
+        }
+    }
+}
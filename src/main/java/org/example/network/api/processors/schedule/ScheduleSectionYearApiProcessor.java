@@ -1,32 +1,28 @@
 package org.example.network.api.processors.schedule;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonSerializable;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dao.json.JsonMapper;
 import org.example.network.api.ApiRequest;
 import org.example.network.api.processors.ApiProcessor;
 import org.example.network.api.response.*;
 import org.example.pojo.ScheduleSolution;
 
 import java.util.List;
+import java.util.Set;
 
 public class ScheduleSectionYearApiProcessor extends ApiProcessor {
 
     public ScheduleSectionYearApiProcessor() {
+        super.route = "/io/schedule";
+        super.queryNames = Set.of("year", "sec");
         super.priority = 3;
     }
 
-    @Override
-    public boolean matches(ApiRequest request) {
-        return request.path().equals("/io/schedule") &&
-                request.queries().size() == 2 &&
-                request.queries().containsKey("year") &&
-                request.queries().containsKey("sec");
-    }
-
     @Override
     public ApiResponse process(ApiRequest request) {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = JsonMapper.getInstance();
         int year;
         try {
             year = Integer.parseInt(request.queries().get("year"));
@@ -41,15 +37,9 @@ public class ScheduleSectionYearApiProcessor extends ApiProcessor {
         }
         switch (request.method()) {
             case "GET" -> {
-                String response;
-                try {
-                    response = objectMapper.writeValueAsString(ScheduleSolution.getInstance().getData(year, sec));
-                } catch (JsonProcessingException e) {
-                    e.printStackTrace();
-                    return new ServerErrorApiResponse();
-                }
-                if (response.equals("null")) return new TextApiResponse(400, "Semester or section invalid");
-                else return new JsonApiResponse(200, response);
+                JsonSerializable data = ScheduleSolution.getInstance().getData(year, sec);
+                if (data == null) return new TextApiResponse(400, "Semester or section invalid");
+                else return new StreamingJsonApiResponse(200, data);
             }
             case "PUT" -> {
                 try {
@@ -2,6 +2,7 @@ package org.example.network.api.processors.schedule;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dao.json.JsonMapper;
 import org.example.network.api.ApiRequest;
 import org.example.network.api.processors.ApiProcessor;
 import org.example.network.api.response.*;
@@ -11,14 +12,13 @@ import org.example.pojo.ScheduleStructure;
 import java.io.IOException;
 
 public class ScheduleStructureApiProcessor extends ApiProcessor {
-    @Override
-    public boolean matches(ApiRequest request) {
-        return request.path().equals("/io/schedule/structure");
-    }
 
+    public ScheduleStructureApiProcessor() {
+        super.route = "/io/schedule/structure";
+    }
     @Override
     public ApiResponse process(ApiRequest request) {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = JsonMapper.getInstance();
         switch (request.method()) {
             case "GET" -> {
                 try {
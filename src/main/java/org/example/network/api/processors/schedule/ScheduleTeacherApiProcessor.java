@@ -1,30 +1,25 @@
 package org.example.network.api.processors.schedule;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.dao.TeacherDao;
 import org.example.network.api.ApiRequest;
 import org.example.network.api.processors.ApiProcessor;
 import org.example.network.api.response.ApiResponse;
 import org.example.network.api.response.InvalidMethodApiResponse;
-import org.example.network.api.response.ServerErrorApiResponse;
+import org.example.network.api.response.StreamingJsonApiResponse;
 import org.example.network.api.response.TextApiResponse;
 import org.example.pojo.ScheduleSolution;
 
 public class ScheduleTeacherApiProcessor extends ApiProcessor {
-    @Override
-    public boolean matches(ApiRequest request) {
-        String path = request.path();
-        return path.startsWith("/io/schedule/teacher/") && path.length() > 21;
-    }
 
+    public ScheduleTeacherApiProcessor() {
+        super.route = "/io/schedule/teacher/*";
+    }
     @Override
     public ApiResponse process(ApiRequest request) {
         if (!request.method().equals("GET")) {
             return new InvalidMethodApiResponse();
         }
 
-        ObjectMapper objectMapper = new ObjectMapper();
         String path = request.path();
         String name = path.substring(path.lastIndexOf("/") + 1).toUpperCase();
 
@@ -34,12 +29,6 @@ public class ScheduleTeacherApiProcessor extends ApiProcessor {
         if (ScheduleSolution.getInstance().isEmpty()) {
             return new TextApiResponse(404, "Schedule is empty");
         }
-        try {
-            String response = objectMapper.writeValueAsString(ScheduleSolution.getInstance().getTeacherScheduleByName(name));
-            return new TextApiResponse(200, response);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
-            return new ServerErrorApiResponse();
-        }
+        return new StreamingJsonApiResponse(200, ScheduleSolution.getInstance().getTeacherScheduleByName(name));
     }
 }
@@ -1,46 +1,35 @@
 package org.example.network.api.processors.schedule;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonSerializable;
 import org.example.network.api.ApiRequest;
 import org.example.network.api.processors.ApiProcessor;
 import org.example.network.api.response.*;
 import org.example.pojo.ScheduleSolution;
 
+import java.util.Set;
+
 public class ScheduleYearApiProcessor extends ApiProcessor {
 
     public ScheduleYearApiProcessor() {
+        super.route = "/io/schedule";
+        super.queryNames = Set.of("year");
         super.priority = 2;
     }
 
-    @Override
-    public boolean matches(ApiRequest request) {
-        return request.path().equals("/io/schedule") &&
-                request.queries().size() == 1 &&
-                request.queries().containsKey("year");
-    }
-
     @Override
     public ApiResponse process(ApiRequest request) {
         if (!request.method().equals("GET")) {
             return new InvalidMethodApiResponse();
         }
 
-        ObjectMapper objectMapper = new ObjectMapper();
         int year;
         try {
             year = Integer.parseInt(request.queries().get("year"));
         } catch (NumberFormatException e) {
             return new TextApiResponse(400, "Year must be a number");
         }
-        String response;
-        try {
-            response = objectMapper.writeValueAsString(ScheduleSolution.getInstance().getData(year));
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
-            return new ServerErrorApiResponse();
-        }
-        if (response.equals("null")) return new TextApiResponse(400, "Year or section invalid");
-        else return new JsonApiResponse(200, response);
+        JsonSerializable data = ScheduleSolution.getInstance().getData(year);
+        if (data == null) return new TextApiResponse(400, "Year or section invalid");
+        else return new StreamingJsonApiResponse(200, data);
     }
 }
@@ -3,6 +3,7 @@ package org.example.network.api.processors.student;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.dao.StudentDao;
+import org.example.dao.json.JsonMapper;
 import org.example.network.api.ApiRequest;
 import org.example.network.api.processors.ApiProcessor;
 import org.example.network.api.response.*;
@@ -11,15 +12,13 @@ import org.example.pojo.Student;
 import java.io.IOException;
 
 public class SingleStudentApiProcessor extends ApiProcessor {
-    @Override
-    public boolean matches(ApiRequest request) {
-        String path = request.path();
-        return path.startsWith("/io/students/") && (path.length() > "/io/students/".length());
-    }
 
+    public SingleStudentApiProcessor() {
+        super.route = "/io/students/*";
+    }
     @Override
     public ApiResponse process(ApiRequest request) {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = JsonMapper.getInstance();
         String path = request.path();
         String roll = path.substring(path.lastIndexOf("/") + 1).toUpperCase();
         switch (request.method()) {
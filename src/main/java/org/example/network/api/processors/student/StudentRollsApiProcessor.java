@@ -1,8 +1,8 @@
 package org.example.network.api.processors.student;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.dao.StudentDao;
+import org.example.dao.json.JsonMapper;
 import org.example.network.api.ApiRequest;
 import org.example.network.api.processors.ApiProcessor;
 import org.example.network.api.response.ApiResponse;
@@ -13,14 +13,10 @@ import org.example.network.api.response.ServerErrorApiResponse;
 public class StudentRollsApiProcessor extends ApiProcessor {
 
     public StudentRollsApiProcessor() {
+        super.route = "/io/students/rolls";
         super.priority = 2;
     }
 
-    @Override
-    public boolean matches(ApiRequest request) {
-        return request.path().equals("/io/students/rolls");
-    }
-
     @Override
     public ApiResponse process(ApiRequest request) {
         if (!request.method().equals("GET")) {
@@ -28,7 +24,7 @@ public class StudentRollsApiProcessor extends ApiProcessor {
         }
         String response;
         try {
-            response = new ObjectMapper().writeValueAsString(StudentDao.getInstance().keySet());
+            response = JsonMapper.getInstance().writeValueAsString(StudentDao.getInstance().keySet());
             return new JsonApiResponse(200, response);
         } catch (JsonProcessingException e) {
             e.printStackTrace();
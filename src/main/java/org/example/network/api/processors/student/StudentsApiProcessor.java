@@ -1,9 +1,9 @@
 package org.example.network.api.processors.student;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.dao.StudentDao;
+import org.example.dao.json.JsonMapper;
 import org.example.network.api.ApiRequest;
 import org.example.network.api.processors.ApiProcessor;
 import org.example.network.api.response.*;
@@ -13,24 +13,16 @@ import java.io.IOException;
 import java.util.Iterator;
 
 public class StudentsApiProcessor extends ApiProcessor {
-    @Override
-    public boolean matches(ApiRequest request) {
-        String path = request.path();
-        return path.equals("/io/students");
-    }
 
+    public StudentsApiProcessor() {
+        super.route = "/io/students";
+    }
     @Override
     public ApiResponse process(ApiRequest request) {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = JsonMapper.getInstance();
         switch (request.method()) {
             case "GET" -> {
-                try {
-                    String response = objectMapper.writeValueAsString(StudentDao.getInstance());
-                    return new JsonApiResponse(200, response);
-                } catch (JsonProcessingException e) {
-                    e.printStackTrace();
-                    return new ServerErrorApiResponse();
-                }
+                return new StreamingJsonApiResponse(200, StudentDao.getInstance());
             }
             case "PUT" -> {
                 JsonNode arr;
@@ -3,6 +3,7 @@ package org.example.network.api.processors.subject;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.dao.SubjectDao;
+import org.example.dao.json.JsonMapper;
 import org.example.network.api.ApiRequest;
 import org.example.network.api.processors.ApiProcessor;
 import org.example.network.api.response.*;
@@ -12,15 +13,13 @@ import org.example.pojo.Subject;
 import java.io.IOException;
 
 public class SingleSubjectApiProcessor extends ApiProcessor {
-    @Override
-    public boolean matches(ApiRequest request) {
-        String path = request.path();
-        return path.startsWith("/io/subjects/") && (path.length() > "/io/subjects/".length());
-    }
 
+    public SingleSubjectApiProcessor() {
+        super.route = "/io/subjects/*";
+    }
     @Override
     public ApiResponse process(ApiRequest request) {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = JsonMapper.getInstance();
         String path = request.path();
         String code = path.substring(path.lastIndexOf("/") + 1).toUpperCase();
         switch (request.method()) {
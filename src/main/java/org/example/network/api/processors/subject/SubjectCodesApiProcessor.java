@@ -1,8 +1,8 @@
 package org.example.network.api.processors.subject;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.dao.SubjectDao;
+import org.example.dao.json.JsonMapper;
 import org.example.network.api.ApiRequest;
 import org.example.network.api.processors.ApiProcessor;
 import org.example.network.api.response.ApiResponse;
@@ -13,14 +13,10 @@ import org.example.network.api.response.ServerErrorApiResponse;
 public class SubjectCodesApiProcessor extends ApiProcessor {
 
     public SubjectCodesApiProcessor() {
+        super.route = "/io/subjects/codes";
         super.priority = 2;
     }
 
-    @Override
-    public boolean matches(ApiRequest request) {
-        return request.path().equals("/io/subjects/codes");
-    }
-
     @Override
     public ApiResponse process(ApiRequest request) {
         if (!request.method().equals("GET")) {
@@ -28,7 +24,7 @@ public class SubjectCodesApiProcessor extends ApiProcessor {
         }
         String response;
         try {
-            response = new ObjectMapper().writeValueAsString(SubjectDao.getInstance().keySet());
+            response = JsonMapper.getInstance().writeValueAsString(SubjectDao.getInstance().keySet());
             return new JsonApiResponse(200, response);
         } catch (JsonProcessingException e) {
             e.printStackTrace();
@@ -1,9 +1,9 @@
 package org.example.network.api.processors.subject;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.dao.SubjectDao;
+import org.example.dao.json.JsonMapper;
 import org.example.network.api.ApiRequest;
 import org.example.network.api.processors.ApiProcessor;
 import org.example.network.api.response.*;
@@ -14,23 +14,16 @@ import java.io.IOException;
 import java.util.Iterator;
 
 public class SubjectsApiProcessor extends ApiProcessor {
-    @Override
-    public boolean matches(ApiRequest request) {
-        return request.path().equals("/io/subjects");
-    }
 
+    public SubjectsApiProcessor() {
+        super.route = "/io/subjects";
+    }
     @Override
     public ApiResponse process(ApiRequest request) {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = JsonMapper.getInstance();
         switch (request.method()) {
             case "GET" -> {
-                try {
-                    String response = objectMapper.writeValueAsString(SubjectDao.getInstance());
-                    return new JsonApiResponse(200, response);
-                } catch (JsonProcessingException e) {
-                    e.printStackTrace();
-                    return new ServerErrorApiResponse();
-                }
+                return new StreamingJsonApiResponse(200, SubjectDao.getInstance());
             }
             case "PUT" -> {
                 JsonNode arr;
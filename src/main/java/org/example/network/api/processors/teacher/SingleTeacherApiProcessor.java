@@ -3,6 +3,7 @@ package org.example.network.api.processors.teacher;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.dao.TeacherDao;
+import org.example.dao.json.JsonMapper;
 import org.example.network.api.ApiRequest;
 import org.example.network.api.processors.ApiProcessor;
 import org.example.network.api.response.*;
@@ -13,15 +14,13 @@ import java.io.IOException;
 import java.util.regex.Pattern;
 
 public class SingleTeacherApiProcessor extends ApiProcessor {
-    @Override
-    public boolean matches(ApiRequest request) {
-        String path = request.path();
-        return path.startsWith("/io/teachers/") && (path.length() > "/io/teachers/".length());
-    }
 
+    public SingleTeacherApiProcessor() {
+        super.route = "/io/teachers/*";
+    }
     @Override
     public ApiResponse process(ApiRequest request) {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = JsonMapper.getInstance();
         String path = request.path();
         String name = path.substring(path.lastIndexOf("/") + 1).toUpperCase();
         switch (request.method()) {
@@ -1,8 +1,8 @@
 package org.example.network.api.processors.teacher;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.dao.TeacherDao;
+import org.example.dao.json.JsonMapper;
 import org.example.network.api.ApiRequest;
 import org.example.network.api.processors.ApiProcessor;
 import org.example.network.api.response.ApiResponse;
@@ -13,21 +13,16 @@ import org.example.network.api.response.ServerErrorApiResponse;
 public class TeacherNamesApiProcessor extends ApiProcessor {
 
     public TeacherNamesApiProcessor() {
+        super.route = "/io/teachers/names";
         super.priority = 2;
     }
 
-    @Override
-    public boolean matches(ApiRequest request) {
-        String endpoint = "/io/teachers/names";
-        return request.path().equals(endpoint);
-    }
-
     @Override
     public ApiResponse process(ApiRequest request) {
         if (request.method().equals("GET")) {
 
             try {
-                String response = new ObjectMapper().writeValueAsString(TeacherDao.getInstance().keySet());
+                String response = JsonMapper.getInstance().writeValueAsString(TeacherDao.getInstance().keySet());
                 return new JsonApiResponse(200, response);
             } catch (JsonProcessingException e) {
                 e.printStackTrace();
@@ -1,9 +1,9 @@
 package org.example.network.api.processors.teacher;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.dao.TeacherDao;
+import org.example.dao.json.JsonMapper;
 import org.example.network.api.ApiRequest;
 import org.example.network.api.processors.ApiProcessor;
 import org.example.network.api.response.*;
@@ -16,24 +16,16 @@ import java.util.regex.Pattern;
 
 public class TeachersApiProcessor extends ApiProcessor {
 
-    @Override
-    public boolean matches(ApiRequest request) {
-        String endpoint = "/io/teachers";
-        return request.path().equals(endpoint);
+    public TeachersApiProcessor() {
+        super.route = "/io/teachers";
     }
 
     @Override
     public ApiResponse process(ApiRequest request) {
-        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper objectMapper = JsonMapper.getInstance();
         switch (request.method()) {
             case "GET" -> {
-                try {
-                    String response = objectMapper.writeValueAsString(TeacherDao.getInstance());
-                    return new JsonApiResponse(200, response);
-                } catch (JsonProcessingException e) {
-                    e.printStackTrace();
-                    return new ServerErrorApiResponse();
-                }
+                return new StreamingJsonApiResponse(200, TeacherDao.getInstance());
             }
             case "PUT" -> {
                 JsonNode arr;
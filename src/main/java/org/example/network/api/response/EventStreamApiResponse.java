@@ -0,0 +1,65 @@
+package org.example.network.api.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import org.example.dao.json.JsonMapper;
+import org.example.network.jobs.GenerationJob;
+import org.example.network.jobs.GenerationJobStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams the status of a generation job as server-sent events.<br>
+ * A "progress" event is sent for the current status and after every generation, followed by one "end" event
+ * once the job finishes. The events are written from the job's listener thread, so sending returns immediately
+ * and the exchange stays open until the job finishes or the client disconnects.
+ */
+public class EventStreamApiResponse implements ApiResponse {
+    private final GenerationJob job;
+    private final ObjectMapper objectMapper = JsonMapper.getInstance();
+
+    public EventStreamApiResponse(GenerationJob job) {
+        this.job = job;
+    }
+
+    @Override
+    public void send(HttpExchange exchange, String allowedOrigin) {
+        OutputStream os;
+        try {
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("Content-Type", "text/event-stream");
+            headers.set("Cache-Control", "no-cache");
+            headers.set("Access-Control-Allow-Origin", allowedOrigin);
+            //0 = chunked, the length is unknown
+            exchange.sendResponseHeaders(200, 0);
+            os = exchange.getResponseBody();
+        } catch (IOException e) {
+            e.printStackTrace();
+            exchange.close();
+            return;
+        }
+
+        job.addListener(status -> {
+            try {
+                os.write(toEvent(status));
+                os.flush();
+                if (status.isFinished()) os.close();
+                return !status.isFinished();
+            } catch (IOException e) {
+                //client disconnected
+                exchange.close();
+                return false;
+            }
+        });
+    }
+
+    private byte[] toEvent(GenerationJobStatus status) throws JsonProcessingException {
+        String event = "event: " + (status.isFinished() ? "end" : "progress") + "\n" +
+                "data: " + objectMapper.writeValueAsString(status) + "\n\n";
+        return event.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.network.api.response;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import org.example.dao.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Serializes a value straight into the response body with chunked transfer encoding,
+ * without building the whole json string first.<br>
+ * The value is serialized while sending, so it must not be modified until {@link #send} returns.
+ */
+public class StreamingJsonApiResponse implements ApiResponse {
+    private final int code;
+    private final Object value;
+
+    public StreamingJsonApiResponse(int code, Object value) {
+        this.code = code;
+        this.value = value;
+    }
+
+    @Override
+    public void send(HttpExchange exchange, String allowedOrigin) {
+        try {
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("Content-Type", "application/json");
+            headers.set("Access-Control-Allow-Origin", allowedOrigin);
+            //0 = chunked, the length is unknown until serialized
+            exchange.sendResponseHeaders(code, 0);
+            try (OutputStream os = exchange.getResponseBody()) {
+                JsonMapper.getWriter().writeValue(os, value);
+            }
+        } catch (IOException e) {
+            //the status is already sent, the client sees a truncated body
+            e.printStackTrace();
+            exchange.close();
+        }
+    }
+}
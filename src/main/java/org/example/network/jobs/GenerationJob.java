@@ -0,0 +1,111 @@
+package org.example.network.jobs;
+
+import org.example.algorithms.GenerationProgress;
+import org.example.algorithms.Generator;
+import org.example.interfaces.OnJobUpdateListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+
+/**
+ * One run of the {@link Generator}, started and tracked by the {@link GenerationJobManager}.<br>
+ * A job starts as {@link Status#RUNNING} and moves to exactly one of the finished states,
+ * later updates from the generator are ignored.
+ */
+public class GenerationJob {
+    public enum Status {RUNNING, COMPLETED, FAILED, CANCELLED}
+
+    private final int id;
+    private final long startTime = System.currentTimeMillis();
+    //listeners are called on this executor so a slow client never holds up the generator thread
+    private final Executor listenerExecutor;
+    private final List<OnJobUpdateListener> listeners = new ArrayList<>();
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile Generator generator;
+    private GenerationJobStatus status;
+
+    GenerationJob(int id, Executor listenerExecutor) {
+        this.id = id;
+        this.listenerExecutor = listenerExecutor;
+        this.status = new GenerationJobStatus(id, Status.RUNNING, null, null, startTime, 0);
+    }
+
+    void start(Generator generator) {
+        this.generator = generator;
+        generator.generate();
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public synchronized GenerationJobStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Registers a listener which is immediately called with the current status and then after every update,
+     * until it returns false or the job finishes
+     */
+    public synchronized void addListener(OnJobUpdateListener listener) {
+        GenerationJobStatus current = status;
+        if (!current.isFinished()) listeners.add(listener);
+        listenerExecutor.execute(() -> {
+            if (!listener.onUpdate(current)) removeListener(listener);
+        });
+    }
+
+    public synchronized void removeListener(OnJobUpdateListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Stops the generator, does nothing if the job has already finished
+     */
+    public void cancel() {
+        if (update(Status.CANCELLED, null, "Generation cancelled") && generator != null) generator.stop();
+    }
+
+    /**
+     * Blocks until the job finishes
+     */
+    public GenerationJobStatus awaitCompletion() throws InterruptedException {
+        finished.await();
+        return getStatus();
+    }
+
+    void onProgress(GenerationProgress progress) {
+        update(Status.RUNNING, progress, null);
+    }
+
+    void onCompleted() {
+        update(Status.COMPLETED, null, null);
+    }
+
+    void onFailed(String error) {
+        update(Status.FAILED, null, error);
+    }
+
+    //returns false if the job had already finished
+    private synchronized boolean update(Status newStatus, GenerationProgress progress, String error) {
+        if (status.isFinished()) return false;
+        if (progress == null) progress = status.progress();
+        long endTime = newStatus == Status.RUNNING ? 0 : System.currentTimeMillis();
+        GenerationJobStatus current = new GenerationJobStatus(id, newStatus, progress, error, startTime, endTime);
+        status = current;
+
+        List<OnJobUpdateListener> notified = new ArrayList<>(listeners);
+        if (current.isFinished()) {
+            listeners.clear();
+            finished.countDown();
+        }
+        for (OnJobUpdateListener listener : notified) {
+            listenerExecutor.execute(() -> {
+                if (!listener.onUpdate(current)) removeListener(listener);
+            });
+        }
+        return true;
+    }
+}
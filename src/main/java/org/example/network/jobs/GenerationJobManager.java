@@ -0,0 +1,102 @@
+package org.example.network.jobs;
+
+import org.example.algorithms.GenerationProgress;
+import org.example.algorithms.Generator;
+import org.example.files.SavesHandler;
+import org.example.interfaces.OnResultListener;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Starts schedule generation jobs in the background and keeps track of them.<br>
+ * Only one job runs at a time as every job writes it's result to the shared {@link org.example.pojo.ScheduleSolution}.
+ */
+public class GenerationJobManager {
+    //number of finished jobs whose status is still kept
+    private static final int FINISHED_JOB_HISTORY = 16;
+    private static GenerationJobManager instance = null;
+
+    private final LinkedHashMap<Integer, GenerationJob> jobs = new LinkedHashMap<>();
+    private final ExecutorService listenerExecutor;
+    private int nextId = 1;
+    private GenerationJob runningJob = null;
+
+    private GenerationJobManager() {
+        listenerExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "generation-job-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static synchronized GenerationJobManager getInstance() {
+        if (instance == null) {
+            instance = new GenerationJobManager();
+        }
+        return instance;
+    }
+
+    /**
+     * Starts a new generation job
+     *
+     * @return the started job, null if a job is already running
+     */
+    public synchronized GenerationJob start() {
+        if (runningJob != null && !runningJob.getStatus().isFinished()) return null;
+
+        GenerationJob job = new GenerationJob(nextId++, listenerExecutor);
+        Generator generator = new Generator(new OnResultListener() {
+            @Override
+            public void onResult() {
+                SavesHandler.getInstance().markUnsaved();
+                job.onCompleted();
+                System.gc();
+            }
+
+            @Override
+            public void onError(String msg) {
+                job.onFailed(msg);
+                System.gc();
+            }
+
+            @Override
+            public void onProgress(GenerationProgress progress) {
+                job.onProgress(progress);
+            }
+        });
+        jobs.put(job.getId(), job);
+        removeOldJobs();
+        runningJob = job;
+        job.start(generator);
+        return job;
+    }
+
+    public synchronized GenerationJob get(int id) {
+        return jobs.get(id);
+    }
+
+    public synchronized List<GenerationJobStatus> getStatuses() {
+        List<GenerationJobStatus> statuses = new ArrayList<>();
+        for (GenerationJob job : jobs.values())
+            statuses.add(job.getStatus());
+        return statuses;
+    }
+
+    private void removeOldJobs() {
+        int finishedCount = 0;
+        for (GenerationJob job : jobs.values())
+            if (job.getStatus().isFinished()) finishedCount++;
+        Iterator<GenerationJob> iterator = jobs.values().iterator();
+        while (finishedCount > FINISHED_JOB_HISTORY && iterator.hasNext()) {
+            if (iterator.next().getStatus().isFinished()) {
+                iterator.remove();
+                finishedCount--;
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.network.jobs;
+
+import org.example.algorithms.GenerationProgress;
+
+/**
+ * Immutable snapshot of a {@link GenerationJob}, safe to hand to other threads and to serialize as the status of a job
+ *
+ * @param id        id of the job
+ * @param status    state of the job
+ * @param progress  latest progress of the generator, null until the first generation is evaluated
+ * @param error     reason the job failed or was cancelled, null otherwise
+ * @param startTime start time of the job in epoch milliseconds
+ * @param endTime   end time of the job in epoch milliseconds, 0 while running
+ */
+public record GenerationJobStatus(int id, GenerationJob.Status status, GenerationProgress progress, String error,
+                                  long startTime, long endTime) {
+    public boolean isFinished() {
+        return status != GenerationJob.Status.RUNNING;
+    }
+}
@@ -1,16 +1,22 @@
 package org.example.pojo;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import org.example.algorithms.io.ChromosomeReader;
+import org.example.dao.ChangeTracker;
 import org.example.dao.SubjectDao;
 
 import java.io.IOException;
 import java.util.*;
-import java.util.stream.Stream;
 
 public class ScheduleSolution {
+    //marks an empty field of a slot
+    private static final short NONE = -1;
 
-    //format: data[semester][section][day][period]=new String[]{"teacherName","subjectCode","roomCode"}
-    private List<List<List<List<List<String>>>>> data;
+    //format: slots of data[semester][section][day][period]=new String[]{"teacherName","subjectCode","roomCode"}
+    private Slots slots;
     private static ScheduleSolution instance = null;
 
     private boolean empty = true;
@@ -19,38 +25,232 @@ public class ScheduleSolution {
         this.resetData();
     }
 
-    public static ScheduleSolution getInstance() {
+    public static synchronized ScheduleSolution getInstance() {
         if (instance == null) instance = new ScheduleSolution();
         return instance;
     }
 
+    /**
+     * Interns the strings of a solution, every distinct teacher, subject code and room code is stored once
+     * and slots refer to it by it's id. A teacher of a practical names all of it's teachers joined by '+'.
+     */
+    private static class NamePool {
+        private final ArrayList<String> names = new ArrayList<>();
+        private final HashMap<String, Short> ids = new HashMap<>();
+        //ids of the single teachers named by a teacher, null for subject and room codes
+        private final ArrayList<short[]> teachers = new ArrayList<>();
+
+        short intern(String name) {
+            if (name == null) return NONE;
+            Short id = ids.get(name);
+            if (id != null) return id;
+            if (names.size() == Short.MAX_VALUE)
+                throw new IllegalStateException("Schedule has too many distinct names");
+            id = (short) names.size();
+            names.add(name);
+            ids.put(name, id);
+            teachers.add(null);
+            return id;
+        }
+
+        short internTeacher(String name) {
+            short id = intern(name);
+            if (id == NONE || teachers.get(id) != null) return id;
+            short[] members;
+            if (name.contains("+")) {
+                String[] split = name.split("[+]");
+                members = new short[split.length];
+                for (int i = 0; i < split.length; i++)
+                    members[i] = internTeacher(split[i]);
+            } else {
+                members = new short[]{id};
+            }
+            teachers.set(id, members);
+            return id;
+        }
+
+        short find(String name) {
+            Short id = ids.get(name);
+            return id == null ? NONE : id;
+        }
+
+        String get(short id) {
+            return id == NONE ? null : names.get(id);
+        }
+
+        boolean teaches(short teacherId, short singleTeacherId) {
+            if (teacherId == NONE || singleTeacherId == NONE) return false;
+            for (short member : teachers.get(teacherId))
+                if (member == singleTeacherId) return true;
+            return false;
+        }
+    }
+
+    /**
+     * The slots of every section, stored as dense arrays of name ids indexed by
+     * {@code sectionOffset[semester][section] + day * periodCount + period}
+     */
+    public static class Slots {
+        private final NamePool pool;
+        private final int periodCount;
+        private final int[][] sectionOffset;
+        private final short[] teachers;
+        private final short[] subjects;
+        private final short[] rooms;
+        //semester and section of every block of 5 * periodCount slots
+        private final byte[] slotSemester;
+        private final byte[] slotSection;
+        //slots of the single teacher with id t are teacherSlots[teacherSlotStart[t]..teacherSlotStart[t + 1]]
+        private int[] teacherSlotStart;
+        private int[] teacherSlots;
+
+        //empty slots shaped after the current schedule structure
+        private Slots(NamePool pool) {
+            ScheduleStructure ss = ScheduleStructure.getInstance();
+            this.pool = pool;
+            periodCount = ss.getPeriodCount();
+            sectionOffset = new int[ss.getSemesterCount()][];
+            int sectionCount = 0;
+            for (int i = 0; i < sectionOffset.length; i++)
+                sectionCount += ss.getSectionCount(i * 2 + 1);
+            slotSemester = new byte[sectionCount];
+            slotSection = new byte[sectionCount];
+            int slotCount = 0;
+            for (int i = 0; i < sectionOffset.length; i++) {
+                sectionOffset[i] = new int[ss.getSectionCount(i * 2 + 1)];
+                for (int j = 0; j < sectionOffset[i].length; j++) {
+                    slotSemester[slotCount / (5 * periodCount)] = (byte) i;
+                    slotSection[slotCount / (5 * periodCount)] = (byte) j;
+                    sectionOffset[i][j] = slotCount;
+                    slotCount += 5 * periodCount;
+                }
+            }
+            teachers = new short[slotCount];
+            subjects = new short[slotCount];
+            rooms = new short[slotCount];
+            Arrays.fill(teachers, NONE);
+            Arrays.fill(subjects, NONE);
+            Arrays.fill(rooms, NONE);
+            indexTeachers();
+        }
+
+        /**
+         * Rebuilds the index from every single teacher to the slots it teaches,
+         * has to be called after the teachers of the slots change
+         */
+        private void indexTeachers() {
+            int[] start = new int[pool.names.size() + 1];
+            for (short teacher : teachers) {
+                if (teacher == NONE) continue;
+                for (short member : pool.teachers.get(teacher))
+                    start[member + 1]++;
+            }
+            for (int i = 1; i < start.length; i++)
+                start[i] += start[i - 1];
+            int[] next = Arrays.copyOf(start, start.length - 1);
+            int[] indexed = new int[start[start.length - 1]];
+            for (int i = 0; i < teachers.length; i++) {
+                if (teachers[i] == NONE) continue;
+                for (short member : pool.teachers.get(teachers[i]))
+                    indexed[next[member]++] = i;
+            }
+            teacherSlotStart = start;
+            teacherSlots = indexed;
+        }
+
+        private int getTeacherSlotStart(short teacherId) {
+            return teacherId < teacherSlotStart.length - 1 ? teacherSlotStart[teacherId] : 0;
+        }
+
+        private int getTeacherSlotEnd(short teacherId) {
+            return teacherId < teacherSlotStart.length - 1 ? teacherSlotStart[teacherId + 1] : 0;
+        }
+
+        private int getIndex(int sem, int sec, int day, int period) {
+            if (day < 0 || day >= 5 || period < 0 || period >= periodCount)
+                throw new IndexOutOfBoundsException("Day: " + day + " period: " + period + " out of bounds");
+            return sectionOffset[sem][sec] + day * periodCount + period;
+        }
+
+        private String getSectionKey(int index) {
+            int section = index / (5 * periodCount);
+            return ChangeTracker.sectionKey(slotSemester[section], slotSection[section]);
+        }
+
+        private void set(int index, String teacherName, String subjectCode, String roomCode) {
+            teachers[index] = pool.internTeacher(teacherName);
+            subjects[index] = pool.intern(subjectCode);
+            rooms[index] = pool.intern(roomCode);
+        }
+
+        private void writeSection(JsonGenerator gen, int sem, int sec) throws IOException {
+            gen.writeStartArray();
+            for (int day = 0; day < 5; day++) {
+                gen.writeStartArray();
+                int index = getIndex(sem, sec, day, 0);
+                for (int period = 0; period < periodCount; period++, index++) {
+                    gen.writeStartArray();
+                    gen.writeString(pool.get(teachers[index]));
+                    gen.writeString(pool.get(subjects[index]));
+                    gen.writeString(pool.get(rooms[index]));
+                    gen.writeEndArray();
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndArray();
+        }
+
+        private void writeSemester(JsonGenerator gen, int sem) throws IOException {
+            gen.writeStartArray();
+            for (int sec = 0; sec < sectionOffset[sem].length; sec++)
+                writeSection(gen, sem, sec);
+            gen.writeEndArray();
+        }
+    }
+
+    /**
+     * Serializes slots in the nested list format of the api, without building the lists
+     */
+    private static class SlotsJson extends JsonSerializable.Base {
+        private final Slots slots;
+        //-1 for every semester or section
+        private final int sem;
+        private final int sec;
+
+        private SlotsJson(Slots slots, int sem, int sec) {
+            this.slots = slots;
+            this.sem = sem;
+            this.sec = sec;
+        }
+
+        @Override
+        public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            if (sem == -1) {
+                gen.writeStartArray();
+                for (int i = 0; i < slots.sectionOffset.length; i++)
+                    slots.writeSemester(gen, i);
+                gen.writeEndArray();
+            } else if (sec == -1) {
+                slots.writeSemester(gen, sem);
+            } else {
+                slots.writeSection(gen, sem, sec);
+            }
+        }
+
+        @Override
+        public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+            serialize(gen, serializers);
+        }
+    }
+
     /**
      * Empties the schedule by setting all entries to null without modifying
      * schedule solution structure
      */
     public void resetData() {
         empty = true;
-        ScheduleStructure ss = ScheduleStructure.getInstance();
-        data = new ArrayList<>();
-        for (int i = 0; i < ss.getSemesterCount(); i++) {
-            List<List<List<List<String>>>> dataSection = new ArrayList<>();
-            for (int j = 0; j < ss.getSectionCount(i * 2 + 1); j++) {
-                List<List<List<String>>> dataDay = new ArrayList<>();
-                for (int k = 0; k < 5; k++) {
-                    List<List<String>> dataPeriod = new ArrayList<>();
-                    for (int l = 0; l < ss.getPeriodCount(); l++) {
-                        List<String> dataSlot = new ArrayList<>();
-                        dataSlot.add(null);
-                        dataSlot.add(null);
-                        dataSlot.add(null);
-                        dataPeriod.add(dataSlot);
-                    }
-                    dataDay.add(dataPeriod);
-                }
-                dataSection.add(dataDay);
-            }
-            data.add(dataSection);
-        }
+        slots = new Slots(new NamePool());
+        ChangeTracker.getInstance().markAllChanged(ChangeTracker.Data.SCHEDULE);
     }
 
     /**
@@ -59,38 +259,39 @@ public class ScheduleSolution {
      */
     public void updateStructure() {
         ScheduleStructure ss = ScheduleStructure.getInstance();
-        List<List<List<List<List<String>>>>> previousData = data;
-        boolean isEmpty = empty;
-        resetData();
-        empty = isEmpty;
-        for (int year = 0; year < ss.getSemesterCount() && year < previousData.size(); year++) {
-            for (int sec = 0; sec < ss.getSectionCount(year * 2 + 1) && sec < previousData.get(year).size(); sec++) {
+        Slots previous = slots;
+        slots = new Slots(previous.pool);
+        for (int year = 0; year < slots.sectionOffset.length && year < previous.sectionOffset.length; year++) {
+            byte[] breaks = ss.getBreakLocations(year * 2 + 1);
+            for (int sec = 0; sec < slots.sectionOffset[year].length && sec < previous.sectionOffset[year].length; sec++) {
                 for (int day = 0; day < 5; day++) {
-                    for (int period = 0; period < ss.getPeriodCount() && period < previousData.get(year).get(sec).get(day).size(); period++) {
+                    for (int period = 0; period < slots.periodCount && period < previous.periodCount; period++) {
                         boolean in = true;
-                        for (byte brk : ss.getBreakLocations(year * 2 + 1)) {
+                        for (byte brk : breaks) {
                             if (brk - 1 == period) {
                                 in = false;
                                 break;
                             }
                         }
-                        if (in)
-                            data.get(year).get(sec).get(day).set(period, previousData.get(year).get(sec).get(day).get(period));
+                        if (!in) continue;
+                        int index = slots.getIndex(year, sec, day, period);
+                        int previousIndex = previous.getIndex(year, sec, day, period);
+                        slots.teachers[index] = previous.teachers[previousIndex];
+                        slots.subjects[index] = previous.subjects[previousIndex];
+                        slots.rooms[index] = previous.rooms[previousIndex];
                     }
                 }
             }
         }
+        slots.indexTeachers();
+        ChangeTracker.getInstance().markAllChanged(ChangeTracker.Data.SCHEDULE);
     }
 
     public static class SolutionAccumulator {
-        private final List<List<List<List<List<String>>>>> accumulated;
+        private final Slots accumulated;
 
         public SolutionAccumulator() {
-            // Setting accumulated to an empty solution :
-            var temp = getInstance().data; // creating backup of current solution
-            getInstance().resetData(); // emptying current solution
-            accumulated = getInstance().data; // setting accumulated to current empty solution
-            getInstance().setData(temp); // restoring current solution from backup
+            accumulated = new Slots(getInstance().slots.pool);
         }
 
         public void add(
@@ -102,55 +303,40 @@ public class ScheduleSolution {
                 String teacherName,
                 String roomCode
         ) {
-            accumulated.get(sem).get(sec).get(day).set(period, Arrays.asList(teacherName, subjectCode, roomCode));
+            accumulated.set(accumulated.getIndex(sem, sec, day, period), teacherName, subjectCode, roomCode);
         }
 
-        public List<List<List<List<List<String>>>>> accumulate() {
+        /**
+         * Joins the teachers of the consecutive periods of every practical into one teacher entry
+         */
+        public Slots accumulate() {
             SubjectDao subjectDao = SubjectDao.getInstance();
-            Stream<List<List<String>>> linearPeriodDataStream = accumulated
-                    .stream()
-                    .flatMap(Collection::stream)
-                    .flatMap(Collection::stream);
-
-            linearPeriodDataStream.forEach(dayData -> {
-
-                String previousPracticalSubjectCode = null;
-                LinkedHashSet<String> practicalTeachers = new LinkedHashSet<>();
-                ArrayList<List<String>> practicalPeriodList = new ArrayList<>();
-
-                for (List<String> periodData: dayData) {
-                    String teacherName = periodData.get(0);
-                    String subjectCode = periodData.get(1);
-                    Subject subject = subjectDao.get(subjectCode);
-
-                    if (previousPracticalSubjectCode != null) {
-
-                        if (subjectCode != null && subjectCode.equalsIgnoreCase(previousPracticalSubjectCode)) {
-                            practicalTeachers.add(teacherName);
-                            practicalPeriodList.add(periodData);
-
-                        } else {
-                            String presentedTeacherString = String.join("+", practicalTeachers);
-                            for (List<String> practicalPeriod: practicalPeriodList) {
-                                practicalPeriod.set(0, presentedTeacherString);
-                            }
-                            previousPracticalSubjectCode = null;
-                            practicalTeachers.clear();
-                            practicalPeriodList.clear();
-                        }
-                    } else if (subject != null && subject.isPractical() && !subject.isFree()) {
-                        previousPracticalSubjectCode = subjectCode;
-                        practicalTeachers.add(teacherName);
-                        practicalPeriodList.add(periodData);
+            NamePool pool = accumulated.pool;
+            LinkedHashSet<String> practicalTeachers = new LinkedHashSet<>();
+
+            for (int dayStart = 0; dayStart < accumulated.subjects.length; dayStart += accumulated.periodCount) {
+                int dayEnd = dayStart + accumulated.periodCount;
+                int index = dayStart;
+                while (index < dayEnd) {
+                    short subjectId = accumulated.subjects[index];
+                    Subject subject = subjectId == NONE ? null : subjectDao.get(pool.get(subjectId));
+                    if (subject == null || !subject.isPractical() || subject.isFree()) {
+                        index++;
+                        continue;
                     }
-                }
-                if (previousPracticalSubjectCode != null) {
-                    String presentedTeacherString = String.join("+", practicalTeachers);
-                    for (List<String> practicalPeriod: practicalPeriodList) {
-                        practicalPeriod.set(0, presentedTeacherString);
+
+                    int runStart = index;
+                    practicalTeachers.clear();
+                    while (index < dayEnd && accumulated.subjects[index] == subjectId) {
+                        if (accumulated.teachers[index] != NONE)
+                            practicalTeachers.add(pool.get(accumulated.teachers[index]));
+                        index++;
                     }
+                    short joined = practicalTeachers.isEmpty() ? NONE : pool.internTeacher(String.join("+", practicalTeachers));
+                    Arrays.fill(accumulated.teachers, runStart, index, joined);
                 }
-            });
+            }
+            accumulated.indexTeachers();
             return accumulated;
         }
     }
@@ -165,36 +351,43 @@ public class ScheduleSolution {
         }
 
         public void iterate() {
-            var data = instance.data;
-
-            for (int sem = 0; sem < data.size(); sem++) {
-                var semData = data.get(sem);
-                for (int sec = 0; sec < semData.size(); sec++) {
-                    var secData = semData.get(sec);
-                    for (int day = 0; day < secData.size(); day++) {
-                        var dayData = secData.get(day);
-
-                        int period = 0;
-                        while (period < dayData.size()) {
-
-                            List<String> periodData = dayData.get(period);
-                            String teacher = periodData.get(0);
-                            String subjectCode = periodData.get(1);
-                            String roomCode = periodData.get(2);
-
-                            if (teacher != null && teacher.contains("+")) {
-                                String[] teachersArray = teacher.split("[+]");
-                                for (String splitTeacher: teachersArray)
-                                    iteratorCallback.callback(sem, sec, day, period++, subjectCode, splitTeacher, roomCode);
-                                continue;
-                            }
+            Slots slots = instance.slots;
+            for (int sem = 0; sem < slots.sectionOffset.length; sem++) {
+                for (int sec = 0; sec < slots.sectionOffset[sem].length; sec++)
+                    iterate(slots, sem, sec);
+            }
+        }
 
-                            if (subjectCode != null)
-                                iteratorCallback.callback(sem, sec, day, period, subjectCode, teacher, roomCode);
+        /**
+         * Iterates over the periods of a single section
+         */
+        public void iterate(int sem, int sec) {
+            iterate(instance.slots, sem, sec);
+        }
 
-                            period++;
-                        }
+        private void iterate(Slots slots, int sem, int sec) {
+            NamePool pool = slots.pool;
+            for (int day = 0; day < 5; day++) {
+                int dayStart = slots.getIndex(sem, sec, day, 0);
+
+                int period = 0;
+                while (period < slots.periodCount) {
+                    int index = dayStart + period;
+                    String teacher = pool.get(slots.teachers[index]);
+                    String subjectCode = pool.get(slots.subjects[index]);
+                    String roomCode = pool.get(slots.rooms[index]);
+
+                    //the teachers of a practical take one period each
+                    if (teacher != null && teacher.contains("+")) {
+                        for (short splitTeacher : pool.teachers.get(slots.teachers[index]))
+                            iteratorCallback.callback(sem, sec, day, period++, subjectCode, pool.get(splitTeacher), roomCode);
+                        continue;
                     }
+
+                    if (subjectCode != null)
+                        iteratorCallback.callback(sem, sec, day, period, subjectCode, teacher, roomCode);
+
+                    period++;
                 }
             }
         }
@@ -221,89 +414,78 @@ public class ScheduleSolution {
     }
 
     public void removeAllTeachers() {
-        for (int i = 0; i < data.size(); i++) {
-            var iData = data.get(i);
-            for (int j = 0; j < iData.size(); j++) {
-                var jData = iData.get(j);
-                for (int k = 0; k < 5; k++) {
-                    var kData = jData.get(k);
-                    for (int l = 0; l < kData.size(); l++) {
-                        kData.get(l).set(0, null);
-                    }
-                }
-            }
-        }
+        Arrays.fill(slots.teachers, NONE);
+        slots.indexTeachers();
+        ChangeTracker.getInstance().markAllChanged(ChangeTracker.Data.SCHEDULE);
     }
 
     public void removeTeacherByName(String name) {
-        for (int i = 0; i < data.size(); i++) {
-            for (int j = 0; j < data.get(i).size(); j++) {
-                for (int k = 0; k < 5; k++) {
-                    for (int l = 0; l < data.get(i).get(j).get(k).size(); l++) {
-                        if (data.get(i).get(j).get(k).get(l).get(0) != null && data.get(i).get(j).get(k).get(l).get(0).contains(name))
-                            data.get(i).get(j).get(k).get(l).set(0, null);
-                    }
-                }
-            }
+        short teacherId = slots.pool.find(name);
+        if (teacherId == NONE) return;
+        int end = slots.getTeacherSlotEnd(teacherId);
+        if (slots.getTeacherSlotStart(teacherId) == end) return;
+        for (int i = slots.getTeacherSlotStart(teacherId); i < end; i++) {
+            slots.teachers[slots.teacherSlots[i]] = NONE;
+            ChangeTracker.getInstance().markChanged(ChangeTracker.Data.SCHEDULE, slots.getSectionKey(slots.teacherSlots[i]));
         }
+        slots.indexTeachers();
     }
 
     //format of return [day][period]=new String[]{"semester","section","subject code"}
     public String[][][] getTeacherScheduleByName(String name) {
-        byte periodCount = ScheduleStructure.getInstance().getPeriodCount();
+        int periodCount = slots.periodCount;
         String[][][] sch = new String[5][periodCount][];
-        for (int i = 0; i < data.size(); i++) {
-            for (int j = 0; j < data.get(i).size(); j++) {
-                for (int k = 0; k < 5; k++) {
-                    for (int l = 0; l < data.get(i).get(j).get(k).size(); l++) {
-                        if (data.get(i).get(j).get(k).get(l).get(0) != null && data.get(i).get(j).get(k).get(l).get(0).contains(name)) {
-                            String subject = data.get(i).get(j).get(k).get(l).get(1);
-                            String roomCode = data.get(i).get(j).get(k).get(l).get(2);
-                            sch[k][l] = new String[]{
-                                    String.valueOf(SubjectDao.getInstance().get(subject).getSem()),
-                                    String.valueOf(j),
-                                    subject,
-                                    roomCode
-                            };
-                        }
-                    }
-                }
-            }
+        short teacherId = slots.pool.find(name);
+        if (teacherId == NONE) return sch;
+        SubjectDao subjectDao = SubjectDao.getInstance();
+        int end = slots.getTeacherSlotEnd(teacherId);
+        for (int i = slots.getTeacherSlotStart(teacherId); i < end; i++) {
+            int index = slots.teacherSlots[i];
+            int section = index / (5 * periodCount);
+            int dayPeriod = index % (5 * periodCount);
+            String subject = slots.pool.get(slots.subjects[index]);
+            String roomCode = slots.pool.get(slots.rooms[index]);
+            sch[dayPeriod / periodCount][dayPeriod % periodCount] = new String[]{
+                    String.valueOf(subjectDao.get(subject).getSem()),
+                    String.valueOf(slots.slotSection[section]),
+                    subject,
+                    roomCode
+            };
         }
         return sch;
     }
 
     public void removeSubjectByCode(String code) {
-        for (int i = 0; i < data.size(); i++) {
-            for (int j = 0; j < data.get(i).size(); j++) {
-                for (int k = 0; k < 5; k++) {
-                    for (int l = 0; l < data.get(i).get(j).get(k).size(); l++) {
-                        if (data.get(i).get(j).get(k).get(l).get(1) != null && data.get(i).get(j).get(k).get(l).get(1).equals(code)) {
-                            data.get(i).get(j).get(k).get(l).set(0, null);
-                            data.get(i).get(j).get(k).get(l).set(1, null);
-                            data.get(i).get(j).get(k).get(l).set(2, null);
-                        }
-                    }
-                }
+        short subjectId = slots.pool.find(code);
+        if (subjectId == NONE) return;
+        for (int i = 0; i < slots.subjects.length; i++) {
+            if (slots.subjects[i] == subjectId) {
+                slots.teachers[i] = NONE;
+                slots.subjects[i] = NONE;
+                slots.rooms[i] = NONE;
+                ChangeTracker.getInstance().markChanged(ChangeTracker.Data.SCHEDULE, slots.getSectionKey(i));
             }
         }
+        slots.indexTeachers();
     }
 
-    public List<List<List<List<List<String>>>>> getData() {
-        return data;
+    /**
+     * @return the whole schedule, serialized in the format data[semester][section][day][period]=new String[]{"teacherName","subjectCode","roomCode"}
+     */
+    public JsonSerializable getData() {
+        return new SlotsJson(slots, -1, -1);
     }
 
-    public void setData(List<List<List<List<List<String>>>>> data) {
+    public void setData(Slots slots) {
         empty = false;
-        this.data = data;
+        this.slots = slots;
+        ChangeTracker.getInstance().markAllChanged(ChangeTracker.Data.SCHEDULE);
     }
 
-    public List<List<List<String>>> getData(int year, int section) {
-        try {
-            return this.data.get(year - 1).get(section - 1);
-        } catch (RuntimeException e) {
-            return null;
-        }
+    public JsonSerializable getData(int year, int section) {
+        if (year < 1 || year > slots.sectionOffset.length) return null;
+        if (section < 1 || section > slots.sectionOffset[year - 1].length) return null;
+        return new SlotsJson(slots, year - 1, section - 1);
     }
 
     public String setData(int year, int section, List<List<List<String>>> data) {
@@ -333,16 +515,20 @@ public class ScheduleSolution {
                 }
             }
         }
-        this.data.get(year - 1).set(section - 1, data);
+        for (int i = 0; i < 5; i++) {
+            for (int j = 0; j < periodCount; j++) {
+                List<String> slot = data.get(i).get(j);
+                slots.set(slots.getIndex(year - 1, section - 1, i, j), slot.get(0), slot.get(1), slot.get(2));
+            }
+        }
+        slots.indexTeachers();
+        ChangeTracker.getInstance().markChanged(ChangeTracker.Data.SCHEDULE, ChangeTracker.sectionKey(year - 1, section - 1));
         return null;
     }
 
-    public List<List<List<List<String>>>> getData(int year) {
-        try {
-            return this.data.get(year - 1);
-        } catch (Exception e) {
-            return null;
-        }
+    public JsonSerializable getData(int year) {
+        if (year < 1 || year > slots.sectionOffset.length) return null;
+        return new SlotsJson(slots, year - 1, -1);
     }
 
     public boolean isEmpty() {
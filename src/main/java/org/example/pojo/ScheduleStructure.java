@@ -25,6 +25,9 @@ public class ScheduleStructure {
     private byte semesterCount;
     @JsonIgnore
     private static ScheduleStructure instance;
+    //incremented on every change, used to rebuild snapshots of the structure
+    @JsonIgnore
+    private volatile int version = 0;
 
     @JsonIgnore
     private ScheduleStructure() {
@@ -84,11 +87,17 @@ public class ScheduleStructure {
         return this.semesterCount;
     }
 
+    @JsonIgnore
+    public int getVersion() {
+        return version;
+    }
+
 
     public void setSectionsPerSemester(byte[] sectionsPerSemester) {
         if (sectionsPerSemester.length != semesterCount)
             throw new RuntimeException("Invalid data format");
         this.sectionsPerSemester = sectionsPerSemester;
+        version++;
     }
 
     public void setBreaksPerSemester(byte[][] breaksPerSemester) {
@@ -99,13 +108,16 @@ public class ScheduleStructure {
                 if (br > periodCount) throw new RuntimeException("Invalid data format");
         }
         this.breaksPerSemester = breaksPerSemester;
+        version++;
     }
 
     public void setPeriodCount(byte periodCount) {
         this.periodCount = periodCount;
+        version++;
     }
 
     public void setSemesterCount(byte semesterCount) {
         this.semesterCount = semesterCount;
+        version++;
     }
 }
@@ -1,12 +1,14 @@
 import org.example.algorithms.DayPeriod;
 import org.example.algorithms.Util;
-import org.example.algorithms.io.PopulationStorage;
+import org.example.algorithms.io.PopulationFile;
 import org.example.dao.SubjectDao;
 import org.example.dao.TeacherDao;
 import org.example.pojo.ScheduleStructure;
 import org.example.pojo.Subject;
 
-import java.io.FileNotFoundException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ShortBuffer;
 import java.util.*;
 
 public class ChromosomeTest {
@@ -22,8 +24,11 @@ public class ChromosomeTest {
         this.practicalRoomCodeArray = practicalRoomCodeArray;
     }
 
-    public void testGenerator(int population, int index) {
-        PopulationStorage populationStorage = new PopulationStorage(population);
+    /**
+     * Checks the chromosome at {@code index} of the population dumped at {@code Genetic/P<generation>.bin},
+     * see {@link org.example.DefaultConfig#GENERATOR_DUMP_POPULATION_BINARY}
+     */
+    public void testGenerator(int generation, int index) {
 
         SubjectDao subjectDao = SubjectDao.getInstance();
         TeacherDao teacherDao = TeacherDao.getInstance();
@@ -46,10 +51,13 @@ public class ChromosomeTest {
 
         boolean[] h10 = new boolean[teacherNameArray.length];
 
-        Scanner sc;
-        try {
-            sc = populationStorage.getChromosomeReader(index);
-        } catch (FileNotFoundException e) {
+        ShortBuffer sc;
+        try (PopulationFile populationFile = PopulationFile.open(new File("Genetic", "P" + generation + ".bin"))) {
+            ShortBuffer chromosome = populationFile.getChromosomeReader(index);
+            short[] genes = new short[chromosome.remaining()];
+            chromosome.get(genes);
+            sc = ShortBuffer.wrap(genes);
+        } catch (IOException e) {
             throw new RuntimeException(e);
         }
 
@@ -70,10 +78,10 @@ public class ChromosomeTest {
                 String teacher = null;
                 String roomCode = null;
                 if (sub.isPractical()) {
-                    val = sc.nextShort();
-                    roomCode = sub.isFree()? null : practicalRoomCodeArray[sc.nextShort()];
+                    val = sc.get();
+                    roomCode = sub.isFree()? null : practicalRoomCodeArray[sc.get()];
                 } else if (!sub.isFree())  {
-                    teacherIndex = sc.nextShort();
+                    teacherIndex = sc.get();
                     teacher = teacherNameArray[teacherIndex];
                 }
 
@@ -81,12 +89,12 @@ public class ChromosomeTest {
                     if (stopped) break OuterLoop;
                     if (sub.isPractical()) {
                         if (!sub.isFree()) {
-                            teacherIndex = sc.nextShort();
+                            teacherIndex = sc.get();
                             teacher = teacherNameArray[teacherIndex];
                         }
                         value = (short) (val + j);
                     } else {
-                        value = sc.nextShort();
+                        value = sc.get();
                     }
                     DayPeriod dp= new DayPeriod(value);
                     short period = (short) (dp.period + 1);
@@ -143,8 +151,7 @@ public class ChromosomeTest {
             }
         }
 
-        System.out.println("sc.hasNext = " + sc.hasNext());
-        sc.close();
+        System.out.println("sc.hasRemaining = " + sc.hasRemaining());
         System.out.println("final hCount = "+ hCount);
 
         //evaluating h8, h9, h12 and h13
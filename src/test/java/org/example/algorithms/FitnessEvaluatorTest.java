@@ -0,0 +1,264 @@
+package org.example.algorithms;
+
+import org.example.algorithms.io.ChromosomeReader;
+import org.example.dao.SubjectDao;
+import org.example.dao.TeacherDao;
+import org.example.pojo.ScheduleStructure;
+import org.example.pojo.Subject;
+import org.example.pojo.Teacher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ShortBuffer;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FitnessEvaluatorTest {
+    private String[] subjectCodeArray;
+    private String[] teacherNameArray;
+    private String[] roomCodesArray;
+    private HashMap<String, Short> indexOfRoom;
+    private ProblemModel model;
+
+    @BeforeEach
+    public void setUp() {
+        ScheduleStructure scheduleStructure = ScheduleStructure.getInstance();
+        scheduleStructure.setSemesterCount((byte) 4);
+        scheduleStructure.setPeriodCount((byte) 9);
+        scheduleStructure.setSectionsPerSemester(new byte[]{2, 0, 3, 1});
+        scheduleStructure.setBreaksPerSemester(new byte[][]{{5}, {5}, {4, 5}, {5}});
+
+        SubjectDao subjectDao = SubjectDao.getInstance();
+        subjectDao.clear();
+        subjectDao.put("PCC-CS501", new Subject(5, 4, false, new ArrayList<>(List.of("LH1")), false));
+        subjectDao.put("PCC-CS591", new Subject(5, 3, true, new ArrayList<>(List.of("LAB1", "LAB2")), false));
+        subjectDao.put("PCC-CS502", new Subject(5, 3, false, new ArrayList<>(List.of("LH1")), false));
+        subjectDao.put("PCC-CS592", new Subject(5, 2, true, new ArrayList<>(List.of("LAB2")), false));
+        subjectDao.put("ESC101", new Subject(1, 3, false, new ArrayList<>(List.of("LH2")), false));
+        subjectDao.put("ESC191", new Subject(1, 3, true, new ArrayList<>(List.of("LAB1", "LAB3")), false));
+        subjectDao.put("LIB", new Subject(1, 2, false, new ArrayList<>(List.of("LIB")), true));
+        subjectDao.put("GD", new Subject(7, 2, true, new ArrayList<>(List.of("GROUND")), true));
+        subjectDao.put("HSMC701", new Subject(7, 2, false, new ArrayList<>(List.of("LH3")), false));
+
+        TeacherDao teacherDao = TeacherDao.getInstance();
+        teacherDao.clear();
+        String[] codes = subjectDao.keySet().toArray(String[]::new);
+        Arrays.sort(codes);
+        Random random = new Random(7);
+        for (int i = 0; i < 12; i++) {
+            HashSet<String> subjects = new HashSet<>();
+            for (int j = 0; j < 3; j++) subjects.add(codes[random.nextInt(codes.length)]);
+            HashSet<List<Integer>> freeTime = new HashSet<>();
+            if (i % 3 == 0)
+                for (int j = 0; j < 20; j++) freeTime.add(Arrays.asList(random.nextInt(5), random.nextInt(9)));
+            teacherDao.put("T" + i, new Teacher(freeTime, subjects));
+        }
+
+        PreComputation preComputation = new PreComputation();
+        preComputation.compute();
+        subjectCodeArray = preComputation.getSubjectCodes();
+        teacherNameArray = preComputation.getTeacherNames();
+        roomCodesArray = preComputation.getRoomCodes();
+        indexOfRoom = preComputation.getIndexOfRoom();
+        model = preComputation.getProblemModel();
+    }
+
+    @Test
+    public void countsMatchStringKeyedImplementation() throws IOException {
+        FitnessEvaluator evaluator = new FitnessEvaluator(model);
+        Random random = new Random(11);
+        int length = model.getChromosomeLength();
+        for (int i = 0; i < 500; i++) {
+            short[] chromosome = randomChromosome(random, length, i % 5 == 0 ? 2 : teacherNameArray.length);
+            int[] expected = countConstraintViolationWithStrings(ShortBuffer.wrap(chromosome));
+            evaluator.evaluate(ShortBuffer.wrap(chromosome));
+            assertEquals(expected[0], evaluator.getHardViolationCount(), "hard violations of chromosome " + i);
+            assertEquals(expected[1], evaluator.getSoftViolationCount(), "soft violations of chromosome " + i);
+        }
+    }
+
+    @Test
+    public void incrementalCountsMatchFullEvaluation() throws IOException {
+        FitnessEvaluator evaluator = new FitnessEvaluator(model);
+        ChromosomeLayout layout = new ChromosomeLayout(model);
+        IncrementalFitnessEvaluator incrementalEvaluator = new IncrementalFitnessEvaluator(layout, model);
+        int length = model.getChromosomeLength();
+        assertEquals(length, layout.getChromosomeLength());
+
+        Random random = new Random(13);
+        int populationSize = 20;
+        short[][] population = new short[populationSize][];
+        FitnessStateStorage states = new FitnessStateStorage(populationSize, incrementalEvaluator.getStateLength());
+        for (int i = 0; i < populationSize; i++) {
+            population[i] = randomChromosome(random, length, teacherNameArray.length);
+            incrementalEvaluator.evaluate(ShortBuffer.wrap(population[i]), states, i);
+            assertCountsMatch(evaluator, population[i], states, i, "initial chromosome " + i);
+        }
+
+        //children copy a few blocks or genes of another chromosome, children of children reuse the updated states
+        for (int generation = 0; generation < 30; generation++) {
+            short[][] children = new short[populationSize][];
+            FitnessStateStorage childStates = new FitnessStateStorage(populationSize, incrementalEvaluator.getStateLength());
+            for (int i = 0; i < populationSize; i++) {
+                int parent = random.nextInt(populationSize);
+                short[] other = i % 4 == 0 ? randomChromosome(random, length, teacherNameArray.length) : population[random.nextInt(populationSize)];
+                children[i] = population[parent].clone();
+                int changes = random.nextInt(i % 3 == 0 ? layout.getBlockCount() : 4);
+                for (int j = 0; j < changes; j++) {
+                    int block = random.nextInt(layout.getBlockCount());
+                    int offset = layout.getBlockOffset(block);
+                    if (random.nextBoolean()) {
+                        System.arraycopy(other, offset, children[i], offset, layout.getBlockLength(block));
+                    } else {
+                        int gene = offset + random.nextInt(layout.getBlockLength(block));
+                        children[i][gene] = other[gene];
+                    }
+                }
+                incrementalEvaluator.evaluate(ShortBuffer.wrap(children[i]), childStates, i, ShortBuffer.wrap(population[parent]), states, parent);
+                assertCountsMatch(evaluator, children[i], childStates, i, "generation " + generation + " child " + i);
+            }
+            population = children;
+            states = childStates;
+        }
+    }
+
+    private void assertCountsMatch(FitnessEvaluator evaluator, short[] chromosome, FitnessStateStorage states, int index, String message) throws IOException {
+        evaluator.evaluate(ShortBuffer.wrap(chromosome));
+        assertEquals(evaluator.getHardViolationCount(), states.getHardViolationCount(index), "hard violations of " + message);
+        assertEquals(evaluator.getSoftViolationCount(), states.getSoftViolationCount(index), "soft violations of " + message);
+    }
+
+    @Test
+    public void teacherAvailabilityMatchesFreeTime() {
+        for (int i = 0; i < teacherNameArray.length; i++) {
+            Teacher teacher = TeacherDao.getInstance().get(teacherNameArray[i]);
+            for (int day = 0; day < 5; day++) {
+                for (int period = 0; period < 9; period++) {
+                    boolean expected = teacher.getFreeTime().isEmpty() || teacher.getFreeTime().contains(Arrays.asList(day, period));
+                    assertEquals(expected, model.isTeacherAvailable(i, day * 9 + period),
+                            teacherNameArray[i] + " at " + day + "," + period);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void evaluationIgnoresEditsAfterSnapshot() throws IOException {
+        FitnessEvaluator evaluator = new FitnessEvaluator(model);
+        Random random = new Random(17);
+        int length = model.getChromosomeLength();
+        short[][] chromosomes = new short[20][];
+        int[][] expected = new int[chromosomes.length][];
+        for (int i = 0; i < chromosomes.length; i++) {
+            chromosomes[i] = randomChromosome(random, length, teacherNameArray.length);
+            evaluator.evaluate(ShortBuffer.wrap(chromosomes[i]));
+            expected[i] = new int[]{evaluator.getHardViolationCount(), evaluator.getSoftViolationCount()};
+        }
+
+        SubjectDao.getInstance().remove("PCC-CS591");
+        SubjectDao.getInstance().put("ESC101", new Subject(1, 5, true, new ArrayList<>(List.of("LAB9")), false));
+        TeacherDao.getInstance().clear();
+        ScheduleStructure.getInstance().setPeriodCount((byte) 6);
+        ScheduleStructure.getInstance().setSectionsPerSemester(new byte[]{1, 1, 1, 1});
+
+        for (int i = 0; i < chromosomes.length; i++) {
+            evaluator.evaluate(ShortBuffer.wrap(chromosomes[i]));
+            assertEquals(expected[i][0], evaluator.getHardViolationCount(), "hard violations of chromosome " + i);
+            assertEquals(expected[i][1], evaluator.getSoftViolationCount(), "soft violations of chromosome " + i);
+        }
+    }
+
+    private short[] randomChromosome(Random random, int length, int teacherRange) {
+        SubjectDao subjectDao = SubjectDao.getInstance();
+        int dayPeriodCount = ScheduleStructure.getInstance().getPeriodCount() * 5;
+        ShortBuffer genes = ShortBuffer.allocate(length);
+        for (String code : subjectCodeArray) {
+            Subject subject = subjectDao.get(code);
+            for (int sec = 0; sec < Util.getSectionCount(code); sec++) {
+                if (subject.isPractical()) {
+                    ArrayList<Byte> startPeriods = Util.getAllPracticalPeriodLocations(code);
+                    genes.put(DayPeriod.getCompact((byte) random.nextInt(5), startPeriods.get(random.nextInt(startPeriods.size()))));
+                    if (subject.isFree()) continue;
+                    genes.put(indexOfRoom.get(subject.getRoomCodes().get(random.nextInt(subject.getRoomCodes().size()))));
+                    for (int j = 0; j < subject.getLectureCount(); j++)
+                        genes.put((short) random.nextInt(teacherRange));
+                } else {
+                    if (!subject.isFree()) genes.put((short) random.nextInt(teacherRange));
+                    for (int j = 0; j < subject.getLectureCount(); j++)
+                        genes.put((short) random.nextInt(dayPeriodCount));
+                }
+            }
+        }
+        assertEquals(length, genes.position());
+        return genes.array();
+    }
+
+    //reference implementation the evaluator replaced
+    private int[] countConstraintViolationWithStrings(ShortBuffer genes) throws IOException {
+        SubjectDao subjectDao = SubjectDao.getInstance();
+        TeacherDao teacherDao = TeacherDao.getInstance();
+        final int[] violationCount = {0, 0};
+        HashSet<String> h4 = new HashSet<>();
+        HashMap<String, Short> h5 = new HashMap<>();
+        HashSet<String> h6 = new HashSet<>();
+        HashSet<String> h7 = new HashSet<>();
+        HashMap<String, List<short[]>> h89 = new HashMap<>();
+        boolean[] h10 = new boolean[teacherNameArray.length];
+
+        try (ChromosomeReader chromosomeReader = new ChromosomeReader(genes, model)) {
+            chromosomeReader.readAll((semester, section, day, period, subjectIndex, teacherIndex, roomCode, lectureIndex) -> {
+                String subject = subjectCodeArray[subjectIndex];
+                Subject sub = subjectDao.get(subject);
+                String key = String.format("%d,%d,%d,%d", day, period, semester, section);
+                if (h6.contains(key)) violationCount[0]++;
+                else h6.add(key);
+                if (sub.isFree()) return;
+                Teacher teacher = teacherDao.get(teacherNameArray[teacherIndex]);
+                if (!teacher.getFreeTime().contains(Arrays.asList((int) day, (int) period)) && !teacher.getFreeTime().isEmpty())
+                    violationCount[0]++;
+                if (sub.isPractical()) {
+                    key = String.format("%d,%d,%s", day, period, roomCode);
+                    if (h4.contains(key)) violationCount[0]++;
+                    else h4.add(key);
+                } else {
+                    h5.put(String.format("%d,%s", section, subject), (short) teacherIndex);
+                }
+                key = String.format("%d,%d,%d", teacherIndex, day, period);
+                if (h7.contains(key)) violationCount[0]++;
+                else h7.add(key);
+                if (sub.isPractical()) {
+                    key = String.format("%d,%s", section, subject);
+                    h89.computeIfAbsent(key, k -> new ArrayList<>()).add(new short[]{day, period, (short) teacherIndex});
+                }
+                h10[teacherIndex] = true;
+            });
+        }
+
+        for (var entries : h89.entrySet()) {
+            String key = entries.getKey();
+            List<short[]> slots = entries.getValue();
+            HashSet<Short> teachers = new HashSet<>();
+            StringBuilder sb = new StringBuilder(key.substring(key.indexOf(",") + 1));
+            sb.setCharAt(sb.length() - 2, '0');
+            boolean hasTheory = subjectDao.containsKey(sb.toString());
+            slots.sort(Comparator.comparingInt(a -> a[1]));
+            for (short[] slot : slots) teachers.add(slot[2]);
+            if (hasTheory && !teachers.contains(h5.get(key.substring(0, key.indexOf(',')) + "," + sb)))
+                violationCount[0]++;
+            for (Short teacherIndex : teachers) {
+                for (short[] slot : slots) {
+                    if (slot[2] == teacherIndex) continue;
+                    if (h7.contains(String.format("%d,%d,%d", teacherIndex, slot[0], slot[1]))) violationCount[0]++;
+                }
+            }
+            violationCount[0] += Math.abs(slots.size() - teachers.size());
+            if (slots.get(0)[1] != Util.getPracticalStartingPeriodLocation(key.substring(key.indexOf(',') + 1)))
+                violationCount[1]++;
+        }
+        for (boolean b : h10)
+            if (!b) violationCount[0]++;
+        return violationCount;
+    }
+}
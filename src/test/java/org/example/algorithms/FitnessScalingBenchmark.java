@@ -0,0 +1,50 @@
+package org.example.algorithms;
+
+import org.example.interfaces.OnResultListener;
+
+import java.io.IOException;
+
+/**
+ * Measures how {@link Generator#calculateFitness()} scales with the number of generator threads.<br>
+ * Run with {@code gradle benchmarkFitness}, optional arguments are
+ * {@code [preset] [maxThreads] [iterations]}, see {@link SyntheticDataset.Preset} for presets.
+ */
+public class FitnessScalingBenchmark {
+    public static void main(String[] args) throws IOException {
+        SyntheticDataset.Preset preset = args.length > 0 ? SyntheticDataset.Preset.valueOf(args[0].toUpperCase()) : SyntheticDataset.Preset.MEDIUM;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : 0;
+        if (maxThreads <= 0) maxThreads = Runtime.getRuntime().availableProcessors();
+        int iterations = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+
+        SyntheticDataset.Summary summary = SyntheticDataset.load(preset);
+        System.out.println(preset + ": " + summary + ", iterations=" + iterations);
+        System.out.println("threads\tms/iteration\tspeedup\tefficiency");
+
+        double baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads = threads == maxThreads ? maxThreads + 1 : Math.min(threads * 2, maxThreads)) {
+            Generator generator = new Generator(new OnResultListener() {
+                @Override
+                public void onResult() {
+                }
+
+                @Override
+                public void onError(String error) {
+                    throw new IllegalStateException(error);
+                }
+            }, threads);
+            generator.updateVariables();
+            generator.generateInitialPopulation();
+
+            //warm up
+            for (int i = 0; i < iterations; i++) generator.calculateFitness();
+
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) generator.calculateFitness();
+            double millis = (System.nanoTime() - start) / 1e6 / iterations;
+            generator.stop();
+
+            if (threads == 1) baseline = millis;
+            System.out.printf("%d\t%.3f\t%.2f\t%.0f%%%n", threads, millis, baseline / millis, 100 * baseline / millis / threads);
+        }
+    }
+}
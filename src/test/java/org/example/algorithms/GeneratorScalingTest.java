@@ -0,0 +1,83 @@
+package org.example.algorithms;
+
+import org.example.interfaces.OnResultListener;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Times the phases of the generator on datasets of increasing size and appends the
+ * results to {@code scaling-results.csv} in the directory given by the {@code scaling.resultsDir}
+ * system property. Excluded from {@code gradle test}, run with {@code gradle scalingTest}.
+ */
+@Tag("scaling")
+public class GeneratorScalingTest {
+    private static final int GENERATIONS = 20;
+
+    @ParameterizedTest
+    @EnumSource(value = SyntheticDataset.Preset.class, names = {"SMALL", "MEDIUM", "LARGE"})
+    public void generationTime(SyntheticDataset.Preset preset) throws IOException {
+        SyntheticDataset.Summary summary = SyntheticDataset.load(preset);
+        assertTrue(summary.schedulable, preset + " doesn't fit in the schedule");
+
+        Generator generator = new Generator(new OnResultListener() {
+            @Override
+            public void onResult() {
+            }
+
+            @Override
+            public void onError(String msg) {
+                throw new IllegalStateException(msg);
+            }
+        });
+        try {
+            generator.updateVariables();
+
+            long start = System.nanoTime();
+            generator.generateInitialPopulation();
+            double initialPopulationMillis = (System.nanoTime() - start) / 1e6;
+
+            long fitnessNanos = 0;
+            long crossoverNanos = 0;
+            for (int i = 0; i < GENERATIONS; i++) {
+                start = System.nanoTime();
+                generator.calculateFitness();
+                fitnessNanos += System.nanoTime() - start;
+                start = System.nanoTime();
+                generator.selectParents();
+                generator.generateNewPopulation();
+                crossoverNanos += System.nanoTime() - start;
+            }
+
+            record(preset, summary, generator.getChromosomeLength(), initialPopulationMillis,
+                    fitnessNanos / 1e6 / GENERATIONS, crossoverNanos / 1e6 / GENERATIONS);
+        } finally {
+            generator.stop();
+        }
+    }
+
+    private void record(SyntheticDataset.Preset preset, SyntheticDataset.Summary summary, int chromosomeLength,
+                        double initialPopulationMillis, double fitnessMillis, double crossoverMillis) throws IOException {
+        File dir = new File(System.getProperty("scaling.resultsDir", "build/scaling"));
+        if (!dir.exists() && !dir.mkdirs()) throw new IOException("Couldn't create directory " + dir);
+        File file = new File(dir, "scaling-results.csv");
+        boolean newFile = !file.exists();
+        try (PrintWriter writer = new PrintWriter(new FileWriter(file, true))) {
+            if (newFile)
+                writer.println("time,preset,subjects,teachers,sections,chromosome_length,threads,initial_population_ms,fitness_ms_per_generation,crossover_ms_per_generation");
+            writer.printf("%s,%s,%d,%d,%d,%d,%d,%.3f,%.3f,%.3f%n", LocalDateTime.now(), preset, summary.subjectCount,
+                    summary.teacherCount, summary.sectionCount, chromosomeLength, Runtime.getRuntime().availableProcessors(),
+                    initialPopulationMillis, fitnessMillis, crossoverMillis);
+        }
+        System.out.printf("%s (%s): initial population %.1f ms, fitness %.2f ms/generation, crossover %.2f ms/generation%n",
+                preset, summary, initialPopulationMillis, fitnessMillis, crossoverMillis);
+    }
+}
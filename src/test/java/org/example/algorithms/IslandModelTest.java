@@ -0,0 +1,78 @@
+package org.example.algorithms;
+
+import org.example.interfaces.OnResultListener;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IslandModelTest {
+    @Test
+    public void migrationCopiesFittestChromosomesToNextIsland() throws IOException {
+        SyntheticDataset.load(SyntheticDataset.Preset.SMALL.options().sections(2));
+        PreComputation preComputation = new PreComputation();
+        preComputation.compute();
+        IslandModel islandModel = new IslandModel(preComputation.getProblemModel(), 3, 20, 3, new OnResultListener() {
+            @Override
+            public void onResult() {
+            }
+
+            @Override
+            public void onError(String msg) {
+                throw new IllegalStateException(msg);
+            }
+        });
+        try {
+            islandModel.generateInitialPopulation();
+            islandModel.evolve(2);
+            int islandCount = islandModel.getIslandCount();
+            short[][] fittest = new short[islandCount][];
+            float[] maxFitness = new float[islandCount];
+            for (int i = 0; i < islandCount; i++) {
+                Generator island = islandModel.getIsland(i);
+                fittest[i] = island.copyGenes(island.getFittestIndices(1)[0]);
+                maxFitness[i] = island.getMaxFitness();
+            }
+
+            islandModel.migrate(2);
+
+            for (int i = 0; i < islandCount; i++) {
+                Generator next = islandModel.getIsland((i + 1) % islandCount);
+                assertTrue(next.getMaxFitness() >= maxFitness[i], "island " + (i + 1) % islandCount + " lost the immigrants' fitness");
+                boolean found = false;
+                for (int j = 0; j < next.getPopulationSize() && !found; j++)
+                    found = Arrays.equals(fittest[i], next.copyGenes(j));
+                assertTrue(found, "fittest chromosome of island " + i + " didn't migrate");
+            }
+        } finally {
+            islandModel.stop();
+        }
+    }
+
+    @Test
+    public void tinyPopulationIsRaisedToTwoTournaments() throws IOException {
+        SyntheticDataset.load(SyntheticDataset.Preset.SMALL.options().sections(2));
+        Generator generator = new Generator(new OnResultListener() {
+            @Override
+            public void onResult() {
+            }
+
+            @Override
+            public void onError(String msg) {
+                throw new IllegalStateException(msg);
+            }
+        }, 1, 1, 3);
+        try {
+            generator.updateVariables();
+            generator.generateInitialPopulation();
+            generator.calculateFitness();
+            generator.nextGeneration();
+            assertEquals(10, generator.getPopulationSize());
+            assertEquals(2, generator.getGeneration());
+        } finally {
+            generator.stop();
+        }
+    }
+}
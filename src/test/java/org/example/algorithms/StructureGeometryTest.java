@@ -0,0 +1,32 @@
+package org.example.algorithms;
+
+import org.example.pojo.ScheduleStructure;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StructureGeometryTest {
+    @Test
+    public void rebuiltWhenStructureChanges() {
+        ScheduleStructure scheduleStructure = ScheduleStructure.getInstance();
+        scheduleStructure.setSemesterCount((byte) 2);
+        scheduleStructure.setPeriodCount((byte) 8);
+        scheduleStructure.setSectionsPerSemester(new byte[]{2, 1});
+        scheduleStructure.setBreaksPerSemester(new byte[][]{{4}, {5}});
+
+        DayPeriod dayPeriod = DayPeriod.of((short) 11);
+        assertSame(dayPeriod, DayPeriod.of((byte) 1, (byte) 3));
+        assertEquals(11, dayPeriod.getCompact());
+        assertSame(SemesterSection.of((byte) 2, (byte) 2), SemesterSection.of((byte) 2, (byte) 2));
+        assertEquals(new SemesterSection((byte) 3, (byte) 2), SemesterSection.of((byte) 3, (byte) 2));
+
+        long[] row = new long[StructureGeometry.get().dayPeriodWords];
+        StructureGeometry.get().markBreaks(3, row, 0);
+        assertEquals(5, Long.bitCount(row[0]));
+        assertNotEquals(0, row[0] & (1L << 4), "the break after period 5 of year 2 blocks period index 4");
+
+        scheduleStructure.setPeriodCount((byte) 9);
+        assertEquals(9, StructureGeometry.get().periodCount);
+        assertEquals(DayPeriod.of((byte) 1, (byte) 2), DayPeriod.of((short) 11));
+    }
+}
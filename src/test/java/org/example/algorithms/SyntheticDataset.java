@@ -0,0 +1,381 @@
+package org.example.algorithms;
+
+import org.example.dao.StudentDao;
+import org.example.dao.SubjectDao;
+import org.example.dao.TeacherDao;
+import org.example.interfaces.OnResultListener;
+import org.example.pojo.*;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Fills {@link ScheduleStructure}, {@link SubjectDao}, {@link TeacherDao} and {@link StudentDao}
+ * with a generated dataset for tests and benchmarks. The same options always produce the same dataset.<br>
+ * Every semester gets theory subjects, some of which have a practical following the {@code 0 -> 9}
+ * code convention of {@link SubjectDao#getPracticalOfTheory(String)}, practicals without a theory and
+ * a free library subject. Lecture counts are trimmed so every section fits in the weekly periods and
+ * every subject gets enough teachers for the generator to build a chromosome.<br>
+ * Subjects of semester {@code 2n - 1} and {@code 2n} share the sections of year {@code n}, so only one
+ * term can be scheduled at a time. {@link Term#BOTH} is meant for persistence and api load tests only.
+ */
+public class SyntheticDataset {
+    public enum Term {ODD, EVEN, BOTH}
+
+    /**
+     * Dataset sizes used by the benchmarks and the scaling tests
+     */
+    public enum Preset {
+        SMALL(new Options().sections(1).theoryPerSemester(5).practicalsPerSemester(2)),
+        MEDIUM(new Options().sections(4).theoryPerSemester(7).practicalsPerSemester(2).standalonePracticalsPerSemester(1).teachers(80).studentsPerSection(30)),
+        //8 semesters of 12 sections with ~400 teachers, one term scheduled at a time
+        LARGE(new Options().sections(12).theoryPerSemester(8).practicalsPerSemester(3).standalonePracticalsPerSemester(1).teachers(400).labRooms(12).studentsPerSection(60)),
+        //subject catalog of both terms, ~600 subjects, can't be scheduled as a whole
+        LARGE_CATALOG(new Options().term(Term.BOTH).sections(12).theoryPerSemester(60).practicalsPerSemester(12).standalonePracticalsPerSemester(2).teachers(400).maxSubjectsPerTeacher(8).labRooms(24).studentsPerSection(60));
+
+        private final Options options;
+
+        Preset(Options options) {
+            this.options = options;
+        }
+
+        public Options options() {
+            return options.copy();
+        }
+    }
+
+    public static class Options {
+        private long seed = 42;
+        private int years = 4;
+        private int sections = 1;
+        private byte periodCount = 9;
+        private byte breakAfter = 5;
+        private Term term = Term.ODD;
+        private int theoryPerSemester = 5;
+        private int practicalsPerSemester = 2;
+        private int standalonePracticalsPerSemester = 0;
+        private int teachers = 0;
+        private int maxSubjectsPerTeacher = 3;
+        private int labRooms = 4;
+        private float busyTeacherRatio = 0;
+        private int studentsPerSection = 0;
+
+        public Options seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /**
+         * Number of years, each year has an odd and an even semester
+         */
+        public Options years(int years) {
+            this.years = years;
+            return this;
+        }
+
+        public Options sections(int sections) {
+            this.sections = sections;
+            return this;
+        }
+
+        public Options periodCount(int periodCount, int breakAfter) {
+            this.periodCount = (byte) periodCount;
+            this.breakAfter = (byte) breakAfter;
+            return this;
+        }
+
+        public Options term(Term term) {
+            this.term = term;
+            return this;
+        }
+
+        public Options theoryPerSemester(int theoryPerSemester) {
+            this.theoryPerSemester = theoryPerSemester;
+            return this;
+        }
+
+        /**
+         * Number of theory subjects per semester which also have a practical, at most {@code theoryPerSemester}
+         */
+        public Options practicalsPerSemester(int practicalsPerSemester) {
+            this.practicalsPerSemester = practicalsPerSemester;
+            return this;
+        }
+
+        public Options standalonePracticalsPerSemester(int standalonePracticalsPerSemester) {
+            this.standalonePracticalsPerSemester = standalonePracticalsPerSemester;
+            return this;
+        }
+
+        /**
+         * Total number of teachers, raised to the number of teachers the subjects need if lower
+         */
+        public Options teachers(int teachers) {
+            this.teachers = teachers;
+            return this;
+        }
+
+        /**
+         * A teacher is only picked for another subject while teaching less than this many subjects
+         */
+        public Options maxSubjectsPerTeacher(int maxSubjectsPerTeacher) {
+            this.maxSubjectsPerTeacher = maxSubjectsPerTeacher;
+            return this;
+        }
+
+        public Options labRooms(int labRooms) {
+            this.labRooms = labRooms;
+            return this;
+        }
+
+        /**
+         * Fraction of teachers which are only available during a part of the week
+         */
+        public Options busyTeacherRatio(float busyTeacherRatio) {
+            this.busyTeacherRatio = busyTeacherRatio;
+            return this;
+        }
+
+        public Options studentsPerSection(int studentsPerSection) {
+            this.studentsPerSection = studentsPerSection;
+            return this;
+        }
+
+        public Options copy() {
+            Options options = new Options();
+            options.seed = seed;
+            options.years = years;
+            options.sections = sections;
+            options.periodCount = periodCount;
+            options.breakAfter = breakAfter;
+            options.term = term;
+            options.theoryPerSemester = theoryPerSemester;
+            options.practicalsPerSemester = practicalsPerSemester;
+            options.standalonePracticalsPerSemester = standalonePracticalsPerSemester;
+            options.teachers = teachers;
+            options.maxSubjectsPerTeacher = maxSubjectsPerTeacher;
+            options.labRooms = labRooms;
+            options.busyTeacherRatio = busyTeacherRatio;
+            options.studentsPerSection = studentsPerSection;
+            return options;
+        }
+    }
+
+    /**
+     * Size of a loaded dataset
+     */
+    public static class Summary {
+        public final int subjectCount;
+        public final int teacherCount;
+        public final int studentCount;
+        public final int sectionCount;
+        //false if some section has more lectures than periods, the generator will refuse the dataset
+        public final boolean schedulable;
+
+        private Summary(int subjectCount, int teacherCount, int studentCount, int sectionCount, boolean schedulable) {
+            this.subjectCount = subjectCount;
+            this.teacherCount = teacherCount;
+            this.studentCount = studentCount;
+            this.sectionCount = sectionCount;
+            this.schedulable = schedulable;
+        }
+
+        @Override
+        public String toString() {
+            return subjectCount + " subjects, " + teacherCount + " teachers, " + studentCount + " students, " + sectionCount + " sections";
+        }
+    }
+
+    public static Summary load(Preset preset) {
+        return load(preset.options());
+    }
+
+    public static Summary load(Options options) {
+        //semester numbers are part of subject codes, which may only contain a 0 or 9 at the theory/practical position
+        if (options.years < 1 || options.years > 4) throw new IllegalArgumentException("years must be between 1 and 4");
+        Random random = new Random(options.seed);
+
+        ScheduleStructure scheduleStructure = ScheduleStructure.getInstance();
+        byte[] sectionsPerSemester = new byte[options.years];
+        byte[][] breaksPerSemester = new byte[options.years][];
+        for (int year = 0; year < options.years; year++) {
+            sectionsPerSemester[year] = (byte) options.sections;
+            breaksPerSemester[year] = new byte[]{options.breakAfter};
+        }
+        scheduleStructure.setSemesterCount((byte) options.years);
+        scheduleStructure.setPeriodCount(options.periodCount);
+        scheduleStructure.setSectionsPerSemester(sectionsPerSemester);
+        scheduleStructure.setBreaksPerSemester(breaksPerSemester);
+        int periodsPerWeek = (options.periodCount - 1) * 5;
+
+        SubjectDao subjectDao = SubjectDao.getInstance();
+        TeacherDao teacherDao = TeacherDao.getInstance();
+        StudentDao studentDao = StudentDao.getInstance();
+        subjectDao.clear();
+        teacherDao.clear();
+        studentDao.clear();
+
+        //subjects
+        ArrayList<String> theories = new ArrayList<>();
+        ArrayList<String> practicals = new ArrayList<>();
+        boolean schedulable = true;
+        for (int sem = 1; sem <= options.years * 2; sem++) {
+            if (options.term == Term.ODD && sem % 2 == 0) continue;
+            if (options.term == Term.EVEN && sem % 2 == 1) continue;
+
+            LinkedHashMap<String, int[]> lectureCounts = new LinkedHashMap<>();
+            for (int k = 1; k <= options.theoryPerSemester; k++) {
+                lectureCounts.put("PC-" + sem + letters(k) + "01", new int[]{3 + random.nextInt(2), 2});
+                if (k <= options.practicalsPerSemester)
+                    lectureCounts.put("PC-" + sem + letters(k) + "91", new int[]{2 + random.nextInt(2), 2});
+            }
+            for (int k = 1; k <= options.standalonePracticalsPerSemester; k++)
+                lectureCounts.put("LAB-" + sem + letters(k) + "91", new int[]{2 + random.nextInt(2), 2});
+            lectureCounts.put("LIB-" + sem, new int[]{2, 1});
+
+            //trim the longest subjects until a section fits in the week
+            int total = 0;
+            for (int[] lectureCount : lectureCounts.values()) total += lectureCount[0];
+            while (total > periodsPerWeek) {
+                int[] longest = null;
+                for (int[] lectureCount : lectureCounts.values())
+                    if (lectureCount[0] > lectureCount[1] && (longest == null || lectureCount[0] > longest[0]))
+                        longest = lectureCount;
+                if (longest == null) break;
+                longest[0]--;
+                total--;
+            }
+            if (total > periodsPerWeek) schedulable = false;
+
+            for (Map.Entry<String, int[]> entry : lectureCounts.entrySet()) {
+                String code = entry.getKey();
+                int lectureCount = entry.getValue()[0];
+                if (code.startsWith("LIB")) {
+                    subjectDao.put(code, new Subject(sem, lectureCount, false, new ArrayList<>(List.of("LIB")), true));
+                } else if (code.charAt(code.length() - 2) == '9') {
+                    ArrayList<String> rooms = new ArrayList<>();
+                    int firstLab = random.nextInt(options.labRooms);
+                    rooms.add("LAB" + (firstLab + 1));
+                    if (options.labRooms > 1) rooms.add("LAB" + ((firstLab + 1 + random.nextInt(options.labRooms - 1)) % options.labRooms + 1));
+                    subjectDao.put(code, new Subject(sem, lectureCount, true, rooms, false));
+                    practicals.add(code);
+                } else {
+                    subjectDao.put(code, new Subject(sem, lectureCount, false, new ArrayList<>(List.of("LH" + sem)), false));
+                    theories.add(code);
+                }
+            }
+        }
+
+        //teachers, as many as requested but at least as many as needed to staff every subject
+        ArrayList<HashSet<String>> teacherSubjects = new ArrayList<>();
+        int extraPerSubject = (options.sections + 2) / 3;
+        for (String theory : theories) {
+            String practical = subjectDao.getPracticalOfTheory(theory);
+            for (HashSet<String> subjects : pickTeachers(teacherSubjects, extraPerSubject + 1, null, options.maxSubjectsPerTeacher, random)) {
+                subjects.add(theory);
+                if (practical != null) subjects.add(practical);
+            }
+        }
+        for (String practical : practicals) {
+            //a practical without a theory gets all of it's teachers here
+            boolean standalone = subjectDao.getTheoryOfPractical(practical) == null;
+            int count = subjectDao.get(practical).getLectureCount() - (standalone ? 0 : 1) + extraPerSubject;
+            for (HashSet<String> subjects : pickTeachers(teacherSubjects, count, standalone ? null : subjectDao.getTheoryOfPractical(practical), options.maxSubjectsPerTeacher, random))
+                subjects.add(practical);
+        }
+        ArrayList<String> allSubjects = new ArrayList<>(theories);
+        allSubjects.addAll(practicals);
+        while (teacherSubjects.size() < options.teachers) {
+            HashSet<String> subjects = new HashSet<>();
+            String theory = theories.get(random.nextInt(theories.size()));
+            subjects.add(theory);
+            if (subjectDao.getPracticalOfTheory(theory) != null && random.nextBoolean())
+                subjects.add(subjectDao.getPracticalOfTheory(theory));
+            if (random.nextBoolean()) subjects.add(allSubjects.get(random.nextInt(allSubjects.size())));
+            teacherSubjects.add(subjects);
+        }
+
+        for (int i = 0; i < teacherSubjects.size(); i++) {
+            HashSet<List<Integer>> freeTime = new HashSet<>();
+            if (random.nextFloat() < options.busyTeacherRatio) {
+                //available during 70% to 90% of the week
+                float availability = 0.7f + random.nextFloat() * 0.2f;
+                for (int day = 0; day < 5; day++)
+                    for (int period = 0; period < options.periodCount; period++)
+                        if (random.nextFloat() < availability) freeTime.add(Arrays.asList(day, period));
+            }
+            teacherDao.put(String.format("T%04d", i), new Teacher(freeTime, teacherSubjects.get(i)));
+        }
+
+        //students
+        for (int sem = 1; sem <= options.years * 2; sem++) {
+            if (options.term == Term.ODD && sem % 2 == 0) continue;
+            if (options.term == Term.EVEN && sem % 2 == 1) continue;
+            for (int sec = 1; sec <= options.sections; sec++) {
+                for (int k = 1; k <= options.studentsPerSection; k++) {
+                    String rollNo = String.format("R%d%02d%03d", sem, sec, k);
+                    studentDao.put(rollNo, new Student("Student " + rollNo, rollNo, sem, sec, rollNo.toLowerCase() + "@example.org", random.nextInt(101), String.format("9%09d", random.nextInt(1_000_000_000)), null));
+                }
+            }
+        }
+
+        ScheduleSolution.getInstance().resetData();
+        return new Summary(subjectDao.size(), teacherDao.size(), studentDao.size(), options.years * options.sections, schedulable);
+    }
+
+    /**
+     * Returns 1 -> A, 2 -> B, ..., 27 -> AA, a subject code may not contain any other 0 or 9 than the one
+     * swapped by {@link SubjectDao#getPracticalOfTheory(String)}
+     */
+    private static String letters(int number) {
+        StringBuilder sb = new StringBuilder();
+        for (; number > 0; number = (number - 1) / 26)
+            sb.insert(0, (char) ('A' + (number - 1) % 26));
+        return sb.toString();
+    }
+
+    /**
+     * Picks the {@code count} least loaded teachers which don't teach {@code exclude},
+     * new teachers are added when the existing ones are fully loaded
+     */
+    private static List<HashSet<String>> pickTeachers(ArrayList<HashSet<String>> teacherSubjects, int count, String exclude, int maxSubjects, Random random) {
+        ArrayList<HashSet<String>> candidates = new ArrayList<>();
+        for (HashSet<String> subjects : teacherSubjects)
+            if (subjects.size() < maxSubjects && (exclude == null || !subjects.contains(exclude)))
+                candidates.add(subjects);
+        Collections.shuffle(candidates, random);
+        candidates.sort(Comparator.comparingInt(HashSet::size));
+
+        List<HashSet<String>> picked = new ArrayList<>(candidates.subList(0, Math.min(count, candidates.size())));
+        while (picked.size() < count) {
+            HashSet<String> subjects = new HashSet<>();
+            teacherSubjects.add(subjects);
+            picked.add(subjects);
+        }
+        return picked;
+    }
+
+    /**
+     * Fills the schedule solution with a random chromosome of the loaded dataset,
+     * the solution is structurally valid but may violate constraints
+     */
+    public static void loadRandomSolution() throws IOException {
+        Generator generator = new Generator(new OnResultListener() {
+            @Override
+            public void onResult() {
+            }
+
+            @Override
+            public void onError(String msg) {
+                throw new IllegalStateException(msg);
+            }
+        }, 1);
+        try {
+            generator.updateVariables();
+            generator.generateInitialPopulation();
+            ScheduleSolution.getInstance().parseChromo(generator.getChromosomeReader(0));
+        } finally {
+            generator.stop();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.algorithms.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ShortBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PopulationFileTest {
+    @TempDir
+    File dir;
+
+    @Test
+    public void mappedChromosomesMatchWrittenGenes() throws IOException {
+        int populationSize = 7;
+        int chromosomeLength = 53;
+        short[] genes = new short[populationSize * chromosomeLength];
+        Random random = new Random(3);
+        for (int i = 0; i < genes.length; i++) genes[i] = (short) random.nextInt(Short.MAX_VALUE);
+        //negative genes must survive the round trip as well
+        genes[5] = -1;
+
+        File file = new File(dir, "P0.bin");
+        PopulationFile.write(file, genes, populationSize, chromosomeLength);
+        assertEquals(12 + genes.length * 2L, file.length());
+
+        try (PopulationFile populationFile = PopulationFile.open(file)) {
+            assertEquals(populationSize, populationFile.getPopulationSize());
+            assertEquals(chromosomeLength, populationFile.getChromosomeLength());
+            for (int i = 0; i < populationSize; i++) {
+                ShortBuffer chromosome = populationFile.getChromosomeReader(i);
+                assertEquals(chromosomeLength, chromosome.remaining());
+                for (int j = 0; j < chromosomeLength; j++)
+                    assertEquals(genes[i * chromosomeLength + j], chromosome.get());
+            }
+        }
+    }
+
+    @Test
+    public void rejectsTruncatedFile() throws IOException {
+        File file = new File(dir, "P1.bin");
+        PopulationFile.write(file, new short[20], 2, 10);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 2);
+        }
+        assertThrows(IOException.class, () -> PopulationFile.open(file));
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.files;
+
+import org.example.algorithms.SyntheticDataset;
+import org.example.dao.ChangeTracker;
+import org.example.dao.StudentDao;
+import org.example.dao.SubjectDao;
+import org.example.dao.TeacherDao;
+import org.example.dao.json.JsonMapper;
+import org.example.pojo.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SavesHandlerTest {
+    private static final String SAVE_NAME = "SAVES-HANDLER-TEST";
+
+    @Test
+    void savesOnlyChangesToSameSave() throws Exception {
+        SavesHandler savesHandler = SavesHandler.getInstance();
+        savesHandler.init();
+        try {
+            SyntheticDataset.load(SyntheticDataset.Preset.SMALL.options().sections(2).studentsPerSection(5));
+            SyntheticDataset.loadRandomSolution();
+            savesHandler.saveData(SAVE_NAME);
+            savesHandler.loadData(SAVE_NAME);
+
+            TeacherDao teacherDao = TeacherDao.getInstance();
+            String[] teacherNames = teacherDao.keySet().stream().sorted().toArray(String[]::new);
+            Teacher edited = teacherDao.get(teacherNames[0]);
+            HashSet<List<Integer>> freeTime = new HashSet<>(edited.getFreeTime());
+            freeTime.add(Arrays.asList(4, 0));
+            teacherDao.put(teacherNames[0], new Teacher(freeTime, edited.getSubjects()));
+            ScheduleSolution.getInstance().removeTeacherByName(teacherNames[1]);
+            teacherDao.remove(teacherNames[1]);
+            //edited teachers and subjects are still referenced by the schedule of sections that aren't saved again
+            String subjectCode = SubjectDao.getInstance().keySet().stream().sorted().findFirst().orElseThrow();
+            Subject subject = SubjectDao.getInstance().get(subjectCode);
+            SubjectDao.getInstance().put(subjectCode, new Subject(subject.getSem(), subject.getLectureCount() + 1, subject.isPractical(), subject.getRoomCodes(), subject.isFree()));
+            //room codes out of alphabetical order have to come back in the order they were added
+            SubjectDao.getInstance().put("NEW-101", new Subject(1, 1, false, new ArrayList<>(List.of("LH9", "LH10")), false));
+            String roll = StudentDao.getInstance().keySet().iterator().next();
+            StudentDao.getInstance().remove(roll);
+            StudentDao.getInstance().put("NEW-ROLL", new Student("New", "NEW-ROLL", 1, 1, "new@example.org", 0, null, null));
+            assertFalse(ChangeTracker.getInstance().isAllChanged(ChangeTracker.Data.TEACHERS));
+            assertFalse(ChangeTracker.getInstance().isAllChanged(ChangeTracker.Data.SCHEDULE));
+
+            Map<String, Teacher> teachers = new HashMap<>(teacherDao);
+            Map<String, Subject> subjects = new HashMap<>(SubjectDao.getInstance());
+            Map<String, Student> students = new HashMap<>(StudentDao.getInstance());
+            String schedule = JsonMapper.getInstance().writeValueAsString(ScheduleSolution.getInstance().getData());
+            savesHandler.saveData(SAVE_NAME);
+            savesHandler.loadData(SAVE_NAME);
+
+            assertEquals(teachers, new HashMap<>(teacherDao));
+            assertEquals(subjects, new HashMap<>(SubjectDao.getInstance()));
+            assertEquals(students, new HashMap<>(StudentDao.getInstance()));
+            assertEquals(schedule, JsonMapper.getInstance().writeValueAsString(ScheduleSolution.getInstance().getData()));
+        } finally {
+            savesHandler.deleteData(SAVE_NAME);
+            savesHandler.close();
+        }
+    }
+}
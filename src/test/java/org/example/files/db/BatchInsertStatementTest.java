@@ -0,0 +1,63 @@
+package org.example.files.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchInsertStatementTest {
+    private static Connection createDatabase() throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA foreign_keys=1");
+            statement.execute(new CreateTableQueryBuilder("teachers")
+                    .addKey("teacher_name", "string", true)
+                    .addKey("always_free", "integer")
+                    .build());
+            statement.execute(new CreateTableQueryBuilder("teacher_free")
+                    .addKey("teacher_name", "string")
+                    .addKey("day_period", "integer")
+                    .primaryKeys("teacher_name", "day_period")
+                    .addForeignKey(new CreateTableQueryBuilder.ForeignKey("teachers").addReference("teacher_name"))
+                    .build());
+        }
+        return connection;
+    }
+
+    @Test
+    void insertsRowsAcrossBatches() throws SQLException {
+        try (Connection connection = createDatabase()) {
+            connection.setAutoCommit(false);
+            try (BatchInsertStatement teachers = new BatchInsertStatement(connection, "teachers", 2)) {
+                for (int i = 0; i < 1500; i++)
+                    teachers.add("T" + i).add(i % 2 == 0).addRow();
+                teachers.executeBatch();
+            }
+            connection.commit();
+            try (Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery("SELECT COUNT(*), SUM(always_free) FROM teachers")) {
+                assertTrue(result.next());
+                assertEquals(1500, result.getInt(1));
+                assertEquals(750, result.getInt(2));
+            }
+        }
+    }
+
+    @Test
+    void reportsForeignKeyColumnOfFailingRow() throws SQLException {
+        try (Connection connection = createDatabase()) {
+            try (BatchInsertStatement teachers = new BatchInsertStatement(connection, "teachers", 2)) {
+                teachers.add("T0").add(false).addRow();
+                teachers.executeBatch();
+            }
+            try (BatchInsertStatement free = new BatchInsertStatement(connection, "teacher_free", 2)) {
+                free.add("T0").add(1).addRow();
+                free.add("T1").add(2).addRow();
+                InsertStatement.ForeignKeyException e = assertThrows(InsertStatement.ForeignKeyException.class, free::executeBatch);
+                assertEquals("teacher_name", e.getColumnName());
+                assertThrows(IllegalStateException.class, () -> free.add("T0").addRow());
+            }
+        }
+    }
+}
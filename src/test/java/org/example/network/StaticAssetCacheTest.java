@@ -0,0 +1,60 @@
+package org.example.network;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaticAssetCacheTest {
+    @TempDir
+    Path root;
+
+    @Test
+    void servesFilesWithCompressedVariantsAndFallsBackToIndex() throws IOException {
+        Files.writeString(root.resolve("index.html"), "<html>index</html>");
+        Files.createDirectories(root.resolve("static/js"));
+        String script = "console.log('time table');\n".repeat(100);
+        Files.writeString(root.resolve("static/js/main.js"), script);
+        Files.write(root.resolve("static/js/main.js.br"), new byte[]{1, 2, 3});
+        Files.writeString(root.resolve(".secret"), "secret");
+
+        StaticAssetCache cache = new StaticAssetCache(root);
+        StaticAssetCache.Asset asset = cache.get("/static/js/main.js");
+        assertEquals("text/javascript", asset.contentType());
+        assertEquals(script, new String(asset.data(), StandardCharsets.UTF_8));
+        assertArrayEquals(new byte[]{1, 2, 3}, asset.brotliData());
+        try (GZIPInputStream gis = new GZIPInputStream(new ByteArrayInputStream(asset.gzipData()))) {
+            assertEquals(script, new String(gis.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertSame(asset, cache.get("/static/js/main.js"));
+
+        assertEquals("/index.html", cache.get("/").path());
+        assertEquals("/index.html", cache.get("/teachers").path());
+        assertEquals("/index.html", cache.get("/.secret").path());
+        assertEquals("/index.html", cache.get("/../index.html").path());
+        //too small to gain anything from compression
+        assertNull(cache.get("/").gzipData());
+    }
+
+    @Test
+    void watcherInvalidatesChangedFiles() throws IOException, InterruptedException {
+        Files.writeString(root.resolve("index.html"), "old");
+        try (StaticAssetCache cache = new StaticAssetCache(root)) {
+            cache.startWatching();
+            String oldTag = cache.get("/").etag();
+
+            Files.writeString(root.resolve("index.html"), "new");
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (cache.get("/").etag().equals(oldTag) && System.currentTimeMillis() < deadline)
+                Thread.sleep(50);
+            assertEquals("new", new String(cache.get("/").data(), StandardCharsets.UTF_8));
+        }
+    }
+}
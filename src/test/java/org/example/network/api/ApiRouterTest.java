@@ -0,0 +1,65 @@
+package org.example.network.api;
+
+import org.example.network.api.processors.ApiProcessor;
+import org.example.network.api.processors.ApiProcessorList;
+import org.example.network.api.processors.config.ConfigGlobalApiProcessor;
+import org.example.network.api.processors.file.FileLoadApiProcessor;
+import org.example.network.api.processors.schedule.*;
+import org.example.network.api.processors.student.SingleStudentApiProcessor;
+import org.example.network.api.processors.student.StudentRollsApiProcessor;
+import org.example.network.api.processors.teacher.SingleTeacherApiProcessor;
+import org.example.network.api.processors.teacher.TeacherNamesApiProcessor;
+import org.example.network.api.processors.teacher.TeachersApiProcessor;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiRouterTest {
+    private final ApiRouter router = new ApiRouter(ApiProcessorList.getAvailableApiProcessors());
+
+    private Class<?> find(String path, String... queries) {
+        Map<String, String> queryMap = new HashMap<>();
+        for (int i = 0; i < queries.length; i += 2)
+            queryMap.put(queries[i], queries[i + 1]);
+        ApiProcessor processor = router.find(new ApiRequest(path, "GET", queryMap, ""));
+        return processor == null ? null : processor.getClass();
+    }
+
+    @Test
+    void exactRoutesWinOverWildcards() {
+        assertEquals(TeachersApiProcessor.class, find("/io/teachers"));
+        assertEquals(TeacherNamesApiProcessor.class, find("/io/teachers/names"));
+        assertEquals(SingleTeacherApiProcessor.class, find("/io/teachers/SKB"));
+        assertEquals(StudentRollsApiProcessor.class, find("/io/students/rolls"));
+        assertEquals(SingleStudentApiProcessor.class, find("/io/students/a/b"));
+        assertEquals(ConfigGlobalApiProcessor.class, find("/io/config/global/theme"));
+        assertEquals(ScheduleJobsApiProcessor.class, find("/io/schedule/jobs"));
+        assertEquals(ScheduleJobApiProcessor.class, find("/io/schedule/jobs/1/events"));
+        assertNull(find("/io/teachers/"));
+        assertNull(find("/io/config/global/"));
+        assertNull(find("/io/unknown"));
+    }
+
+    @Test
+    void queriesSelectTheProcessor() {
+        assertEquals(ScheduleApiProcessor.class, find("/io/schedule"));
+        assertEquals(ScheduleApiProcessor.class, find("/io/schedule", "other", "1"));
+        assertEquals(ScheduleYearApiProcessor.class, find("/io/schedule", "year", "1"));
+        assertEquals(ScheduleSectionYearApiProcessor.class, find("/io/schedule", "year", "1", "sec", "0"));
+        assertEquals(ScheduleGeneratorApiProcessor.class, find("/io/schedule", "generatenew", "true"));
+        assertEquals(ScheduleApiProcessor.class, find("/io/schedule", "generatenew", "false"));
+        assertEquals(FileLoadApiProcessor.class, find("/io/saves/load", "name", "SAVE1"));
+        assertNull(find("/io/saves/load"));
+        assertNull(find("/io/saves/load", "name", "SAVE1", "other", "1"));
+    }
+
+    @Test
+    void everyProcessorIsDumped() {
+        String dump = router.dump();
+        assertEquals(ApiProcessorList.getAvailableApiProcessors().size(), dump.split("\n").length);
+        assertTrue(dump.contains("/io/schedule ?sec&year (priority 3) -> ScheduleSectionYearApiProcessor"));
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.network.jobs;
+
+import org.example.algorithms.GenerationProgress;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GenerationJobTest {
+
+    @Test
+    void listenersReceiveProgressUntilTheJobFinishes() throws InterruptedException {
+        GenerationJob job = new GenerationJob(1, Runnable::run);
+        List<GenerationJobStatus> received = new ArrayList<>();
+        job.addListener(status -> received.add(status));
+
+        job.onProgress(new GenerationProgress(1, 0, 0.1f, 0.2f));
+        job.onProgress(new GenerationProgress(2, 1, 0.2f, 0.2f));
+        job.cancel();
+        //updates from the generator after the job finished are ignored
+        job.onFailed("Generation cancelled");
+        job.onCompleted();
+
+        assertEquals(4, received.size());
+        assertNull(received.get(0).progress());
+        assertEquals(2, received.get(2).progress().generation());
+
+        GenerationJobStatus status = job.awaitCompletion();
+        assertEquals(GenerationJob.Status.CANCELLED, status.status());
+        assertEquals(received.get(3), status);
+        assertEquals(2, status.progress().generation());
+        assertTrue(status.endTime() >= status.startTime());
+    }
+
+    @Test
+    void listenerAddedAfterTheJobFinishedOnlyReceivesTheFinalStatus() {
+        GenerationJob job = new GenerationJob(1, Runnable::run);
+        job.onFailed("error");
+
+        List<GenerationJobStatus> received = new ArrayList<>();
+        job.addListener(status -> received.add(status));
+        job.onProgress(new GenerationProgress(1, 0, 0.1f, 0.2f));
+
+        assertEquals(1, received.size());
+        assertEquals(GenerationJob.Status.FAILED, received.get(0).status());
+        assertEquals("error", received.get(0).error());
+    }
+}
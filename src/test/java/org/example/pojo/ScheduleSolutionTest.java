@@ -0,0 +1,85 @@
+package org.example.pojo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.example.algorithms.SyntheticDataset;
+import org.example.dao.TeacherDao;
+import org.example.dao.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleSolutionTest {
+    @Test
+    void iteratedSolutionAccumulatesToSameData() throws IOException {
+        SyntheticDataset.load(SyntheticDataset.Preset.SMALL.options().sections(2));
+        SyntheticDataset.loadRandomSolution();
+        ScheduleSolution solution = ScheduleSolution.getInstance();
+        String json = JsonMapper.getInstance().writeValueAsString(solution.getData());
+
+        ScheduleSolution.SolutionAccumulator accumulator = new ScheduleSolution.SolutionAccumulator();
+        new ScheduleSolution.SolutionIterator(accumulator::add).iterate();
+        solution.setData(accumulator.accumulate());
+
+        assertEquals(json, JsonMapper.getInstance().writeValueAsString(solution.getData()));
+        JsonNode section = JsonMapper.getInstance().readTree(json).get(0).get(1);
+        assertEquals(section, JsonMapper.getInstance().valueToTree(solution.getData(1, 2)));
+        assertEquals(5, section.size());
+        assertEquals(ScheduleStructure.getInstance().getPeriodCount(), section.get(0).size());
+        assertNull(solution.getData(1, 3));
+    }
+
+    @Test
+    void removesTeacherOfPracticalByExactName() throws IOException {
+        SyntheticDataset.load(SyntheticDataset.Preset.SMALL.options());
+        SyntheticDataset.loadRandomSolution();
+        ScheduleSolution solution = ScheduleSolution.getInstance();
+
+        String[] teacher = new String[1];
+        new ScheduleSolution.SolutionIterator((sem, sec, day, period, subjectCode, teacherName, roomCode) -> {
+            if (teacher[0] == null && teacherName != null) teacher[0] = teacherName;
+        }).iterate();
+        assertNotNull(teacher[0]);
+
+        solution.removeTeacherByName(teacher[0].substring(0, teacher[0].length() - 1));
+        assertTrue(hasPeriod(solution.getTeacherScheduleByName(teacher[0])));
+        solution.removeTeacherByName(teacher[0]);
+        assertFalse(hasPeriod(solution.getTeacherScheduleByName(teacher[0])));
+    }
+
+    @Test
+    void teacherScheduleMatchesScanOfData() throws IOException {
+        SyntheticDataset.load(SyntheticDataset.Preset.SMALL.options().sections(2));
+        SyntheticDataset.loadRandomSolution();
+        ScheduleSolution solution = ScheduleSolution.getInstance();
+        JsonNode data = JsonMapper.getInstance().valueToTree(solution.getData());
+
+        for (String teacher : TeacherDao.getInstance().keySet()) {
+            String[][][] schedule = solution.getTeacherScheduleByName(teacher);
+            for (int year = 0; year < data.size(); year++) {
+                for (int sec = 0; sec < data.get(year).size(); sec++) {
+                    for (int day = 0; day < 5; day++) {
+                        for (int period = 0; period < schedule[day].length; period++) {
+                            JsonNode slot = data.get(year).get(sec).get(day).get(period);
+                            if (!slot.get(0).isNull() && Arrays.asList(slot.get(0).asText().split("[+]")).contains(teacher)) {
+                                assertEquals(String.valueOf(sec), schedule[day][period][1]);
+                                assertEquals(slot.get(1).asText(), schedule[day][period][2]);
+                                schedule[day][period] = null;
+                            }
+                        }
+                    }
+                }
+            }
+            assertFalse(hasPeriod(schedule));
+        }
+    }
+
+    private static boolean hasPeriod(String[][][] schedule) {
+        for (String[][] day : schedule)
+            for (String[] period : day)
+                if (period != null) return true;
+        return false;
+    }
+}